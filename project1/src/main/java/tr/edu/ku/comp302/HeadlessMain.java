@@ -0,0 +1,97 @@
+package tr.edu.ku.comp302;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.controllers.KeyHandler;
+import tr.edu.ku.comp302.domain.controllers.SimulationEngine;
+import tr.edu.ku.comp302.domain.models.HallType;
+
+/**
+ * Runs halls without a window, as fast as possible, and prints a summary per run.
+ *
+ * Usage: HeadlessMain [designJson] [--hall EARTH] [--hall-size 16] [--runs 10] [--max-seconds 600] [--wander] [--verbose]
+ *   designJson     a hall layout saved from Build Mode (empty halls if omitted)
+ *   --hall-size    width and height of the hall in tiles
+ *   --wander       the hero walks around randomly instead of standing still
+ *   --verbose      keep the game's console messages (off by default, they dominate run time)
+ */
+public class HeadlessMain {
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        String jsonData = null;
+        HallType hall = HallType.EARTH;
+        int hallSize = GameConfig.NUM_HALL_COLS;
+        int runs = 1;
+        int maxSeconds = 600;
+        boolean wander = false;
+        boolean verbose = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--hall" -> hall = HallType.valueOf(args[++i].toUpperCase());
+                case "--hall-size" -> hallSize = Integer.parseInt(args[++i]);
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--max-seconds" -> maxSeconds = Integer.parseInt(args[++i]);
+                case "--wander" -> wander = true;
+                case "--verbose" -> verbose = true;
+                default -> jsonData = Files.readString(Paths.get(args[i]), StandardCharsets.UTF_8);
+            }
+        }
+
+        PrintStream out = System.out;
+        if (!verbose) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        long totalGameSeconds = 0;
+        long started = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+            SimulationEngine engine = new SimulationEngine(jsonData, hall, hallSize, hallSize);
+            if (wander) {
+                engine.setInputDriver(new WanderInput(run));
+            }
+            long maxTicks = (long) maxSeconds * engine.getClock().getTickRate();
+            SimulationEngine.Result result = engine.run(maxTicks);
+            totalGameSeconds += result.gameSeconds();
+            out.println("Run " + (run + 1) + ": " + result);
+        }
+        double wallSeconds = (System.nanoTime() - started) / 1e9;
+        out.printf("Simulated %d game seconds in %.2f s (%.0f game seconds per second)%n",
+                totalGameSeconds, wallSeconds, totalGameSeconds / Math.max(wallSeconds, 1e-9));
+    }
+
+    /**
+     * Holds a random direction for a random number of ticks, then picks another.
+     */
+    private static class WanderInput implements SimulationEngine.InputDriver {
+        private final Random random;
+        private long changeAt = 0;
+
+        WanderInput(long seed) {
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public void apply(long tick, KeyHandler keys) {
+            if (tick < changeAt) {
+                return;
+            }
+            keys.up = keys.down = keys.left = keys.right = false;
+            switch (random.nextInt(5)) {
+                case 0 -> keys.up = true;
+                case 1 -> keys.down = true;
+                case 2 -> keys.left = true;
+                case 3 -> keys.right = true;
+                default -> { } // stand still for a while
+            }
+            changeAt = tick + 15 + random.nextInt(90);
+        }
+    }
+}
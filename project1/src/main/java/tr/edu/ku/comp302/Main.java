@@ -7,11 +7,25 @@ import tr.edu.ku.comp302.config.GameConfig;
 import tr.edu.ku.comp302.domain.controllers.MusicController;
 import tr.edu.ku.comp302.domain.controllers.NavigationController;
 import tr.edu.ku.comp302.domain.controllers.ResourceManager;
+import tr.edu.ku.comp302.domain.events.FileLogSink;
+import tr.edu.ku.comp302.domain.events.GameEvent;
+import tr.edu.ku.comp302.domain.events.GameEventBus;
+
+import java.nio.file.Path;
 
 public class Main {
     public static void main(String[] args) throws Exception {
 
         ResourceManager.init();
+
+        // Game events go to a log file from a background thread
+        FileLogSink eventLog = new FileLogSink(Path.of(GameConfig.EVENT_LOG_FILE));
+        GameEventBus.get().subscribe(GameEvent.class, GameEvent.Level.INFO, eventLog);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            GameEventBus.get().flush(1000);
+            eventLog.close();
+        }));
+
         MusicController musicController = new MusicController("assets/gamemusic.wav");
 
         //Play the music at the start of the game
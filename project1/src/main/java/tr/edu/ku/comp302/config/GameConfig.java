@@ -19,6 +19,15 @@ public class GameConfig {
     public static final int NUM_HALL_COLS = 16; // Number of columns
     public static final int NUM_HALL_ROWS = 16; // Number of rows
 
+    // Game loop configuration
+    // Movement and animation values are expressed per tick at BASE_TICK_RATE and
+    // scaled to the actual TICK_RATE, so speeds per game second do not depend on it.
+    public static final int TICK_RATE = 60; // Simulation ticks per second (60 or 120)
+    public static final int BASE_TICK_RATE = 60; // The rate per-tick values were tuned at
+    public static final int MAX_FPS = 120; // Upper bound for repaints per second, independent of TICK_RATE
+    public static final int MAX_TICKS_PER_FRAME = 5; // Catch-up limit after a stall, the rest of the backlog is dropped
+    public static final boolean ACTIVE_RENDERING = true; // Draw from the game loop via BufferStrategy instead of repaint()
+
     // Player default properties
     public static final int PLAYER_SPEED = 12/SCALE;     // Player speed in tiles
     public static final int PLAYER_LIVES = 500;
@@ -31,4 +40,9 @@ public class GameConfig {
     public static final int MONSTER_SPAWN_INTERVAL = 8; // seconds
     public static final int MONSTER_ATTACK_COOLDOWN = 2; // seconds
     public static final int FIGHTER_CHASE_DISTANCE = 3; // In tiles
+    public static final int MONSTER_AI_VIEW_MARGIN = 2; // In tiles around the camera's view; fighters there think every tick
+    public static final int MONSTER_AI_FAR_BUCKETS = 4; // Farther ones think once every this many ticks
+
+    // Logging
+    public static final String EVENT_LOG_FILE = "game_events.log"; // Game events are appended here
 }
@@ -3,6 +3,8 @@ package tr.edu.ku.comp302.domain.controllers;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.events.GameEvent;
+import tr.edu.ku.comp302.domain.events.GameEventBus;
 import tr.edu.ku.comp302.domain.models.*;
 import tr.edu.ku.comp302.domain.models.enchantments.Enchantment;
 import tr.edu.ku.comp302.domain.models.enchantments.Rune;
@@ -28,12 +30,27 @@ public class BuildObjectController {
 
     private Random random = new Random();
 
+    private final SpatialIndex spatialIndex;
+    // The object list of this hall as last put in the index; the map may be
+    // replaced or refilled from outside (loading, tests), so it is checked on use
+    private List<BuildObject> indexedObjects;
+    private int indexedCount;
+
     private Rectangle clickEffectRect = null;
     private long clickEffectStart = 0L;
     private static final long CLICK_EFFECT_DURATION = 500;
 
     public BuildObjectController(HallType hallType) {
+        this(hallType, new SpatialIndex(GameConfig.TILE_SIZE));
+    }
+
+    /**
+     * @param spatialIndex the index shared with the other controllers of the hall;
+     *                     the objects of hallType are kept in it.
+     */
+    public BuildObjectController(HallType hallType, SpatialIndex spatialIndex) {
         this.hallType = hallType;
+        this.spatialIndex = spatialIndex;
         // Initialize an empty map
         this.worldObjectsMap = new HashMap<>();
         this.runeHolder = null;
@@ -54,6 +71,7 @@ public class BuildObjectController {
         if (jsonData == null || jsonData.isEmpty()) {
             worldObjectsMap = new HashMap<>();
             this.runeHolder = null;
+            indexHallObjects();
             return;
         }
         try {
@@ -99,6 +117,7 @@ public class BuildObjectController {
             this.worldObjectsMap = new HashMap<>();
             this.runeHolder = null;
         }
+        indexHallObjects();
     }
 
     /**
@@ -115,28 +134,16 @@ public class BuildObjectController {
     }
 
     private void handleClickCollection(Point clickPos, Player player) {
-        int clickX = clickPos.x;
-        int clickY = clickPos.y;
-
-        // We check each BuildObject in the current hall
-        List<BuildObject> objects = getObjectsForHall(hallType);
-        for (BuildObject obj : objects) {
+        // Only the objects of the current hall under the click
+        List<BuildObject> clicked = indexedHallObjects().findAllAt(BuildObject.class, clickPos.x, clickPos.y);
+        for (BuildObject obj : clicked) {
             int tileSize = GameConfig.TILE_SIZE;
             int objPX = obj.getX() * tileSize;
             int objPY = obj.getY() * tileSize;
-            if(obj.getHasRune()){
-                System.out.println("Object coordinates: " + objPX + " " + objPY);
-                System.out.println("Click coordinates: " + clickX + " " + clickY);
-            }
-            boolean clickedOnObject = 
-                (clickX >= objPX && clickX < objPX + tileSize) &&
-                (clickY >= objPY && clickY < objPY + tileSize);
 
-            if (clickedOnObject && obj.getHasRune()) {
-                System.out.println("Clicked on object");
+            if (obj.getHasRune()) {
                 // Check if player is close enough
                 if (isPlayerCloseEnough(player, obj)) {
-                    System.out.println("Player is close enough");
                     // Remove the rune from the object
                     obj.setHasRune(false);
                     if (runeHolder == obj) {
@@ -146,14 +153,12 @@ public class BuildObjectController {
                     int enchantX = objPX;
                     int enchantY = objPY - tileSize; // "above" the object
 
-                    System.out.println("Spawned a Rune Enchantment at " + enchantX + ", " + enchantY);
-
                     Enchantment rune = new Rune(enchantX, enchantY, 0); // 0 is not correct but it doesn't matter here
                     player.getInventory().addItem(rune);
                     break;
                 }
             }
-            else if (clickedOnObject && !obj.getHasRune() && isPlayerCloseEnough(player, obj)){
+            else if (isPlayerCloseEnough(player, obj)){
                 clickEffectRect = new Rectangle(objPX, objPY, tileSize, tileSize);
                 clickEffectStart = System.currentTimeMillis();
             }
@@ -175,28 +180,48 @@ public class BuildObjectController {
     }
 
     public void draw(Graphics2D g2, boolean drawColumn) {
+        draw(g2, drawColumn, null);
+    }
+
+    /**
+     * Draws the objects of the current hall that lie inside visible
+     * (world pixels; null draws all of them).
+     */
+    public void draw(Graphics2D g2, boolean drawColumn, Rectangle visible) {
+        int tileSize = GameConfig.TILE_SIZE;
         List<BuildObject> hallObjects = getObjectsForHall(this.hallType);
         for (BuildObject obj : hallObjects) {
-            if(obj!=null){
+            // Tall objects reach half a tile above their cell
+            if(obj!=null && Camera.isVisible(visible, obj.getX() * tileSize, obj.getY() * tileSize - tileSize / 2,
+                    tileSize, tileSize + tileSize / 2)){
                 drawSingleObject(g2, obj, drawColumn);
             }
         }
 
+    }
+
+    /**
+     * The flash over the last clicked object while it lasts, or null.
+     * Called by the game thread when taking a render snapshot.
+     */
+    public RenderSnapshot.Area snapshotClickEffect() {
         if (clickEffectRect != null) {
             long elapsed = System.currentTimeMillis() - clickEffectStart;
             if (elapsed < CLICK_EFFECT_DURATION) {
-                // Customize color/shape/alpha as you wish
-                g2.setColor(new Color(255, 0, 0, 80)); // semi-transparent red
-                g2.fillRect(
-                    clickEffectRect.x,
-                    clickEffectRect.y,
-                    clickEffectRect.width,
-                    clickEffectRect.height
-                );
-            } else {
-                // Reset once expired
-                clickEffectRect = null;
+                return new RenderSnapshot.Area(clickEffectRect.x, clickEffectRect.y,
+                        clickEffectRect.width, clickEffectRect.height);
             }
+            // Reset once expired
+            clickEffectRect = null;
+        }
+        return null;
+    }
+
+    public static void drawClickEffect(Graphics2D g2, RenderSnapshot.Area clickEffect) {
+        if (clickEffect != null) {
+            // Customize color/shape/alpha as you wish
+            g2.setColor(new Color(255, 0, 0, 80)); // semi-transparent red
+            g2.fillRect(clickEffect.x(), clickEffect.y(), clickEffect.width(), clickEffect.height());
         }
     }
 
@@ -209,13 +234,13 @@ public class BuildObjectController {
         // 1) Retrieve the cached image from ResourceManager
         BufferedImage image = ResourceManager.getImage(imageName);
 
-        // 2) If found, draw it. Otherwise fallback.
+        // 2) If found, draw its pre-scaled atlas sprite. Otherwise fallback.
         if (image != null) {
             if((imageName.trim().equals("column_wall") || imageName.trim().equals("boxes_stacked")) && drawColumn){
-                g2.drawImage(image, px, py - tileSize/2, tileSize, tileSize + tileSize/2, null);
+                ResourceManager.drawSprite(g2, imageName.trim() + ResourceManager.TALL_SUFFIX, px, py - tileSize/2);
             }
             else if (!drawColumn){
-                g2.drawImage(image, px, py, tileSize, tileSize, null);
+                ResourceManager.drawSprite(g2, imageName, px, py);
             }
         } else {
             // fallback
@@ -302,7 +327,9 @@ public class BuildObjectController {
         }
 
         if(newObj != null && getRuneHolder() != null) {
-            System.out.println("Transferring rune from (" + getRuneHolder().getX() + ", " + getRuneHolder().getY() + ") to (" + newObj.getX() + ", " + newObj.getY() + ")");
+            GameEventBus.get().publish(new GameEvent.RuneTransferred(
+                    getRuneHolder().getX() - GameConfig.KAFES_STARTING_X, getRuneHolder().getY() - GameConfig.KAFES_STARTING_Y,
+                    newObj.getX() - GameConfig.KAFES_STARTING_X, newObj.getY() - GameConfig.KAFES_STARTING_Y));
             getRuneHolder().setHasRune(false);
             newObj.setHasRune(true);
             this.runeHolder = newObj;
@@ -321,6 +348,10 @@ public class BuildObjectController {
      * Returns null if not found.
      */
     public BuildObject findObjectAt(HallType hall, int x, int y) {
+        if (hall == hallType) {
+            return indexedHallObjects().firstInCell(BuildObject.class, x, y);
+        }
+        // Other halls are not indexed
         List<BuildObject> objects = getObjectsForHall(hall);
         for (BuildObject obj : objects) {
             if (obj.getX() == x && obj.getY() == y) {
@@ -330,6 +361,33 @@ public class BuildObjectController {
         return null;
     }
 
+    /**
+     * Puts the objects of this hall in the spatial index now, so whatever follows
+     * the index (such as the hall's free cells) knows of them before the first
+     * click or lookup. Call it after changing the objects from outside.
+     */
+    public void indexHallObjects() {
+        indexedHallObjects();
+    }
+
+    /**
+     * The spatial index, with the objects of this hall in it. Objects do not move
+     * during play, so the index is only rebuilt when the hall's list changes.
+     */
+    private SpatialIndex indexedHallObjects() {
+        List<BuildObject> objects = getObjectsForHall(hallType);
+        if (objects != indexedObjects || objects.size() != indexedCount) {
+            spatialIndex.removeAll(BuildObject.class);
+            int tileSize = GameConfig.TILE_SIZE;
+            for (BuildObject obj : objects) {
+                spatialIndex.put(obj, obj.getX() * tileSize, obj.getY() * tileSize);
+            }
+            indexedObjects = objects;
+            indexedCount = objects.size();
+        }
+        return spatialIndex;
+    }
+
     /**
      * Checks the representation invariant.
      */
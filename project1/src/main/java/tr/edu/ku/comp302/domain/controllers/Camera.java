@@ -0,0 +1,102 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.domain.models.RenderSnapshot;
+
+import java.awt.*;
+
+/**
+ * The part of the hall shown on screen.
+ *
+ * The camera follows the hero on the game thread, clamped to the world so the
+ * view never shows past the edges; a world smaller than the screen is drawn at
+ * the origin, as before. Renderers get the camera through RenderSnapshot.Viewport,
+ * translate by it and skip everything outside it.
+ */
+public class Camera {
+
+    private final int viewportWidth;
+    private final int viewportHeight;
+    private int worldWidth;
+    private int worldHeight;
+
+    // Top-left corner of the view in world pixels, now and one tick ago
+    private int x, y;
+    private int prevX, prevY;
+
+    public Camera(int viewportWidth, int viewportHeight, int worldWidth, int worldHeight) {
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    public void setWorldSize(int worldWidth, int worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    /**
+     * Centers the view on a world position. Call once per tick; the previous
+     * position is kept for render interpolation.
+     */
+    public void follow(int targetX, int targetY) {
+        prevX = x;
+        prevY = y;
+        x = clamp(targetX - viewportWidth / 2, worldWidth - viewportWidth);
+        y = clamp(targetY - viewportHeight / 2, worldHeight - viewportHeight);
+    }
+
+    /**
+     * Centers the view on a world position without interpolating from the old one.
+     */
+    public void snapTo(int targetX, int targetY) {
+        follow(targetX, targetY);
+        prevX = x;
+        prevY = y;
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    /**
+     * Converts a point on screen to the world position under it.
+     *
+     * @return a new Point, or null if p is null.
+     */
+    public Point screenToWorld(Point p) {
+        if (p == null) {
+            return null;
+        }
+        return new Point(p.x + x, p.y + y);
+    }
+
+    public RenderSnapshot.Viewport snapshot() {
+        return new RenderSnapshot.Viewport(prevX, prevY, x, y, viewportWidth, viewportHeight);
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getViewportWidth() {
+        return viewportWidth;
+    }
+
+    public int getViewportHeight() {
+        return viewportHeight;
+    }
+
+    /**
+     * Culling test shared by the draw paths.
+     *
+     * @param visible the visible world rectangle, or null to draw everything.
+     */
+    static boolean isVisible(Rectangle visible, int x, int y, int width, int height) {
+        return visible == null || visible.intersects(x, y, width, height);
+    }
+}
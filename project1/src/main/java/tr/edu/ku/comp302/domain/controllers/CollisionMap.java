@@ -0,0 +1,176 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import java.util.Arrays;
+
+/**
+ * Which grid cells block movement, packed one bit per cell.
+ *
+ * Each row is stored as consecutive long words (bit c of a row is column c), so a
+ * box or a horizontal run of cells is tested a whole word at a time with one mask
+ * instead of looking at every Tile it covers. Queries take pixel coordinates;
+ * anything outside the grid counts as free, like a null from getTileAt().
+ *
+ * The words either live in this map (set() fills them) or are read from a Words
+ * source, such as the chunks of a TileGrid, which keeps them next to the tiles.
+ */
+public class CollisionMap {
+
+    /**
+     * Supplies the collision bits of 64 cells of a row, starting at column
+     * wordIndex * 64; bit i is set if that cell blocks movement.
+     */
+    public interface Words {
+        long word(int row, int wordIndex);
+    }
+
+    private final int cols;
+    private final int rows;
+    private final int cellSize;
+    private final int wordsPerRow;
+    private final long[] bits; // null when reading from a Words source
+    private final Words words;
+
+    public CollisionMap(int cols, int rows, int cellSize) {
+        this.cols = cols;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.bits = new long[wordsPerRow * rows];
+        this.words = (row, wordIndex) -> bits[row * wordsPerRow + wordIndex];
+    }
+
+    /**
+     * A read-only map over collision bits kept elsewhere.
+     */
+    public CollisionMap(int cols, int rows, int cellSize, Words words) {
+        this.cols = cols;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.bits = null;
+        this.words = words;
+    }
+
+    public void clear() {
+        requireOwnBits();
+        Arrays.fill(bits, 0L);
+    }
+
+    public void set(int col, int row, boolean blocked) {
+        requireOwnBits();
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return;
+        }
+        int index = row * wordsPerRow + (col >>> 6);
+        long bit = 1L << (col & 63);
+        if (blocked) {
+            bits[index] |= bit;
+        } else {
+            bits[index] &= ~bit;
+        }
+    }
+
+    public boolean isBlocked(int col, int row) {
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return false;
+        }
+        return (words.word(row, col >>> 6) & (1L << (col & 63))) != 0;
+    }
+
+    private void requireOwnBits() {
+        if (bits == null) {
+            throw new UnsupportedOperationException("This collision map reads its bits from elsewhere");
+        }
+    }
+
+    /**
+     * @return true if any cell touched by the box of pixels
+     *         [x, x + width) x [y, y + height) is blocked.
+     */
+    public boolean isAreaBlocked(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        return anyBlocked(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize),
+                Math.floorDiv(x + width - 1, cellSize), Math.floorDiv(y + height - 1, cellSize));
+    }
+
+    /**
+     * @return true if any cell the segment from (x0, y0) to (x1, y1) passes through
+     *         is blocked. Cells the segment only touches at a corner count too.
+     */
+    public boolean isSegmentBlocked(int x0, int y0, int x1, int y1) {
+        if (y0 == y1) {
+            int row = Math.floorDiv(y0, cellSize);
+            return anyBlockedInRow(row, Math.floorDiv(Math.min(x0, x1), cellSize),
+                    Math.floorDiv(Math.max(x0, x1), cellSize));
+        }
+        // Walk the rows the segment crosses; within one row it covers a single run
+        // of columns, tested with one mask per word.
+        int topY = Math.min(y0, y1);
+        int bottomY = Math.max(y0, y1);
+        double dxPerY = (double) (x1 - x0) / (y1 - y0);
+        int firstRow = Math.max(Math.floorDiv(topY, cellSize), 0);
+        int lastRow = Math.min(Math.floorDiv(bottomY, cellSize), rows - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int bandTop = Math.max(topY, row * cellSize);
+            int bandBottom = Math.min(bottomY, (row + 1) * cellSize);
+            double xa = x0 + (bandTop - y0) * dxPerY;
+            double xb = x0 + (bandBottom - y0) * dxPerY;
+            int leftCol = (int) Math.floor(Math.min(xa, xb) / cellSize);
+            int rightCol = (int) Math.floor(Math.max(xa, xb) / cellSize);
+            if (anyBlockedInRow(row, leftCol, rightCol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if any cell in the inclusive cell rectangle is blocked.
+     */
+    public boolean anyBlocked(int leftCol, int topRow, int rightCol, int bottomRow) {
+        int firstRow = Math.max(topRow, 0);
+        int lastRow = Math.min(bottomRow, rows - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (anyBlockedInRow(row, leftCol, rightCol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean anyBlockedInRow(int row, int leftCol, int rightCol) {
+        if (row < 0 || row >= rows) {
+            return false;
+        }
+        int from = Math.max(leftCol, 0);
+        int to = Math.min(rightCol, cols - 1);
+        if (from > to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = -1L;
+            if (w == firstWord) {
+                mask &= -1L << (from & 63);
+            }
+            if (w == lastWord) {
+                mask &= -1L >>> (63 - (to & 63));
+            }
+            if ((words.word(row, w) & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,71 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+/**
+ * A copy of the collision words of a box of cells, taken on the game thread
+ * and then only read, so any number of threads can test boxes against it
+ * without touching the tiles or taking a lock.
+ *
+ * Words outside the box read as free, so the box must cover every cell the
+ * readers can ask about until the next take().
+ */
+final class CollisionSnapshot implements CollisionMap.Words {
+
+    private final int cellSize;
+    private CollisionMap map;
+    private long[] words = new long[0];
+    private int firstRow, rowCount;
+    private int firstWord, wordsPerRow;
+
+    CollisionSnapshot(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Copies the words covering the cells [leftCol, rightCol] x [topRow, bottomRow]
+     * of the tiles' grid, clipped to it, and forgets the last copy.
+     */
+    void take(TilesController tiles, int leftCol, int topRow, int rightCol, int bottomRow) {
+        int cols = tiles.getWorldWidth() / cellSize;
+        int rows = tiles.getWorldHeight() / cellSize;
+        if (map == null || map.getCols() != cols || map.getRows() != rows) {
+            map = new CollisionMap(cols, rows, cellSize, this);
+        }
+        int fromCol = Math.max(leftCol, 0);
+        int toCol = Math.min(rightCol, cols - 1);
+        firstRow = Math.max(topRow, 0);
+        int lastRow = Math.min(bottomRow, rows - 1);
+        if (fromCol > toCol || firstRow > lastRow) {
+            rowCount = wordsPerRow = 0;
+            return;
+        }
+        firstWord = fromCol >>> 6;
+        wordsPerRow = (toCol >>> 6) - firstWord + 1;
+        rowCount = lastRow - firstRow + 1;
+        if (words.length < rowCount * wordsPerRow) {
+            words = new long[rowCount * wordsPerRow];
+        }
+        int i = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                words[i++] = tiles.collisionWord(row, firstWord + w);
+            }
+        }
+    }
+
+    @Override
+    public long word(int row, int wordIndex) {
+        int r = row - firstRow;
+        int w = wordIndex - firstWord;
+        if (r < 0 || r >= rowCount || w < 0 || w >= wordsPerRow) {
+            return 0L;
+        }
+        return words[r * wordsPerRow + w];
+    }
+
+    /**
+     * Same as TilesController.isAreaBlocked, as of the last take().
+     */
+    boolean isAreaBlocked(int x, int y, int width, int height) {
+        return map != null && map.isAreaBlocked(x, y, width, height);
+    }
+}
@@ -1,15 +1,19 @@
 package tr.edu.ku.comp302.domain.controllers;
 
 import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.events.GameEvent;
+import tr.edu.ku.comp302.domain.events.GameEventBus;
 import tr.edu.ku.comp302.domain.models.Player;
-import tr.edu.ku.comp302.domain.models.Tile;
+import tr.edu.ku.comp302.domain.models.RenderSnapshot;
 import tr.edu.ku.comp302.domain.models.enchantments.*;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Constructor: Initializes the EnchantmentController with necessary resources.
@@ -28,7 +32,14 @@ public class EnchantmentController {
     private final TilesController tilesController;
 
     protected final List<Enchantment> enchantments;
+    private final SpatialIndex spatialIndex;
+    private FreeCellSampler freeCells;
     private final Random random;
+    private final GameEventBus events = GameEventBus.get();
+
+    // Each enchantment on the floor has a timer that takes it away when it expires
+    private final TimingWheel expiries = new TimingWheel(64, 0);
+    private final Map<Enchantment, TimingWheel.Timer> expiryTimers = new IdentityHashMap<>();
 
     protected int lastSpawnTime;
     
@@ -40,17 +51,42 @@ public class EnchantmentController {
     private BufferedImage runeImage;
 
     public EnchantmentController(TilesController tilesController) {
-        this.enchantments = new CopyOnWriteArrayList<>();
+        this(tilesController, new SpatialIndex(GameConfig.TILE_SIZE));
+    }
+
+    /**
+     * @param spatialIndex the index shared with the other controllers of the hall;
+     *                     enchantments are kept in it while they lie on the floor.
+     */
+    public EnchantmentController(TilesController tilesController, SpatialIndex spatialIndex) {
+        this.spatialIndex = spatialIndex;
+        // Only touched by the game thread; the renderer reads snapshots
+        this.enchantments = new IndexedList<>(spatialIndex, Enchantment::getX, Enchantment::getY,
+                this::scheduleExpiry, this::cancelExpiry);
         this.random = new Random();
         this.tilesController = tilesController;
         this.lastSpawnTime = 0;
 
-        extraTimeImage = ResourceManager.getImage("enchantment_extratime");
-        heartImage     = ResourceManager.getImage("enchantment_heart");
-        revealImage    = ResourceManager.getImage("enchantment_reveal");
-        cloakImage     = ResourceManager.getImage("enchantment_cloak");
-        gemImage       = ResourceManager.getImage("enchantment_gem");
-        runeImage      = ResourceManager.getImage("rune");
+        extraTimeImage = ResourceManager.getScaledImage("enchantment_extratime", GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        heartImage     = ResourceManager.getScaledImage("enchantment_heart", GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        revealImage    = ResourceManager.getScaledImage("enchantment_reveal", GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        cloakImage     = ResourceManager.getScaledImage("enchantment_cloak", GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        gemImage       = ResourceManager.getScaledImage("enchantment_gem", GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        runeImage      = ResourceManager.getScaledImage("rune", GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+    }
+
+    /**
+     * Shares the hall's free cells; without one, a sampler is made on first use.
+     */
+    public void setFreeCellSampler(FreeCellSampler freeCells) {
+        this.freeCells = freeCells;
+    }
+
+    private FreeCellSampler freeCells() {
+        if (freeCells == null) {
+            freeCells = new FreeCellSampler(tilesController, spatialIndex);
+        }
+        return freeCells;
     }
 
     /**
@@ -88,43 +124,44 @@ public class EnchantmentController {
      *   - Renders each enchantment's image at its (x, y) position.
      */
     public void draw(Graphics2D g2) {
+        draw(g2, snapshot(), null);
+    }
+
+    /**
+     * Copies what is needed to draw the enchantments this tick.
+     *
+     * @modifies none
+     * @effects 
+     *   - Returns one sprite per enchantment, in list order.
+     */
+    public List<RenderSnapshot.Sprite> snapshot() {
+        List<RenderSnapshot.Sprite> views = new ArrayList<>(enchantments.size());
         for (Enchantment e : enchantments) {
-            switch (e.getType()) {
-                case EXTRA_TIME -> {
-                    g2.drawImage(extraTimeImage, e.getX(), e.getY(),
-                                     GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                }
-                case EXTRA_LIFE -> {
-                    // Draw the heart image if not null
-                    if (heartImage != null) {
-                        g2.drawImage(heartImage, e.getX(), e.getY(),
-                                     GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                    }
-                }
-                case REVEAL -> {
-                    if (revealImage != null) {
-                        g2.drawImage(revealImage, e.getX(), e.getY(),
-                                     GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                    }
-                }
-                case CLOAK_OF_PROTECTION -> {
-                    if (cloakImage != null) {
-                        g2.drawImage(cloakImage, e.getX(), e.getY(),
-                                     GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                    }
-                }
-                case LURING_GEM -> {
-                    if (gemImage != null) {
-                        g2.drawImage(gemImage, e.getX(), e.getY(),
-                                     GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                    }
-                }
-                case RUNE -> {
-                    if (runeImage!=null){
-                        g2.drawImage(runeImage, e.getX(), e.getY(),
-                                    GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                    }
-                }
+            String sprite = switch (e.getType()) {
+                case EXTRA_TIME -> "enchantment_extratime";
+                case EXTRA_LIFE -> "enchantment_heart";
+                case REVEAL -> "enchantment_reveal";
+                case CLOAK_OF_PROTECTION -> "enchantment_cloak";
+                case LURING_GEM -> "enchantment_gem";
+                case RUNE -> "rune";
+            };
+            // Enchantments do not move, so both positions are the same
+            views.add(new RenderSnapshot.Sprite(sprite, e.getType().name(), e.getX(), e.getY(), e.getX(), e.getY()));
+        }
+        return views;
+    }
+
+    /**
+     * Draws enchantments from a snapshot.
+     *
+     * @param visible The visible world rectangle, or null to draw all of them.
+     * @requires g2 and enchantments are not null.
+     * @modifies g2
+     */
+    public static void draw(Graphics2D g2, List<RenderSnapshot.Sprite> enchantments, Rectangle visible) {
+        for (RenderSnapshot.Sprite e : enchantments) {
+            if (Camera.isVisible(visible, e.x(), e.y(), GameConfig.TILE_SIZE, GameConfig.TILE_SIZE)) {
+                ResourceManager.drawSprite(g2, e.sprite(), e.x(), e.y());
             }
         }
     }
@@ -132,35 +169,27 @@ public class EnchantmentController {
     // ====================== Private Helpers ======================
 
     /**
-     * Attempts to spawn a random enchantment at a free tile within the hall.
+     * Spawns a random enchantment at a free tile within the hall.
      *
      * @param inGameTime The current in-game time in seconds.
      * @requires inGameTime is non-negative.
-     * @modifies this.enchantments, this.lastSpawnTime
+     * @modifies this.enchantments
      * @effects 
-     *   - If a free tile is found within 50 attempts, adds a new Enchantment to enchantments.
-     *   - Updates lastSpawnTime to inGameTime.
+     *   - If the hall has a free tile, adds a new Enchantment on a random one.
      *   - Logs the spawned enchantment.
      */
     private void spawnRandomEnchantment(int inGameTime) {
         int tileSize = GameConfig.TILE_SIZE;
-        int mapWidth = GameConfig.NUM_HALL_COLS;
-        int mapHeight = GameConfig.NUM_HALL_ROWS;
 
-        // We'll attempt up to 50 times to find a free tile in the hall:
-        for (int i = 0; i < 50; i++) {
-            int col = random.nextInt(mapWidth);
-            int row = random.nextInt(mapHeight);
-
-            // Double check if tile is non-collidable
-            Tile t = tilesController.getTileAt(col+GameConfig.KAFES_STARTING_Y, row+GameConfig.KAFES_STARTING_X);
-            if (t != null && !t.isCollidable && isLocationAvailable(col, row)) {
-                // create enchantment
-                Enchantment e = createRandomEnchantment((col + GameConfig.KAFES_STARTING_X) * tileSize, (row + GameConfig.KAFES_STARTING_Y) * tileSize, inGameTime);
-                enchantments.add(e);
-                System.out.println("[Spawn] " + e.getType() + " at col=" + col + ", row=" + row);
-                return;
-            }
+        Point cell = freeCells().sample(random);
+        if (cell == null) {
+            return; // the hall is full
+        }
+        Enchantment e = createRandomEnchantment(cell.x * tileSize, cell.y * tileSize, inGameTime);
+        enchantments.add(e);
+        if (events.isEnabled(GameEvent.Level.DEBUG)) {
+            events.publish(new GameEvent.EnchantmentSpawned(e.getType().toString(),
+                    cell.x - GameConfig.KAFES_STARTING_X, cell.y - GameConfig.KAFES_STARTING_Y));
         }
     }
 
@@ -183,9 +212,25 @@ public class EnchantmentController {
             lastSpawnTime = inGameTime;
         }
 
-        // 2) Remove expired items
-        // Each enchantment knows how long it lives, e.g. 10s or so
-        enchantments.removeIf(e -> (inGameTime - e.getSpawnGameTime()) > e.getLifetimeSeconds());
+        // 2) Remove expired items; only the ones expiring now are looked at
+        expiries.advanceTo(inGameTime);
+    }
+
+    /**
+     * An enchantment stays on the floor while at most getLifetimeSeconds()
+     * have passed since it spawned, so it is still there at second
+     * spawn + lifetime and is taken away at the tick of second spawn + lifetime + 1.
+     */
+    private void scheduleExpiry(Enchantment e) {
+        int expiresAt = e.getSpawnGameTime() + e.getLifetimeSeconds() + 1;
+        expiryTimers.put(e, expiries.schedule(expiresAt, () -> enchantments.remove(e)));
+    }
+
+    private void cancelExpiry(Enchantment e) {
+        TimingWheel.Timer timer = expiryTimers.remove(e);
+        if (timer != null) {
+            timer.cancel();
+        }
     }
 
     /**
@@ -194,25 +239,15 @@ public class EnchantmentController {
      * @param col The column index within the hall.
      * @param row The row index within the hall.
      * @return True if the location is available, false otherwise.
-     * @requires 0 <= col < GameConfig.NUM_HALL_COLS, 0 <= row < GameConfig.NUM_HALL_ROWS
+     * @requires 0 <= col < tilesController.getHallCols(), 0 <= row < tilesController.getHallRows()
      * @modifies none
      * @effects 
      *   - Returns true if no existing enchantment occupies the specified (col, row).
      */
     public boolean isLocationAvailable(int col, int row) {
-        int tileSize = GameConfig.TILE_SIZE;
-    
-        for (Enchantment m : this.enchantments) {
-            // Convert monster pixel coords to tile coords
-            int enchantmentCol = m.getX() / tileSize - GameConfig.KAFES_STARTING_X;
-            int enchantmentRow = m.getY() / tileSize - GameConfig.KAFES_STARTING_Y;
-    
-            // If the monster occupies the same tile, it's not available
-            if (enchantmentCol == col && enchantmentRow == row) {
-                return false;
-            }
-        }
-        return true;
+        // The index is keyed by world cell, the hall starts at the cage corner
+        return !spatialIndex.isOccupied(Enchantment.class,
+                col + GameConfig.KAFES_STARTING_X, row + GameConfig.KAFES_STARTING_Y);
     }
 
     /**
@@ -250,25 +285,12 @@ public class EnchantmentController {
      *   - If an enchantment is clicked, invokes its onCollect method and removes it from enchantments.
      */
     private void handleClickCollection(Point clickPos, Player player) {
-        int clickX = clickPos.x;
-        int clickY = clickPos.y;
-
-        Enchantment collected = null;
-        for (Enchantment e : enchantments) {
-            int ex = e.getX();
-            int ey = e.getY();
-
-            // If the click is inside the tile bounding box for the enchantment
-            if (clickX >= ex && clickX < ex + GameConfig.TILE_SIZE
-                && clickY >= ey && clickY < ey + GameConfig.TILE_SIZE) {
-                // The user clicked on this enchantment
-                e.onCollect(player);
-                collected = e;
-                break;
-            }
-        }
+        // The enchantment whose tile bounding box holds the click, if any
+        Enchantment collected = spatialIndex.findAt(Enchantment.class, clickPos.x, clickPos.y);
         if (collected != null) {
+            collected.onCollect(player);
             enchantments.remove(collected);
+            events.publish(new GameEvent.EnchantmentCollected(collected.getType().toString()));
         }
     }
 
@@ -3,7 +3,6 @@ package tr.edu.ku.comp302.domain.controllers;
 import java.awt.Graphics2D;
 import tr.edu.ku.comp302.config.GameConfig;
 import tr.edu.ku.comp302.domain.models.Entity;
-import tr.edu.ku.comp302.domain.models.Tile;
 
 /**
  * The abstract controller for any Entity (Player, Monster, etc.).
@@ -41,28 +40,9 @@ public abstract class EntityController<T extends Entity> {
         int tileSize = GameConfig.TILE_SIZE;
         int collisionOffset = 8;
 
-        // Calculate the bounding box of the entity
-        int leftX = x + collisionOffset;
-        int rightX = x + tileSize - 1 - collisionOffset;
-        int topY = y + collisionOffset;
-        int bottomY = y + tileSize - 1 - collisionOffset;
-
-        // Convert them to tile indices
-        int leftCol = leftX / tileSize;
-        int rightCol = rightX / tileSize;
-        int topRow = topY / tileSize;
-        int bottomRow = bottomY / tileSize;
-
-        // Check each tile the entity occupies for collision
-        for (int row = topRow; row <= bottomRow; row++) {
-            for (int col = leftCol; col <= rightCol; col++) {
-                Tile tile = tilesController.getTileAt(col, row);
-                if (tile != null && tile.isCollidable) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        // The entity's bounding box, shrunk by the offset on every side
+        int size = tileSize - 2 * collisionOffset;
+        return tilesController.isAreaBlocked(x + collisionOffset, y + collisionOffset, size, size);
     }
 
     /**
@@ -0,0 +1,159 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.config.GameConfig;
+
+/**
+ * Which way to step from every cell of the hall to reach one target cell,
+ * found with a breadth-first search over the cells that do not block movement.
+ *
+ * All fighters chasing the same target read their next step from the same field
+ * in O(1); the search is only run again when the target moves to another cell
+ * or the tiles change (see TilesController.getTileVersion()). A search may be
+ * limited to a number of steps, beyond which cells count as unreachable, so a
+ * target that moves every few ticks costs only the area around it.
+ *
+ * Directions use the fighters' codes: 0 up, 1 down, 2 left, 3 right.
+ * Cells are in world tile coordinates.
+ */
+public class FlowField {
+
+    public static final int NONE = -1;
+
+    // Offsets of the four directions, and the direction that undoes each one
+    private static final int[] DX = {0, 0, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0};
+    private static final int[] OPPOSITE = {1, 0, 3, 2};
+
+    private final TilesController tilesController;
+    private final int maxSteps;
+
+    // The hall area, in world cells
+    private final int left, top;
+    private final int cols, rows;
+
+    // Per cell (row * cols + col, hall-relative). A cell belongs to the current
+    // field only if its stamp is the current one, so nothing is cleared between searches.
+    private final int[] stamp;
+    private final int[] distance;
+    private final byte[] direction;
+    private final int[] queue;
+    private int currentStamp;
+
+    private int targetCol = Integer.MIN_VALUE, targetRow = Integer.MIN_VALUE;
+    private int tileVersion;
+
+    /**
+     * @param maxSteps how far from the target a search goes; Integer.MAX_VALUE for the whole hall.
+     */
+    public FlowField(TilesController tilesController, int maxSteps) {
+        this.tilesController = tilesController;
+        this.maxSteps = maxSteps;
+        this.left = GameConfig.KAFES_STARTING_X;
+        this.top = GameConfig.KAFES_STARTING_Y;
+        this.cols = tilesController.getHallCols();
+        this.rows = tilesController.getHallRows();
+        this.stamp = new int[cols * rows];
+        this.distance = new int[cols * rows];
+        this.direction = new byte[cols * rows];
+        this.queue = new int[cols * rows];
+    }
+
+    /**
+     * Points the field at (col, row).
+     *
+     * @modifies this
+     * @effects Searches again if the target is in another cell than last time or
+     *          the tiles changed since; otherwise does nothing.
+     * @return true if it searched.
+     */
+    public boolean retarget(int col, int row) {
+        int version = tilesController.getTileVersion();
+        if (col == targetCol && row == targetRow && version == tileVersion && currentStamp != 0) {
+            return false;
+        }
+        targetCol = col;
+        targetRow = row;
+        tileVersion = version;
+        search();
+        return true;
+    }
+
+    /**
+     * @return the direction of the next step from (col, row) toward the target,
+     *         or NONE at the target or where the target cannot be reached.
+     */
+    public int directionAt(int col, int row) {
+        int cell = cellOf(col, row);
+        if (cell < 0 || stamp[cell] != currentStamp) {
+            return NONE;
+        }
+        return direction[cell];
+    }
+
+    /**
+     * @return the number of steps from (col, row) to the target, or -1 if it
+     *         cannot be reached.
+     */
+    public int distanceAt(int col, int row) {
+        int cell = cellOf(col, row);
+        if (cell < 0 || stamp[cell] != currentStamp) {
+            return -1;
+        }
+        return distance[cell];
+    }
+
+    public static int dx(int direction) {
+        return DX[direction];
+    }
+
+    public static int dy(int direction) {
+        return DY[direction];
+    }
+
+    // ====================== Private Helpers ======================
+
+    private void search() {
+        currentStamp++;
+        int root = cellOf(targetCol, targetRow);
+        if (root < 0) {
+            return; // target outside the hall: nothing reaches it
+        }
+        int head = 0, tail = 0;
+        mark(root, 0, NONE);
+        queue[tail++] = root;
+        while (head < tail) {
+            int cell = queue[head++];
+            int dist = distance[cell];
+            if (dist >= maxSteps) {
+                continue;
+            }
+            int col = cell % cols, row = cell / cols;
+            for (int d = 0; d < 4; d++) {
+                int nc = col + DX[d], nr = row + DY[d];
+                if (nc < 0 || nc >= cols || nr < 0 || nr >= rows) {
+                    continue;
+                }
+                int next = nr * cols + nc;
+                if (stamp[next] == currentStamp || tilesController.isCollidableAt(left + nc, top + nr)) {
+                    continue;
+                }
+                // From the neighbour, step back the way we came
+                mark(next, dist + 1, OPPOSITE[d]);
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    private void mark(int cell, int dist, int dir) {
+        stamp[cell] = currentStamp;
+        distance[cell] = dist;
+        direction[cell] = (byte) dir;
+    }
+
+    private int cellOf(int col, int row) {
+        if (col < left || col >= left + cols || row < top || row >= top + rows) {
+            return -1;
+        }
+        return (row - top) * cols + (col - left);
+    }
+}
@@ -0,0 +1,192 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.config.GameConfig;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The free cells of the hall: floor that does not block movement and holds no
+ * monster, enchantment or build object. Used to place spawns, teleports and the
+ * hero without guessing random cells.
+ *
+ * The free cells are kept in an array, with each cell's position in it, so a
+ * cell is added or removed in O(1) (removal swaps the last one into its place)
+ * and a uniformly random free cell is one array read. It follows the tiles
+ * through TilesController's TileChangeListener and the entities through the
+ * SpatialIndex's OccupancyListener. Build objects count through the index,
+ * where BuildObjectController puts them as soon as they are loaded, not
+ * through their tiles.
+ *
+ * Cells are in world tile coordinates. Only the game thread uses it.
+ */
+public class FreeCellSampler implements TilesController.TileChangeListener, SpatialIndex.OccupancyListener {
+
+    private final TilesController tilesController;
+
+    // The hall area, in world cells
+    private final int left, top;
+    private final int cols, rows;
+
+    private final boolean[] walkable;
+    private final boolean[] occupied;
+
+    // free[0 .. freeCount) are the free cells (row * cols + col, hall-relative);
+    // slot[cell] is where a cell is in free, or -1
+    private final int[] free;
+    private final int[] slot;
+    private int freeCount;
+
+    /**
+     * @requires tilesController and spatialIndex are not null.
+     * @modifies tilesController, spatialIndex (registers itself as their listener)
+     * @effects Builds the set of free cells of the hall as it is now.
+     */
+    public FreeCellSampler(TilesController tilesController, SpatialIndex spatialIndex) {
+        this.tilesController = tilesController;
+        this.left = GameConfig.KAFES_STARTING_X;
+        this.top = GameConfig.KAFES_STARTING_Y;
+        this.cols = tilesController.getHallCols();
+        this.rows = tilesController.getHallRows();
+        this.walkable = new boolean[cols * rows];
+        this.occupied = new boolean[cols * rows];
+        this.free = new int[cols * rows];
+        this.slot = new int[cols * rows];
+        Arrays.fill(slot, -1);
+
+        tilesReset();
+        tilesController.setTileChangeListener(this);
+        spatialIndex.setOccupancyListener(this); // reports the cells already occupied
+    }
+
+    /**
+     * @return a uniformly random free cell, or null if the hall has none.
+     */
+    public Point sample(Random random) {
+        if (freeCount == 0) {
+            return null;
+        }
+        return toPoint(free[random.nextInt(freeCount)]);
+    }
+
+    /**
+     * @return a uniformly random free cell at least minDistance cells away from
+     *         (col, row) along x or y, or null if there is none.
+     * @effects Takes time proportional to minDistance squared, however big or
+     *          full the hall is.
+     */
+    public Point sampleAwayFrom(Random random, int col, int row, int minDistance) {
+        // Move the free cells that are too close to the end of the array and pick
+        // from the rest; the order of the array does not matter
+        int excluded = 0;
+        int reach = minDistance - 1;
+        for (int r = Math.max(row - reach, top); r <= Math.min(row + reach, top + rows - 1); r++) {
+            for (int c = Math.max(col - reach, left); c <= Math.min(col + reach, left + cols - 1); c++) {
+                int cell = (r - top) * cols + (c - left);
+                if (slot[cell] >= 0) {
+                    excluded++;
+                    swap(slot[cell], freeCount - excluded);
+                }
+            }
+        }
+        int candidates = freeCount - excluded;
+        if (candidates <= 0) {
+            return null;
+        }
+        return toPoint(free[random.nextInt(candidates)]);
+    }
+
+    /**
+     * @return a uniformly random free cell that field reaches, or null if there is none.
+     * @effects Takes time proportional to the number of free cells.
+     */
+    public Point sampleReachable(Random random, FlowField field) {
+        // Move the reachable cells to the front and pick from them
+        int reachable = 0;
+        for (int i = 0; i < freeCount; i++) {
+            Point cell = toPoint(free[i]);
+            if (field.distanceAt(cell.x, cell.y) >= 0) {
+                swap(i, reachable++);
+            }
+        }
+        if (reachable == 0) {
+            return null;
+        }
+        return toPoint(free[random.nextInt(reachable)]);
+    }
+
+    public boolean isFree(int col, int row) {
+        int cell = cellOf(col, row);
+        return cell >= 0 && slot[cell] >= 0;
+    }
+
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    @Override
+    public void tileChanged(int col, int row) {
+        int cell = cellOf(col, row);
+        if (cell >= 0) {
+            walkable[cell] = !tilesController.isCollidableAt(col, row);
+            refresh(cell);
+        }
+    }
+
+    @Override
+    public void tilesReset() {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int cell = r * cols + c;
+                walkable[cell] = !tilesController.isCollidableAt(left + c, top + r);
+                refresh(cell);
+            }
+        }
+    }
+
+    @Override
+    public void occupancyChanged(int col, int row, boolean isOccupied) {
+        int cell = cellOf(col, row);
+        if (cell >= 0) {
+            occupied[cell] = isOccupied;
+            refresh(cell);
+        }
+    }
+
+    // ====================== Private Helpers ======================
+
+    private void refresh(int cell) {
+        boolean shouldBeFree = walkable[cell] && !occupied[cell];
+        if (shouldBeFree && slot[cell] < 0) {
+            free[freeCount] = cell;
+            slot[cell] = freeCount;
+            freeCount++;
+        } else if (!shouldBeFree && slot[cell] >= 0) {
+            int at = slot[cell];
+            freeCount--;
+            swap(at, freeCount);
+            slot[cell] = -1;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = free[i];
+        int b = free[j];
+        free[i] = b;
+        free[j] = a;
+        slot[b] = i;
+        slot[a] = j;
+    }
+
+    private int cellOf(int col, int row) {
+        if (col < left || col >= left + cols || row < top || row >= top + rows) {
+            return -1;
+        }
+        return (row - top) * cols + (col - left);
+    }
+
+    private Point toPoint(int cell) {
+        return new Point(left + cell % cols, top + cell / cols);
+    }
+}
@@ -29,6 +29,13 @@ public class GameTimerController {
         if (gameTimer != null) gameTimer.resume();
     }
 
+    /**
+     * Moves the countdown forward by one simulation tick; call once per game tick.
+     */
+    public void advance() {
+        if (gameTimer != null) gameTimer.advance();
+    }
+
     public void stop() {
         if (gameTimer != null) gameTimer.stop();
     }
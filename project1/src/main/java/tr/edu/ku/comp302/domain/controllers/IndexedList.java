@@ -0,0 +1,136 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * A list of entities that files every element it gains in a SpatialIndex and
+ * takes out every element it loses, so code that adds and removes through the
+ * list (including removeIf and clear) never leaves the index behind.
+ * Moving an element is not seen here; whoever moves it calls index.put().
+ * Owners that keep more per element (such as timers) can also be told of
+ * every element gained and lost.
+ *
+ * Each element is in the list at most once, and the list knows where, so
+ * removing or finding an element by itself costs O(1). Removing moves the
+ * last element into the gap, so removal does not keep the order.
+ */
+final class IndexedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> items = new ArrayList<>();
+    private final Map<T, Integer> positions = new IdentityHashMap<>();
+    private final SpatialIndex index;
+    private final ToIntFunction<T> xOf;
+    private final ToIntFunction<T> yOf;
+    private final Consumer<T> onAdded;
+    private final Consumer<T> onRemoved;
+
+    IndexedList(SpatialIndex index, ToIntFunction<T> xOf, ToIntFunction<T> yOf) {
+        this(index, xOf, yOf, item -> { }, item -> { });
+    }
+
+    IndexedList(SpatialIndex index, ToIntFunction<T> xOf, ToIntFunction<T> yOf,
+                Consumer<T> onAdded, Consumer<T> onRemoved) {
+        this.index = index;
+        this.xOf = xOf;
+        this.yOf = yOf;
+        this.onAdded = onAdded;
+        this.onRemoved = onRemoved;
+    }
+
+    @Override
+    public T get(int i) {
+        return items.get(i);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public void add(int i, T item) {
+        items.add(i, item);
+        renumberFrom(i);
+        index.put(item, xOf.applyAsInt(item), yOf.applyAsInt(item));
+        modCount++;
+        onAdded.accept(item);
+    }
+
+    @Override
+    public T set(int i, T item) {
+        T old = items.set(i, item);
+        positions.remove(old);
+        positions.put(item, i);
+        index.remove(old);
+        index.put(item, xOf.applyAsInt(item), yOf.applyAsInt(item));
+        onRemoved.accept(old);
+        onAdded.accept(item);
+        return old;
+    }
+
+    @Override
+    public T remove(int i) {
+        T old = items.get(i);
+        T last = items.remove(items.size() - 1);
+        if (last != old) {
+            items.set(i, last);
+            positions.put(last, i);
+        }
+        positions.remove(old);
+        index.remove(old);
+        modCount++;
+        onRemoved.accept(old);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        List<T> removed = new ArrayList<>(items);
+        for (T item : removed) {
+            index.remove(item);
+        }
+        items.clear();
+        positions.clear();
+        modCount++;
+        removed.forEach(onRemoved);
+    }
+
+    @Override
+    public boolean remove(Object item) {
+        Integer i = positions.get(item);
+        if (i == null) {
+            return false;
+        }
+        remove((int) i);
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object item) {
+        Integer i = positions.get(item);
+        return i == null ? -1 : i;
+    }
+
+    @Override
+    public int lastIndexOf(Object item) {
+        return indexOf(item);
+    }
+
+    @Override
+    public boolean contains(Object item) {
+        return positions.containsKey(item);
+    }
+
+    private void renumberFrom(int from) {
+        for (int i = from; i < items.size(); i++) {
+            positions.put(items.get(i), i);
+        }
+    }
+}
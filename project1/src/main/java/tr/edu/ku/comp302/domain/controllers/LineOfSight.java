@@ -0,0 +1,90 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+/**
+ * Which cells can be seen from a cell of the hall, over the collision grid.
+ *
+ * A cell is seen if the Bresenham line between the two cells passes through
+ * no blocked cell; the two end cells themselves do not block (a monster stands
+ * on one of them). What can be seen within RADIUS cells of a cell is packed
+ * into one long, one bit per cell of the WINDOW x WINDOW square around it, so
+ * once the mask is known, "in range and visible" is a single bit test. A mask
+ * is only valid for the TilesController.getTileVersion() it was made at.
+ *
+ * Cells are in world tile coordinates. Only the game thread uses it.
+ */
+public class LineOfSight {
+
+    // Cells within this distance (Euclidean, between cell centers) are in range
+    public static final int RADIUS = 3;
+    public static final int WINDOW = 2 * RADIUS + 1;
+
+    private final TilesController tilesController;
+
+    public LineOfSight(TilesController tilesController) {
+        this.tilesController = tilesController;
+    }
+
+    /**
+     * @return the cells around (col, row) that are in range and can be seen
+     *         from it, as bits (see bit()).
+     */
+    public long visibleMask(int col, int row) {
+        long mask = 0L;
+        for (int dr = -RADIUS; dr <= RADIUS; dr++) {
+            for (int dc = -RADIUS; dc <= RADIUS; dc++) {
+                if (dc * dc + dr * dr <= RADIUS * RADIUS
+                        && !isSegmentBlocked(col, row, col + dc, row + dr)) {
+                    mask |= 1L << bit(dc, dr);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return true if the cell at (dCol, dRow) from a mask's center is in the mask.
+     */
+    public static boolean isVisible(long mask, int dCol, int dRow) {
+        if (dCol < -RADIUS || dCol > RADIUS || dRow < -RADIUS || dRow > RADIUS) {
+            return false;
+        }
+        return (mask & (1L << bit(dCol, dRow))) != 0;
+    }
+
+    /**
+     * @return true if a blocked cell lies strictly between the two cells on
+     *         the Bresenham line from the first to the second.
+     */
+    public boolean isSegmentBlocked(int col0, int row0, int col1, int row1) {
+        int dx = Math.abs(col1 - col0);
+        int dy = -Math.abs(row1 - row0);
+        int sx = col0 < col1 ? 1 : -1;
+        int sy = row0 < row1 ? 1 : -1;
+        int err = dx + dy;
+        int col = col0, row = row0;
+        if (col == col1 && row == row1) {
+            return false;
+        }
+        while (true) {
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                col += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                row += sy;
+            }
+            if (col == col1 && row == row1) {
+                return false;
+            }
+            if (tilesController.isCollidableAt(col, row)) {
+                return true;
+            }
+        }
+    }
+
+    private static int bit(int dCol, int dRow) {
+        return (dRow + RADIUS) * WINDOW + (dCol + RADIUS);
+    }
+}
@@ -1,18 +1,21 @@
 package tr.edu.ku.comp302.domain.controllers;
 
 import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.events.GameEvent;
+import tr.edu.ku.comp302.domain.events.GameEventBus;
+import tr.edu.ku.comp302.domain.models.GameClock;
 import tr.edu.ku.comp302.domain.models.Player;
-import tr.edu.ku.comp302.domain.models.Tile;
+import tr.edu.ku.comp302.domain.models.RenderSnapshot;
 import tr.edu.ku.comp302.domain.models.monsters.*;
-import tr.edu.ku.comp302.domain.models.monsters.strategies.WizardHighTimeStrategy;
-import tr.edu.ku.comp302.domain.models.monsters.strategies.WizardLowTimeStrategy;
-import tr.edu.ku.comp302.domain.models.monsters.strategies.WizardMidTimeStrategy;
+import tr.edu.ku.comp302.domain.models.monsters.strategies.TimeBracket;
+import tr.edu.ku.comp302.domain.models.monsters.strategies.WizardStrategy;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * MonsterController
@@ -23,21 +26,40 @@ public class MonsterController {
     private final TilesController tilesController;
     private final BuildObjectController buildObjectController;
     private EnchantmentController enchantmentController;
-    private final List<Monster> monsters;
+    private final SpatialIndex spatialIndex;
+    private FreeCellSampler freeCells;
+    private Camera camera;
+    private final MonsterStore monsters;
     private final Random random;
+    private final GameEventBus events = GameEventBus.get();
+    // Timed events of the hall, by game second
+    private final TimingWheel timers = new TimingWheel(64, 0);
+    private TimingWheel.Timer gemExpiry;
     private int initialTime;
     private int timePassed = 0;
     private int timeRemaining;
+    // Changes only when timeRemaining crosses 30% or 70% of initialTime
+    private TimeBracket timeBracket;
 
-    private BufferedImage fighterImage;
-    private BufferedImage archerImage;
-    private BufferedImage wizardImage;
-    private BufferedImage luringGemImage;
 
     //In game time count
     private int lastSpawnTime;
     private static int spawnIntervalSeconds = GameConfig.MONSTER_SPAWN_INTERVAL;
 
+    // Monsters appear at least this many tiles away from the hero
+    private static final int SPAWN_MIN_DISTANCE = 3;
+
+    // Paths to the hero and to a thrown gem, shared by every fighter. The hero's
+    // field only has to reach fighters close enough to chase, with room for detours.
+    private static final int CHASE_FIELD_STEPS = 4 * GameConfig.FIGHTER_CHASE_DISTANCE;
+    private FlowField chaseField;
+    private FlowField gemField;
+
+    // Point-to-point paths for teleports and other AI; made on first use
+    private PathFinder pathFinder;
+    private LineOfSight lineOfSight;
+    private static final int TELEPORT_ATTEMPTS = 8;
+
     /**
      * NEW FIELD: The (x,y) in pixels where a Luring Gem was thrown. Null if no gem is active.
      */
@@ -45,19 +67,26 @@ public class MonsterController {
     private int gemSpawnTime = -1;
 
     public MonsterController(TilesController tilesController, BuildObjectController buildObjectController, int initialTime) {
+        this(tilesController, buildObjectController, initialTime, new SpatialIndex(GameConfig.TILE_SIZE));
+    }
+
+    /**
+     * @param spatialIndex the index shared with the other controllers of the hall;
+     *                     monsters are kept in it as they spawn, move and leave.
+     */
+    public MonsterController(TilesController tilesController, BuildObjectController buildObjectController, int initialTime,
+                             SpatialIndex spatialIndex) {
         this.tilesController = tilesController;
         this.buildObjectController = buildObjectController;
         this.enchantmentController = null;
-        this.monsters = new CopyOnWriteArrayList<>();
+        this.spatialIndex = spatialIndex;
+        // Only touched by the game thread; the renderer reads snapshots
+        this.monsters = new MonsterStore(spatialIndex);
         this.random = new Random();
         this.lastSpawnTime = 0;
         this.initialTime = initialTime;
         this.timeRemaining = initialTime;
-
-        fighterImage = ResourceManager.getImage("npc_fighter");
-        archerImage  = ResourceManager.getImage("npc_archer");
-        wizardImage  = ResourceManager.getImage("npc_wizard");
-        luringGemImage = ResourceManager.getImage("thrown_enchantment_gem");
+        this.timeBracket = TimeBracket.of(initialTime, initialTime);
     }
 
     public void setEnchantmentController(EnchantmentController enchantmentController){
@@ -65,72 +94,132 @@ public class MonsterController {
     }
 
     /**
-     * Called every game frame. Updates all monsters, spawns new ones if needed, etc.
+     * Shares the hall's free cells; without one, a sampler is made on first use.
      */
-    public void updateAll(Player player) {
+    public void setFreeCellSampler(FreeCellSampler freeCells) {
+        this.freeCells = freeCells;
+    }
 
-        if(!monsters.isEmpty()){
-            for (Monster m : monsters) {
-                if (m instanceof FighterMonster fighter) {
-                    updateFighter(fighter, player);
-                }
-                else if (m instanceof ArcherMonster archer) {
-                    updateArcher(archer, player);
-                }
-                else if (m instanceof WizardMonster wizard) {
-                    updateWizard(wizard, player);
-                }
-            }
+    /**
+     * The view the player sees; fighters in or near it are updated every tick.
+     */
+    public void setCamera(Camera camera) {
+        this.camera = camera;
+    }
 
-            for (Monster m : monsters) {
-                if ((m instanceof WizardMonster w) && w.shouldDisappear()) {
-                    revertMonsterTile(m);
-                }
-            }
+    private FreeCellSampler freeCells() {
+        if (freeCells == null) {
+            freeCells = new FreeCellSampler(tilesController, spatialIndex);
+        }
+        return freeCells;
+    }
 
-            monsters.removeIf(m -> {
-                if (m instanceof WizardMonster w) {
-                    return w.shouldDisappear();
-                }
-                return false;
-            });
+    /**
+     * Called every game frame. Moves the fighters, the only monsters that do
+     * something between two game seconds.
+     */
+    public void updateAll(Player player) {
+        updateFighters(player);
+    }
+
+    /**
+     * Archers and wizards act on whole game seconds (their cooldowns and
+     * strategies count in them), so they are updated once per second, from
+     * tick(), instead of every frame.
+     */
+    private void updateTimedMonsters(Player player) {
+        // One loop per type over its own array
+        MonsterStore store = monsters;
+        updateArchers(player);
+
+        // Backwards, so a wizard that disappears can take the last one's place
+        for (int i = store.wizardCount - 1; i >= 0; i--) {
+            WizardMonster wizard = store.wizards[i];
+            updateWizard(wizard, player);
+            if (wizard.shouldDisappear()) {
+                revertMonsterTile(wizard);
+                store.removeWizard(i);
+            }
         }
+    }
 
-        
+    /**
+     * Remembers every monster's position before this tick moves them,
+     * so drawing can interpolate between ticks. Only fighters move.
+     */
+    public void storePreviousPositions() {
+        MonsterStore store = monsters;
+        for (int i = 0; i < store.fighterCount; i++) {
+            store.fighters[i].storePreviousPosition();
+        }
     }
 
     /**
      * Draw all monsters on the screen.
      */
     public void drawAll(Graphics2D g2) {
-        for (Monster m : monsters) {
-            if (m instanceof FighterMonster) {
-                if (fighterImage != null) {
-                    g2.drawImage(fighterImage, m.getX(), m.getY(),
-                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                }
-            }
-            else if (m instanceof ArcherMonster) {
-                if (archerImage != null) {
-                    g2.drawImage(archerImage, m.getX(), m.getY(),
-                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                }
+        drawAll(g2, snapshotMonsters(), snapshotLuringGem(), 1f, null);
+    }
+
+    /**
+     * Copies what is needed to draw the monsters this tick.
+     */
+    public List<RenderSnapshot.Sprite> snapshotMonsters() {
+        MonsterStore store = monsters;
+        List<RenderSnapshot.Sprite> views = new ArrayList<>(store.size());
+        for (int i = 0; i < store.fighterCount; i++) {
+            FighterMonster m = store.fighters[i];
+            views.add(new RenderSnapshot.Sprite("npc_fighter", "FIGHTER", m.getPrevX(), m.getPrevY(),
+                    store.fighterX[i], store.fighterY[i]));
+        }
+        for (int i = 0; i < store.archerCount; i++) {
+            int x = store.archerX[i], y = store.archerY[i];
+            views.add(new RenderSnapshot.Sprite("npc_archer", "ARCHER", x, y, x, y));
+        }
+        for (int i = 0; i < store.wizardCount; i++) {
+            WizardMonster m = store.wizards[i];
+            views.add(new RenderSnapshot.Sprite("npc_wizard", "WIZARD", m.getX(), m.getY(), m.getX(), m.getY()));
+        }
+        return views;
+    }
+
+    /**
+     * Where the thrown Luring Gem is drawn, or null if there is none.
+     */
+    public RenderSnapshot.Area snapshotLuringGem() {
+        if (luringGemLocation == null) {
+            return null;
+        }
+        return new RenderSnapshot.Area(luringGemLocation.x, luringGemLocation.y,
+                GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+    }
+
+    /**
+     * Draw monsters from a snapshot, interpolated between the last two ticks.
+     *
+     * @param luringGem where the thrown gem lies, or null.
+     * @param alpha fraction of a tick elapsed since the last update, in [0, 1].
+     */
+    public static void drawAll(Graphics2D g2, List<RenderSnapshot.Sprite> monsters,
+                               RenderSnapshot.Area luringGem, float alpha, Rectangle visible) {
+        int tileSize = GameConfig.TILE_SIZE;
+        for (RenderSnapshot.Sprite m : monsters) {
+            int x = m.renderX(alpha);
+            int y = m.renderY(alpha);
+            if (!Camera.isVisible(visible, x, y, tileSize, tileSize)) {
+                continue;
             }
-            else if (m instanceof WizardMonster) {
-                if (wizardImage != null) {
-                    g2.drawImage(wizardImage, m.getX(), m.getY(),
-                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                }
+            if (m.sprite() != null) {
+                ResourceManager.drawSprite(g2, m.sprite(), x, y);
             }
             else {
                 // fallback if some other monster type
                 g2.setColor(Color.GRAY);
-                g2.fillRect(m.getX(), m.getY(), GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+                g2.fillRect(x, y, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
             }
         }
-        if(luringGemLocation!=null){
-            g2.drawImage(luringGemImage, (int) (luringGemLocation.getX()), (int) (luringGemLocation.getY()), 
-                    GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
+        if(luringGem!=null && Camera.isVisible(visible, luringGem.x(), luringGem.y(), luringGem.width(), luringGem.height())){
+            ResourceManager.drawSprite(g2, "thrown_enchantment_gem", luringGem.x(), luringGem.y());
         }
     }
 
@@ -145,42 +234,262 @@ public class MonsterController {
     // =========================================================
     //              FIGHTER MONSTER UPDATE
     // =========================================================
+    //
+    // Fighters are updated in two phases. decideFighter() works out what each
+    // fighter does from a view of the hero, the gem and the tiles that is frozen
+    // for the tick, and only changes that fighter's own fields and store slot; it writes the
+    // new position and any effect on others into the slot's entries below.
+    // applyFighterDecisions() then moves the fighters and applies the effects one
+    // slot after the other. Because deciding reads nothing another fighter's
+    // decision changes, the deciding may run on many threads and still give the
+    // same result as one thread.
+    //
+    // Fighters on screen, or within MONSTER_AI_VIEW_MARGIN tiles of it, think every
+    // tick, so none is seen stuttering; with no camera set, all of them do. The others are split into MONSTER_AI_FAR_BUCKETS round-robin buckets by
+    // slot, and only one bucket thinks per tick; when a fighter does think it
+    // takes one step for every tick since it last did, so it covers the same
+    // ground. Cooldowns and move cycles are kept in game seconds, so they need
+    // no catching up.
+
+    private static final byte EFFECT_NONE = 0;
+    private static final byte EFFECT_ATTACK = 1;
+    private static final byte EFFECT_REACHED_GEM = 2;
+
+    // Decisions per fighter slot, grown with the fighters
+    private int[] nextX = new int[16];
+    private int[] nextY = new int[16];
+    private byte[] effect = new byte[16];
+
+    // The frozen view for the current tick
+    private int heroX, heroY;
+    // Fighters whose top-left lies strictly inside these bounds are near
+    private boolean allNear;
+    private int nearLeft, nearTop, nearRight, nearBottom;
+    private final CollisionSnapshot walls = new CollisionSnapshot(GameConfig.TILE_SIZE);
+    private boolean gemActive;
+    private int gemCol, gemRow;
+    private long tickSeed;
+    private int aiTick;
+    // Fighter speeds are per tick at BASE_TICK_RATE
+    private int tickRate = GameConfig.TICK_RATE;
+
+    private static final int VIEW_MARGIN = GameConfig.MONSTER_AI_VIEW_MARGIN * GameConfig.TILE_SIZE;
+    private static final int FAR_BUCKETS = GameConfig.MONSTER_AI_FAR_BUCKETS;
+
+    // With at least this many fighters the deciding is split over aiPool
+    private int parallelThreshold = 512;
+    private static final int DECIDE_BATCH = 128;
+    private ForkJoinPool aiPool = ForkJoinPool.commonPool();
+
+    private void updateFighters(Player player) {
+        MonsterStore store = monsters;
+        int count = store.fighterCount;
+        if (count == 0) {
+            return;
+        }
+        aiTick++;
+        freezeView(player);
+        if (nextX.length < count) {
+            int capacity = Math.max(count, nextX.length * 2);
+            nextX = new int[capacity];
+            nextY = new int[capacity];
+            effect = new byte[capacity];
+        }
+
+        if (count >= parallelThreshold && aiPool.getParallelism() > 1) {
+            aiPool.invoke(new DecideTask(0, count));
+        } else {
+            decideFighters(0, count);
+        }
+        applyFighterDecisions(player, count);
+    }
+
+    /**
+     * Takes what the fighters may read this tick, and prepares the flow fields,
+     * which must not change while fighters read them.
+     */
+    private void freezeView(Player player) {
+        int tileSize = GameConfig.TILE_SIZE;
+        heroX = player.getX();
+        heroY = player.getY();
+        gemActive = luringGemLocation != null;
+        // One draw from the shared generator per tick; each fighter derives its own from it
+        tickSeed = random.nextLong();
+        freezeWalls();
+
+        allNear = camera == null;
+        if (camera != null) {
+            // A fighter is near if any of its tile overlaps the view grown by the margin
+            nearLeft = camera.getX() - VIEW_MARGIN - tileSize;
+            nearTop = camera.getY() - VIEW_MARGIN - tileSize;
+            nearRight = camera.getX() + camera.getViewportWidth() + VIEW_MARGIN;
+            nearBottom = camera.getY() + camera.getViewportHeight() + VIEW_MARGIN;
+        }
+
+        if (gemActive) {
+            gemCol = luringGemLocation.x / tileSize;
+            gemRow = luringGemLocation.y / tileSize;
+            if (gemField == null) {
+                gemField = new FlowField(tilesController, Integer.MAX_VALUE);
+            }
+            gemField.retarget(gemCol, gemRow);
+        } else {
+            if (chaseField == null) {
+                chaseField = new FlowField(tilesController, CHASE_FIELD_STEPS);
+            }
+            // Rooted at the hero's top-left tile, which is what adjacency is measured from
+            chaseField.retarget(heroX / tileSize, heroY / tileSize);
+        }
+    }
+
+    /**
+     * Copies the walls around the fighters, as far as any of them can walk this
+     * tick, so deciding reads no tiles.
+     */
+    private void freezeWalls() {
+        MonsterStore store = monsters;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        int maxSpeed = 0;
+        for (int i = 0; i < store.fighterCount; i++) {
+            minX = Math.min(minX, store.fighterX[i]);
+            minY = Math.min(minY, store.fighterY[i]);
+            maxX = Math.max(maxX, store.fighterX[i]);
+            maxY = Math.max(maxY, store.fighterY[i]);
+            maxSpeed = Math.max(maxSpeed, store.fighters[i].getSpeed());
+        }
+        // At most FAR_BUCKETS steps per tick, each no longer than a rounded-up tick's worth
+        int reach = FAR_BUCKETS * Math.ceilDiv(maxSpeed * GameConfig.BASE_TICK_RATE, tickRate);
+        int tileSize = GameConfig.TILE_SIZE;
+        walls.take(tilesController,
+                Math.floorDiv(minX - reach, tileSize), Math.floorDiv(minY - reach, tileSize),
+                Math.floorDiv(maxX + tileSize - 1 + reach, tileSize), Math.floorDiv(maxY + tileSize - 1 + reach, tileSize));
+    }
+
+    private final class DecideTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+
+        DecideTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= DECIDE_BATCH) {
+                decideFighters(from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new DecideTask(from, mid), new DecideTask(mid, to));
+            }
+        }
+    }
+
+    private void decideFighters(int from, int to) {
+        FighterMonster[] fighters = monsters.fighters;
+        for (int slot = from; slot < to; slot++) {
+            decideFighter(slot, fighters[slot]);
+        }
+    }
+
+    private void decideFighter(int slot, FighterMonster fighter) {
+        MonsterStore store = monsters;
+        nextX[slot] = store.fighterX[slot];
+        nextY[slot] = store.fighterY[slot];
+        effect[slot] = EFFECT_NONE;
+        int steps = stepsDue(slot);
+        if (steps == 0) {
+            return;
+        }
 
-    private void updateFighter(FighterMonster fighter, Player player) {
         // 1) Check adjacency
-        if (isAdjacentToPlayer(fighter, player) && luringGemLocation==null) {
-            long elapsed = timePassed - fighter.getLastAttackTime();
+        if (isAdjacentToHero(nextX[slot], nextY[slot]) && !gemActive) {
+            long elapsed = timePassed - store.fighterLastAttack[slot];
             if (elapsed >= GameConfig.MONSTER_ATTACK_COOLDOWN) {
                 // Attack
-                player.loseLife();
-                System.out.println("Fighter Monster stabbed the hero! Lives: " + player.getLives());
+                effect[slot] = EFFECT_ATTACK;
                 // Reset cooldown
+                store.fighterLastAttack[slot] = timePassed;
                 fighter.setLastAttackTime(timePassed);
             }
             return;
         }
 
-        if (hasLuringGem()){
-            doOneStepTowardGem(fighter);
-        }else{
-            int dx = player.getX() - fighter.getX();
-            int dy = player.getY() - fighter.getY();
-            double distToPlayer = Math.sqrt(dx * dx + dy * dy);
+        for (int step = 0; step < steps && effect[slot] == EFFECT_NONE; step++) {
+            // Each step stands for one of the ticks owed, and moves what that tick would have
+            int speed = GameClock.pixelsOnTick(fighter.getSpeed(), aiTick - steps + 1 + step, tickRate);
+            takeStep(slot, fighter, speed);
+        }
+    }
 
-            if (distToPlayer <= GameConfig.FIGHTER_CHASE_DISTANCE*GameConfig.TILE_SIZE) {
-                // Within chase distance => move toward player
-                doOneStepTowardPlayer(fighter, player);
-            } else {
+    /**
+     * @return how many ticks of movement the fighter is owed this tick, 0 if
+     *         it is far away and not in this tick's bucket.
+     * @modifies the slot's fighterLastUpdate in the store, unless it returns 0.
+     */
+    private int stepsDue(int slot) {
+        int[] lastUpdate = monsters.fighterLastUpdate;
+        int last = lastUpdate[slot];
+        int x = monsters.fighterX[slot];
+        int y = monsters.fighterY[slot];
+        boolean near = allNear || (x > nearLeft && x < nearRight && y > nearTop && y < nearBottom);
+        int behind = aiTick - last;
+        // A swap-removal can move a fighter into a later bucket; it still thinks within FAR_BUCKETS ticks
+        if (!near && last >= 0 && (slot + aiTick) % FAR_BUCKETS != 0 && behind < FAR_BUCKETS) {
+            return 0;
+        }
+        lastUpdate[slot] = aiTick;
+        return last < 0 ? 1 : Math.min(behind, FAR_BUCKETS);
+    }
+
+    /**
+     * Plans one tick of movement of up to speed pixels, starting from the
+     * slot's planned position.
+     */
+    private void takeStep(int slot, FighterMonster fighter, int speed) {
+        if (gemActive) {
+            if (centerCol(nextX[slot]) == gemCol && centerRow(nextY[slot]) == gemRow) {
+                effect[slot] = EFFECT_REACHED_GEM;
+            } else if (!stepAlong(slot, gemField, speed)) {
+                handleMovementCycle(slot, fighter, speed);
+            }
+        } else {
+            int dx = heroX - nextX[slot];
+            int dy = heroY - nextY[slot];
+            int chaseDistance = GameConfig.FIGHTER_CHASE_DISTANCE * GameConfig.TILE_SIZE;
+
+            // Within chase distance => move toward player, unless walls cut it off
+            if (dx * dx + dy * dy > chaseDistance * chaseDistance || !stepAlong(slot, chaseField, speed)) {
                 // Use your old movement logic (random moves, etc.)
-                handleMovementCycle(fighter, player, timePassed);
+                handleMovementCycle(slot, fighter, speed);
             }
         }
+    }
 
+    /**
+     * Moves the fighters and applies what they did to others, in slot order.
+     */
+    private void applyFighterDecisions(Player player, int count) {
+        MonsterStore store = monsters;
+        for (int slot = 0; slot < count; slot++) {
+            if (nextX[slot] != store.fighterX[slot] || nextY[slot] != store.fighterY[slot]) {
+                moveFighter(slot, nextX[slot], nextY[slot]);
+            }
+            if (effect[slot] == EFFECT_ATTACK) {
+                player.loseLife();
+                events.publish(new GameEvent.PlayerDamaged("Fighter Monster", player.getLives()));
+            } else if (effect[slot] == EFFECT_REACHED_GEM && luringGemLocation != null) {
+                events.publish(new GameEvent.Message(GameEvent.Level.INFO, "Fighter Monster reached the gem!"));
+                clearLuringGemLocation();
+            }
+        }
     }
 
-    private void handleMovementCycle(FighterMonster fighter, Player player, int timePassed) {
-        int elapsedInCycle = timePassed - fighter.getLastMoveCycleStart();
+    private void handleMovementCycle(int slot, FighterMonster fighter, int speed) {
+        int elapsedInCycle = timePassed - monsters.fighterLastMoveCycle[slot];
         if (elapsedInCycle >= 2) {
+            monsters.fighterLastMoveCycle[slot] = timePassed;
             fighter.setLastMoveCycleStart(timePassed);
             fighter.setMoving(true);
             elapsedInCycle = 0;
@@ -189,11 +498,11 @@ public class MonsterController {
             fighter.setMoving(true);
 
             if (!fighter.hasPickedDirectionThisCycle()) {
-                int direction = random.nextInt(4);
+                int direction = (int) Long.remainderUnsigned(mix(tickSeed + slot), 4);
                 fighter.setDirectionForThisCycle(direction);
                 fighter.setHasPickedDirectionThisCycle(true);
             }
-            doOneStepInStoredDirection(fighter);
+            doOneStepInStoredDirection(slot, fighter, speed);
 
         } else {
             fighter.setMoving(false);
@@ -202,12 +511,21 @@ public class MonsterController {
         }
     }
 
-    private void doOneStepInStoredDirection(FighterMonster fighter) {
+    /**
+     * A well-spread 64-bit hash (the SplitMix64 finalizer), so each fighter gets
+     * its own random number from the tick's seed without sharing a generator.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void doOneStepInStoredDirection(int slot, FighterMonster fighter, int speed) {
         int direction = fighter.getDirectionForThisCycle();
-        int newX = fighter.getX();
-        int newY = fighter.getY();
+        int newX = nextX[slot];
+        int newY = nextY[slot];
 
-        int speed = fighter.getSpeed(); // typically 1 tile
         switch (direction) {
             case 0 -> newY -= speed; // up
             case 1 -> newY += speed; // down
@@ -216,180 +534,185 @@ public class MonsterController {
         }
 
         if (!checkCollision(newX, newY)) {
-            fighter.setX(newX);
-            fighter.setY(newY);
+            nextX[slot] = newX;
+            nextY[slot] = newY;
         }
     }
 
     /**
-     * Move one tile in the direction of the Luring Gem.
-     * If the monster is adjacent to gem, remove the gem.
+     * Plans a move of up to speed pixels toward the next tile the field
+     * points to, each axis on its own so it slides along walls; on the target
+     * tile it lines up with it.
+     *
+     * @return false if the field does not reach the fighter's tile.
      */
-    private void doOneStepTowardGem(FighterMonster fighter) {
-        if (luringGemLocation == null) return;
-    
-        int speed = fighter.getSpeed();
-        double distx = (fighter.getX() - luringGemLocation.getX()) * GameConfig.TILE_SIZE;
-        double disty = (fighter.getY() - luringGemLocation.getY()) * GameConfig.TILE_SIZE;
-        double dist = Math.sqrt(distx * distx + disty * disty);
-        System.out.println("Distance before: " + dist);
-        if (dist <= speed*GameConfig.TILE_SIZE) {
-            System.out.println("Dist: " + dist);
-            System.out.println("Fighter Monster reached the gem!");
-            clearLuringGemLocation();
-            return;
+    private boolean stepAlong(int slot, FlowField field, int speed) {
+        int tileSize = GameConfig.TILE_SIZE;
+        int col = centerCol(nextX[slot]);
+        int row = centerRow(nextY[slot]);
+        if (field.distanceAt(col, row) < 0) {
+            return false;
+        }
+        int direction = field.directionAt(col, row);
+        if (direction != FlowField.NONE) {
+            col += FlowField.dx(direction);
+            row += FlowField.dy(direction);
         }
-        
-        if (luringGemLocation!=null){
-            double dx = luringGemLocation.getX() - (double) fighter.getX();
-            double dy = luringGemLocation.getY() - (double) fighter.getY();
-            double length = Math.sqrt(dx * dx + dy * dy);
-
-            if (length != 0) {
-                dx = (dx / (length/2)) * (double) speed;
-                dy = (dy / (length/2)) * (double) speed;
-            }
-        
-            int newX = fighter.getX() + (int) Math.round(dx);
-            if(!checkCollision(newX, fighter.getY())){
-                fighter.setX(newX);
-            }
 
-            int newY = fighter.getY() + (int) Math.round(dy);
-            if(!checkCollision(fighter.getX(), newY)){
-                fighter.setY(newY);
-            }
+        int x = nextX[slot];
+        int y = nextY[slot];
+        int newX = x + Math.max(-speed, Math.min(speed, col * tileSize - x));
+        if (newX != x && !checkCollision(newX, y)) {
+            x = newX;
+        }
+        int newY = y + Math.max(-speed, Math.min(speed, row * tileSize - y));
+        if (newY != y && !checkCollision(x, newY)) {
+            y = newY;
         }
+        nextX[slot] = x;
+        nextY[slot] = y;
+        return true;
+    }
 
+    private static int centerCol(int x) {
+        return (x + GameConfig.TILE_SIZE / 2) / GameConfig.TILE_SIZE;
     }
 
-    private void doOneStepTowardPlayer(FighterMonster fighter, Player player) {
-        int speed = fighter.getSpeed();
-    
-        int dx = player.getX() - fighter.getX();
-        int dy = player.getY() - fighter.getY();
-    
-        double length = Math.sqrt(dx*dx + dy*dy);
-        if (length != 0) {
-            // Move "speed" pixels/tiles in that direction
-            dx = (int) Math.round(dx / length * speed);
-            dy = (int) Math.round(dy / length * speed);
-        }
-    
-        int newX = fighter.getX() + dx;
-        int newY = fighter.getY() + dy;
-    
-        // Check collisions before committing
-        if (!checkCollision(newX, newY)) {
-            fighter.setX(newX);
-            fighter.setY(newY);
-        }
+    private static int centerRow(int y) {
+        return (y + GameConfig.TILE_SIZE / 2) / GameConfig.TILE_SIZE;
+    }
+
+    /**
+     * Splits deciding over the given pool once there are at least threshold fighters.
+     */
+    public void setParallelism(ForkJoinPool pool, int threshold) {
+        this.aiPool = pool;
+        this.parallelThreshold = threshold;
+    }
+
+    /**
+     * Sets how many times per game second updateAll() is called.
+     */
+    void setTickRate(int tickRate) {
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * Makes the monsters' random choices repeatable.
+     */
+    void setSeed(long seed) {
+        random.setSeed(seed);
     }
-    
 
     // =========================================================
     //                ARCHER AND WIZARD UPDATES
     // =========================================================
 
-    private void updateArcher(ArcherMonster archer, Player player) {
-        // He shoots every MONSTER_ATTACK_COOLDOWN if hero in range, unless hero has cloak
-        long lastShotTime = archer.getLastShotTime();
-        if (timePassed - lastShotTime >= GameConfig.MONSTER_ATTACK_COOLDOWN) {
-            archer.setLastShotTime(timePassed);
-
-            boolean heroHasCloak = player.isCloakActive();
-            
-            // Merkez noktaları
-            double archerCenterX = archer.getX() + GameConfig.TILE_SIZE / 2.0;
-            double archerCenterY = archer.getY() + GameConfig.TILE_SIZE / 2.0;
-            double playerCenterX = player.getX() + GameConfig.TILE_SIZE / 2.0;
-            double playerCenterY = player.getY() + GameConfig.TILE_SIZE / 2.0;
-            
-            // Öklid mesafesi hesaplama
-            double distance = Math.sqrt(
-                Math.pow(archerCenterX - playerCenterX, 2) + 
-                Math.pow(archerCenterY - playerCenterY, 2)
-            );
-            
-            // Mesafe 3 kare olsun
-            double maxRange = 3.0 * GameConfig.TILE_SIZE;
-            
-            if (!heroHasCloak && distance < maxRange) {
-                player.loseLife();
-                System.out.println("Archer Monster shot the hero! Lives: " + player.getLives());
+    private void updateArchers(Player player) {
+        // Each archer shoots every MONSTER_ATTACK_COOLDOWN if hero in range, unless hero has cloak
+        MonsterStore store = monsters;
+        int[] ax = store.archerX, ay = store.archerY, lastShot = store.archerLastShot;
+        boolean heroHasCloak = player.isCloakActive();
+        int tileSize = GameConfig.TILE_SIZE;
+        // The tile the hero is mostly on
+        int heroCol = (player.getX() + tileSize / 2) / tileSize;
+        int heroRow = (player.getY() + tileSize / 2) / tileSize;
+        // Mesafe 3 kare olsun, and no shooting through walls or objects
+        long[] sight = store.archerSight;
+        int[] sightVersion = store.archerSightVersion;
+        int tileVersion = tilesController.getTileVersion();
+
+        for (int i = 0; i < store.archerCount; i++) {
+            if (timePassed - lastShot[i] >= GameConfig.MONSTER_ATTACK_COOLDOWN) {
+                lastShot[i] = timePassed;
+                store.archers[i].setLastShotTime(timePassed);
+
+                int col = ax[i] / tileSize;
+                int row = ay[i] / tileSize;
+                if (sightVersion[i] != tileVersion) {
+                    sight[i] = getLineOfSight().visibleMask(col, row);
+                    sightVersion[i] = tileVersion;
+                }
+                if (!heroHasCloak && LineOfSight.isVisible(sight[i], heroCol - col, heroRow - row)) {
+                    player.loseLife();
+                    events.publish(new GameEvent.PlayerDamaged("Archer Monster", player.getLives()));
+                }
             }
         }
     }
 
     private void updateWizard(WizardMonster wizard, Player player) {
-
-        // 1) Determine the current time-left percentage
-        double ratio = (timeRemaining * 100.0) / initialTime;
-
-        // 2) Choose strategy if ratio changed to a different bracket
-        //    or if wizard has no strategy yet.
-        WizardMonster w = wizard;  // just a short alias
-        if (w.getStrategy() == null) {
-            setStrategyByRatio(w, ratio);
-        } else {
-            // Check if ratio crosses thresholds
-            if ((ratio < 30 && !(w.getStrategy() instanceof WizardLowTimeStrategy)) ||
-                (ratio > 70 && !(w.getStrategy() instanceof WizardHighTimeStrategy)) ||
-                (ratio >= 30 && ratio <= 70 && !(w.getStrategy() instanceof WizardMidTimeStrategy))) {
-                setStrategyByRatio(w, ratio);
-            }
+        // A wizard added since the last bracket change starts with its bracket's strategy
+        WizardStrategy strategy = wizard.getStrategy();
+        if (strategy == null) {
+            strategy = timeBracket.getStrategy();
+            wizard.setStrategy(strategy, timePassed);
         }
 
-        // 3) Let the strategy do its thing
-        if (w.getStrategy() != null) {
-            w.getStrategy().updateBehavior(
-                w, 
-                player, 
-                this, 
-                buildObjectController, 
-                timePassed, 
-                initialTime, 
-                timeRemaining
-            );
-        }
+        // Let the strategy do its thing
+        strategy.updateBehavior(
+            wizard,
+            player,
+            this,
+            buildObjectController,
+            timePassed,
+            initialTime,
+            timeRemaining
+        );
     }
 
-    private void setStrategyByRatio(WizardMonster wizard, double ratio) {
-        if (ratio < 30) {
-            wizard.setStrategy(new WizardLowTimeStrategy(), timePassed);
-            System.out.println("Wizard: switching to LowTime strategy.");
-        } else if (ratio > 70) {
-            wizard.setStrategy(new WizardHighTimeStrategy(), timePassed);
-            System.out.println("Wizard: switching to HighTime strategy.");
-        } else {
-            wizard.setStrategy(new WizardMidTimeStrategy(), timePassed);
-            System.out.println("Wizard: switching to MidTime strategy.");
+    /**
+     * Moves every wizard not already there to the strategy of the bracket
+     * timeRemaining is now in. Called once per bracket change, not per frame.
+     */
+    private void onTimeBracketChanged(TimeBracket bracket) {
+        timeBracket = bracket;
+        WizardStrategy strategy = bracket.getStrategy();
+        MonsterStore store = monsters;
+        for (int i = 0; i < store.wizardCount; i++) {
+            WizardMonster wizard = store.wizards[i];
+            if (wizard.getStrategy() != strategy) {
+                wizard.setStrategy(strategy, timePassed);
+            }
         }
+        events.publish(new GameEvent.Message(GameEvent.Level.INFO,
+                "Wizards: switching to " + bracket.getLabel() + " strategy."));
     }
 
     public void teleportPlayerToRandomEmptyLocation(Player player) {
         int tileSize = GameConfig.TILE_SIZE;
-        int mapWidth = GameConfig.NUM_HALL_COLS;
-        int mapHeight = GameConfig.NUM_HALL_ROWS;
-
-        // We'll try up to 50 times to find a free tile
-        for (int attempt = 0; attempt < 50; attempt++) {
-            int col = random.nextInt(mapWidth);
-            int row = random.nextInt(mapHeight);
-
-            Tile tile = tilesController.getTileAt(col + GameConfig.KAFES_STARTING_X, row + GameConfig.KAFES_STARTING_Y);
-            if (tile != null && !tile.isCollidable && 
-                enchantmentController.isLocationAvailable(col, row)) 
-            {
-                // Teleport player here
-                player.setX((col + GameConfig.KAFES_STARTING_X) * tileSize);
-                player.setY((row + GameConfig.KAFES_STARTING_Y) * tileSize);
-                player.setVelocityX(0);
-                player.setVelocityY(0);
-                System.out.println("Wizard teleported the hero to a random location!");
-                return;
+        int fromCol = player.getX() / tileSize;
+        int fromRow = player.getY() / tileSize;
+
+        // Only to a cell the hero could have walked to, so they are never walled in.
+        // Most free cells are reachable, so a few guesses usually find one.
+        Point cell = null;
+        for (int attempt = 0; attempt < TELEPORT_ATTEMPTS && cell == null; attempt++) {
+            Point candidate = freeCells().sample(random);
+            if (candidate == null) {
+                return; // nowhere to go
+            }
+            if (getPathFinder().isReachable(fromCol, fromRow, candidate.x, candidate.y)) {
+                cell = candidate;
             }
         }
+        if (cell == null) {
+            // The hero is in a small pocket: pick among the cells it connects to
+            FlowField reach = new FlowField(tilesController, Integer.MAX_VALUE);
+            reach.retarget(fromCol, fromRow);
+            cell = freeCells().sampleReachable(random, reach);
+            if (cell == null) {
+                return; // nowhere reachable to go, so the hero stays
+            }
+        }
+        // Teleport player here
+        player.setX(cell.x * tileSize);
+        player.setY(cell.y * tileSize);
+        player.storePreviousPosition();
+        player.setVelocityX(0);
+        player.setVelocityY(0);
+        events.publish(new GameEvent.PlayerTeleported(
+                cell.x - GameConfig.KAFES_STARTING_X, cell.y - GameConfig.KAFES_STARTING_Y));
     }
 
     // =========================================================
@@ -398,35 +721,20 @@ public class MonsterController {
 
     private void spawnRandomMonster(int timePassed, Player player) {
         int tileSize = GameConfig.TILE_SIZE;
-        int mapWidth = GameConfig.NUM_HALL_COLS;
-        int mapHeight = GameConfig.NUM_HALL_ROWS;
-
-        for (int attempt = 0; attempt < 50; attempt++) {
-            int col = random.nextInt(mapWidth);
-            int row = random.nextInt(mapHeight);
-            
-            Boolean isPlayerNear = false;
-            if (Math.sqrt(
-                    Math.pow(player.getX() - col * GameConfig.TILE_SIZE, 2) +
-                    Math.pow(player.getY() - row * GameConfig.TILE_SIZE, 2)
-                ) <= GameConfig.TILE_SIZE * 2) {
-                isPlayerNear = true;
-            }
 
-            Tile tile = tilesController.getTileAt(col + GameConfig.KAFES_STARTING_X, row + GameConfig.KAFES_STARTING_Y);
-            if (tile != null && !tile.isCollidable && enchantmentController.isLocationAvailable(col, row) && !isPlayerNear) {
-                Monster monster = createRandomMonster((col + GameConfig.KAFES_STARTING_X) * tileSize,
-                        (row + GameConfig.KAFES_STARTING_Y) * tileSize);
-                monsters.add(monster);
-
-                if (!(monster instanceof FighterMonster))
-                    tilesController.setTransparentTileAt((col + GameConfig.KAFES_STARTING_X),
-                            (row + GameConfig.KAFES_STARTING_Y));
-                System.out.println("Spawned " + monster.getClass().getSimpleName()
-                        + " at col=" + col + ", row=" + row);
-                return;
-            }
+        // A free cell (no wall, monster, enchantment or object) away from the hero
+        Point cell = freeCells().sampleAwayFrom(random,
+                player.getX() / tileSize, player.getY() / tileSize, SPAWN_MIN_DISTANCE);
+        if (cell == null) {
+            return; // the hall is full
         }
+        Monster monster = createRandomMonster(cell.x * tileSize, cell.y * tileSize);
+        monsters.add(monster);
+
+        if (!(monster instanceof FighterMonster))
+            tilesController.setTransparentTileAt(cell.x, cell.y);
+        events.publish(new GameEvent.MonsterSpawned(monster.getClass().getSimpleName(),
+                cell.x - GameConfig.KAFES_STARTING_X, cell.y - GameConfig.KAFES_STARTING_Y));
     }
 
     private Monster createRandomMonster(int x, int y) {
@@ -441,22 +749,28 @@ public class MonsterController {
 
     public void tick(int timePassed2, int timeRemaining2, Player player) {
         this.timePassed = timePassed2;
-        this.timeRemaining = timeRemaining2;
+        if (timeRemaining2 != timeRemaining) {
+            this.timeRemaining = timeRemaining2;
+            TimeBracket bracket = TimeBracket.of(timeRemaining, initialTime);
+            if (bracket != timeBracket) {
+                onTimeBracketChanged(bracket);
+            }
+        }
         if(timePassed - lastSpawnTime >= spawnIntervalSeconds) {
             spawnRandomMonster(timePassed, player);
             lastSpawnTime = timePassed;
         }
-        if (luringGemLocation!=null && timePassed-gemSpawnTime>=GameConfig.GEM_LIFETIME_SECONDS){
-            luringGemLocation=null;
-            gemSpawnTime=-1;
-        }
+        timers.advanceTo(timePassed);
+        updateTimedMonsters(player);
     }
 
     private void revertMonsterTile(Monster m) {
         int tileSize = GameConfig.TILE_SIZE;
         int col = m.getX() / tileSize;
         int row = m.getY() / tileSize;
-        System.out.println("Col: " + col + " " + "Row: " + row);
+        if (events.isEnabled(GameEvent.Level.DEBUG)) {
+            events.publish(new GameEvent.Message(GameEvent.Level.DEBUG, "Col: " + col + " " + "Row: " + row));
+        }
         tilesController.setFloorTileAt(col, row);
     }
 
@@ -470,6 +784,10 @@ public class MonsterController {
      */
     public void clearLuringGemLocation() {
         this.luringGemLocation = null;
+        if (gemExpiry != null) {
+            gemExpiry.cancel();
+            gemExpiry = null;
+        }
     }
 
     public boolean hasLuringGem() {
@@ -486,44 +804,61 @@ public class MonsterController {
 
     public void setGemSpawnTime(int gemSpawnTime) {
         this.gemSpawnTime = gemSpawnTime;
+        if (luringGemLocation != null) {
+            scheduleGemExpiry();
+        }
     }
     
     // When we throw a gem:
     public void setLuringGemLocation(Point gemLoc) {
         this.luringGemLocation = gemLoc;
         this.gemSpawnTime = timePassed; // store the current time in this field
+        scheduleGemExpiry();
     }
 
-    private boolean checkCollision(int x, int y) {
-        int tileSize = GameConfig.TILE_SIZE;
+    /**
+     * Puts back a gem from a saved game, thrown at gemSpawnTime, so it
+     * expires when it would have without the save.
+     */
+    public void restoreLuringGem(Point gemLoc, int gemSpawnTime) {
+        this.luringGemLocation = gemLoc;
+        this.gemSpawnTime = gemSpawnTime;
+        scheduleGemExpiry();
+    }
 
-        int leftX   = x;
-        int rightX  = x + tileSize - 1;
-        int topY    = y;
-        int bottomY = y + tileSize - 1;
-
-        int leftCol   = leftX / tileSize;
-        int rightCol  = rightX / tileSize;
-        int topRow    = topY / tileSize;
-        int bottomRow = bottomY / tileSize;
-
-        for (int row = topRow; row <= bottomRow; row++) {
-            for (int col = leftCol; col <= rightCol; col++) {
-                Tile tile = tilesController.getTileAt(col, row);
-                if (tile != null && tile.isCollidable) {
-                    return true;
-                }
-            }
+    private void scheduleGemExpiry() {
+        if (gemExpiry != null) {
+            gemExpiry.cancel();
         }
-        return false;
+        gemExpiry = timers.schedule(gemSpawnTime + GameConfig.GEM_LIFETIME_SECONDS, () -> {
+            gemExpiry = null;
+            luringGemLocation = null;
+            gemSpawnTime = -1;
+        });
+    }
+
+    private void moveFighter(int slot, int x, int y) {
+        MonsterStore store = monsters;
+        FighterMonster fighter = store.fighters[slot];
+        store.fighterX[slot] = x;
+        store.fighterY[slot] = y;
+        fighter.setX(x);
+        fighter.setY(y);
+        spatialIndex.put(fighter, x, y);
+    }
+
+    private boolean checkCollision(int x, int y) {
+        int tileSize = GameConfig.TILE_SIZE;
+        // A monster blocks its whole tile; read from this tick's copy, which any thread may share
+        return walls.isAreaBlocked(x, y, tileSize, tileSize);
     }
 
-    private boolean isAdjacentToPlayer(Monster monster, Player player) {
+    private boolean isAdjacentToHero(int x, int y) {
         // Grid bazlı mesafe hesaplama
-        int monsterCol = monster.getX() / GameConfig.TILE_SIZE;
-        int monsterRow = monster.getY() / GameConfig.TILE_SIZE;
-        int playerCol = player.getX() / GameConfig.TILE_SIZE;
-        int playerRow = player.getY() / GameConfig.TILE_SIZE;
+        int monsterCol = x / GameConfig.TILE_SIZE;
+        int monsterRow = y / GameConfig.TILE_SIZE;
+        int playerCol = heroX / GameConfig.TILE_SIZE;
+        int playerRow = heroY / GameConfig.TILE_SIZE;
         
         // Tam yanında olma kontrolü (yatay veya dikey komşu)
         return (Math.abs(monsterCol - playerCol) + Math.abs(monsterRow - playerRow)) <= 1;
@@ -533,7 +868,31 @@ public class MonsterController {
         return Math.abs(x1 - x2) + Math.abs(y1 - y2);
     }
 
-    public List<Monster> getMonsters() {
+    public MonsterStore getMonsters() {
         return monsters;
     }
-}
\ No newline at end of file
+
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Shortest paths over this hall's tiles, kept valid as the tiles change.
+     */
+    public PathFinder getPathFinder() {
+        if (pathFinder == null) {
+            pathFinder = new PathFinder(tilesController);
+        }
+        return pathFinder;
+    }
+
+    /**
+     * What the archers can see over this hall's tiles.
+     */
+    public LineOfSight getLineOfSight() {
+        if (lineOfSight == null) {
+            lineOfSight = new LineOfSight(tilesController);
+        }
+        return lineOfSight;
+    }
+}
@@ -0,0 +1,271 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.domain.models.monsters.ArcherMonster;
+import tr.edu.ku.comp302.domain.models.monsters.FighterMonster;
+import tr.edu.ku.comp302.domain.models.monsters.Monster;
+import tr.edu.ku.comp302.domain.models.monsters.WizardMonster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * The monsters of a hall, kept in one dense array per type so each type is
+ * updated and drawn by its own loop, with no instanceof checks and no
+ * allocation per frame.
+ *
+ * The monster objects stay the real state: they are what gets saved, drawn
+ * and read by everything outside the AI. A few fields the AI reads every
+ * tick are mirrored into parallel int arrays, so its loops read them in
+ * order instead of chasing a pointer per monster. A mirror is filled from the
+ * monster when it is added, and whoever changes a mirrored field writes both
+ * the array and the monster in the same place, so the two never differ
+ * between ticks.
+ *
+ * For archers, which never move, that is archerX, archerY and archerLastShot.
+ * archerSight holds what each archer can see (a LineOfSight mask) and
+ * archerSightVersion the tile version it was made at, -1 until it is made;
+ * those are not on the ArcherMonster at all.
+ *
+ * For fighters it is fighterX, fighterY, fighterLastAttack and
+ * fighterLastMoveCycle. The rest of a fighter (speed, direction, moving) is
+ * still read from the FighterMonster. fighterLastUpdate holds, per fighter,
+ * the AI tick MonsterController last updated it on, or -1 if it has not been
+ * updated yet. Wizards act once a game second through their strategies, so
+ * they have no mirror.
+ *
+ * It is not a List, since where a monster goes is decided by its type: index
+ * i and iteration read fighters, then archers, then wizards; add() puts a
+ * monster at the end of its type, and removing moves the last monster of that
+ * type into the gap. Every monster added or removed is also added to or
+ * removed from the SpatialIndex.
+ */
+public class MonsterStore implements Iterable<Monster> {
+
+    private final SpatialIndex spatialIndex;
+    private int modCount;
+
+    FighterMonster[] fighters = new FighterMonster[16];
+    int[] fighterX = new int[16];
+    int[] fighterY = new int[16];
+    int[] fighterLastAttack = new int[16];
+    int[] fighterLastMoveCycle = new int[16];
+    int[] fighterLastUpdate = new int[16];
+    int fighterCount;
+
+    ArcherMonster[] archers = new ArcherMonster[16];
+    int[] archerX = new int[16];
+    int[] archerY = new int[16];
+    int[] archerLastShot = new int[16];
+    long[] archerSight = new long[16];
+    int[] archerSightVersion = new int[16];
+    int archerCount;
+
+    WizardMonster[] wizards = new WizardMonster[16];
+    int wizardCount;
+
+    public MonsterStore(SpatialIndex spatialIndex) {
+        this.spatialIndex = spatialIndex;
+    }
+
+    public Monster get(int i) {
+        if (i >= 0) {
+            if (i < fighterCount) return fighters[i];
+            i -= fighterCount;
+            if (i < archerCount) return archers[i];
+            i -= archerCount;
+            if (i < wizardCount) return wizards[i];
+        }
+        throw new IndexOutOfBoundsException(i);
+    }
+
+    public int size() {
+        return fighterCount + archerCount + wizardCount;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void addAll(Collection<? extends Monster> monsters) {
+        for (Monster monster : monsters) {
+            add(monster);
+        }
+    }
+
+    /**
+     * Appends the monster to its type.
+     *
+     * @throws IllegalArgumentException if it is not a fighter, archer or wizard.
+     */
+    public void add(Monster monster) {
+        if (monster instanceof FighterMonster fighter) {
+            if (fighterCount == fighters.length) {
+                int capacity = fighterCount * 2;
+                fighters = Arrays.copyOf(fighters, capacity);
+                fighterX = Arrays.copyOf(fighterX, capacity);
+                fighterY = Arrays.copyOf(fighterY, capacity);
+                fighterLastAttack = Arrays.copyOf(fighterLastAttack, capacity);
+                fighterLastMoveCycle = Arrays.copyOf(fighterLastMoveCycle, capacity);
+                fighterLastUpdate = Arrays.copyOf(fighterLastUpdate, capacity);
+            }
+            fighters[fighterCount] = fighter;
+            fighterX[fighterCount] = fighter.getX();
+            fighterY[fighterCount] = fighter.getY();
+            fighterLastAttack[fighterCount] = fighter.getLastAttackTime();
+            fighterLastMoveCycle[fighterCount] = fighter.getLastMoveCycleStart();
+            fighterLastUpdate[fighterCount] = -1;
+            fighterCount++;
+        } else if (monster instanceof ArcherMonster archer) {
+            if (archerCount == archers.length) {
+                int capacity = archerCount * 2;
+                archers = Arrays.copyOf(archers, capacity);
+                archerX = Arrays.copyOf(archerX, capacity);
+                archerY = Arrays.copyOf(archerY, capacity);
+                archerLastShot = Arrays.copyOf(archerLastShot, capacity);
+                archerSight = Arrays.copyOf(archerSight, capacity);
+                archerSightVersion = Arrays.copyOf(archerSightVersion, capacity);
+            }
+            archers[archerCount] = archer;
+            archerX[archerCount] = archer.getX();
+            archerY[archerCount] = archer.getY();
+            archerLastShot[archerCount] = (int) archer.getLastShotTime();
+            archerSightVersion[archerCount] = -1;
+            archerCount++;
+        } else if (monster instanceof WizardMonster wizard) {
+            if (wizardCount == wizards.length) {
+                wizards = Arrays.copyOf(wizards, wizardCount * 2);
+            }
+            wizards[wizardCount++] = wizard;
+        } else {
+            throw new IllegalArgumentException("Unknown monster type: " + monster);
+        }
+        spatialIndex.put(monster, monster.getX(), monster.getY());
+        modCount++;
+    }
+
+    /**
+     * Removes every monster the filter accepts.
+     *
+     * @return true if any was removed.
+     */
+    public boolean removeIf(Predicate<? super Monster> filter) {
+        int before = size();
+        // Backwards, so the monster moved into a gap has already been looked at
+        for (int i = fighterCount - 1; i >= 0; i--) {
+            if (filter.test(fighters[i])) {
+                removeFighter(i);
+            }
+        }
+        for (int i = archerCount - 1; i >= 0; i--) {
+            if (filter.test(archers[i])) {
+                removeArcher(i);
+            }
+        }
+        for (int i = wizardCount - 1; i >= 0; i--) {
+            if (filter.test(wizards[i])) {
+                removeWizard(i);
+            }
+        }
+        return size() != before;
+    }
+
+    /**
+     * @return a new list of the monsters, in the order they are read.
+     */
+    public List<Monster> toList() {
+        List<Monster> list = new ArrayList<>(size());
+        for (Monster monster : this) {
+            list.add(monster);
+        }
+        return list;
+    }
+
+    /**
+     * Reads the monsters in order; the store must not change while it does.
+     */
+    @Override
+    public Iterator<Monster> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public Monster next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    public void clear() {
+        for (int i = 0; i < size(); i++) {
+            spatialIndex.remove(get(i));
+        }
+        Arrays.fill(fighters, 0, fighterCount, null);
+        Arrays.fill(archers, 0, archerCount, null);
+        Arrays.fill(wizards, 0, wizardCount, null);
+        fighterCount = archerCount = wizardCount = 0;
+        modCount++;
+    }
+
+    void removeFighter(int slot) {
+        spatialIndex.remove(fighters[slot]);
+        int last = --fighterCount;
+        fighters[slot] = fighters[last];
+        fighterX[slot] = fighterX[last];
+        fighterY[slot] = fighterY[last];
+        fighterLastAttack[slot] = fighterLastAttack[last];
+        fighterLastMoveCycle[slot] = fighterLastMoveCycle[last];
+        fighterLastUpdate[slot] = fighterLastUpdate[last];
+        fighters[last] = null;
+        modCount++;
+    }
+
+    void removeArcher(int slot) {
+        spatialIndex.remove(archers[slot]);
+        int last = --archerCount;
+        archers[slot] = archers[last];
+        archerX[slot] = archerX[last];
+        archerY[slot] = archerY[last];
+        archerLastShot[slot] = archerLastShot[last];
+        archerSight[slot] = archerSight[last];
+        archerSightVersion[slot] = archerSightVersion[last];
+        archers[last] = null;
+        modCount++;
+    }
+
+    void removeWizard(int slot) {
+        spatialIndex.remove(wizards[slot]);
+        wizards[slot] = wizards[--wizardCount];
+        wizards[wizardCount] = null;
+        modCount++;
+    }
+
+    public int getFighterCount() {
+        return fighterCount;
+    }
+
+    public int getArcherCount() {
+        return archerCount;
+    }
+
+    public int getWizardCount() {
+        return wizardCount;
+    }
+}
@@ -0,0 +1,252 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.config.GameConfig;
+
+import java.awt.Point;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shortest paths between two cells of the hall, over the cells that do not
+ * block movement (four directions, A* with the Manhattan distance).
+ *
+ * The search reuses the same per-cell arrays and the same open-set heap for
+ * every query: a cell's entries only count if its stamp is the current query's,
+ * so nothing is cleared or allocated per search. Found paths are cached by
+ * (start, goal); the cache is dropped as soon as TilesController.getTileVersion()
+ * changes, so a path never outlives the tiles it was found on.
+ *
+ * Cells are in world tile coordinates. Only the game thread uses it.
+ */
+public class PathFinder {
+
+    public static final int MAX_CACHED_PATHS = 256;
+
+    private static final int[] DX = {0, 0, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0};
+
+    // Cached "no path", so failed searches are not repeated either
+    private static final List<Point> NO_PATH = Collections.emptyList();
+
+    private final TilesController tilesController;
+
+    // The hall area, in world cells
+    private final int left, top;
+    private final int cols, rows;
+
+    // Search state per cell (row * cols + col, hall-relative)
+    private final int[] stamp;
+    private final int[] gScore;
+    private final int[] fScore;
+    private final int[] cameFrom;
+    private final boolean[] closed;
+    private int currentStamp;
+
+    // Open set: binary min-heap of cells by fScore; heapIndex[cell] is where a cell is in it
+    private final int[] heap;
+    private final int[] heapIndex;
+    private int heapSize;
+
+    private final Map<Long, List<Point>> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<Point>> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
+    private int cacheVersion;
+    private int searches;
+
+    public PathFinder(TilesController tilesController) {
+        this.tilesController = tilesController;
+        this.left = GameConfig.KAFES_STARTING_X;
+        this.top = GameConfig.KAFES_STARTING_Y;
+        this.cols = tilesController.getHallCols();
+        this.rows = tilesController.getHallRows();
+        int cells = cols * rows;
+        this.stamp = new int[cells];
+        this.gScore = new int[cells];
+        this.fScore = new int[cells];
+        this.cameFrom = new int[cells];
+        this.closed = new boolean[cells];
+        this.heap = new int[cells];
+        this.heapIndex = new int[cells];
+        this.cacheVersion = tilesController.getTileVersion();
+    }
+
+    /**
+     * @return the cells from start to goal, both included, one step apart; an
+     *         empty list if goal cannot be reached or either end is outside
+     *         the hall. The list must not be changed.
+     * @effects The start cell itself may be blocked (whoever stands there is
+     *          leaving it); every other cell of the path is free.
+     */
+    public List<Point> findPath(int startCol, int startRow, int goalCol, int goalRow) {
+        int version = tilesController.getTileVersion();
+        if (version != cacheVersion) {
+            cache.clear();
+            cacheVersion = version;
+        }
+        int start = cellOf(startCol, startRow);
+        int goal = cellOf(goalCol, goalRow);
+        if (start < 0 || goal < 0) {
+            return NO_PATH;
+        }
+        long key = ((long) start << 32) | goal;
+        List<Point> path = cache.get(key);
+        if (path == null) {
+            path = search(start, goal);
+            cache.put(key, path);
+        }
+        return path;
+    }
+
+    public boolean isReachable(int startCol, int startRow, int goalCol, int goalRow) {
+        return !findPath(startCol, startRow, goalCol, goalRow).isEmpty();
+    }
+
+    /**
+     * @return the number of steps from start to goal, or -1 if there is no path.
+     */
+    public int pathLength(int startCol, int startRow, int goalCol, int goalRow) {
+        return findPath(startCol, startRow, goalCol, goalRow).size() - 1;
+    }
+
+    /**
+     * How many searches ran, as opposed to answers from the cache.
+     */
+    public int getSearchCount() {
+        return searches;
+    }
+
+    // ====================== Search ======================
+
+    private List<Point> search(int start, int goal) {
+        searches++;
+        currentStamp++;
+        heapSize = 0;
+        if (start != goal && isBlocked(goal)) {
+            return NO_PATH;
+        }
+
+        open(start, 0, -1, goal);
+        while (heapSize > 0) {
+            int cell = pop();
+            if (cell == goal) {
+                return buildPath(goal);
+            }
+            closed[cell] = true;
+            int col = cell % cols, row = cell / cols;
+            for (int d = 0; d < 4; d++) {
+                int nc = col + DX[d], nr = row + DY[d];
+                if (nc < 0 || nc >= cols || nr < 0 || nr >= rows) {
+                    continue;
+                }
+                int next = nr * cols + nc;
+                if (stamp[next] == currentStamp) {
+                    if (closed[next] || gScore[cell] + 1 >= gScore[next]) {
+                        continue;
+                    }
+                } else if (isBlocked(next)) {
+                    continue;
+                }
+                open(next, gScore[cell] + 1, cell, goal);
+            }
+        }
+        return NO_PATH;
+    }
+
+    /**
+     * Adds cell to the open set with cost g, or lowers its cost if it is there.
+     */
+    private void open(int cell, int g, int from, int goal) {
+        boolean known = stamp[cell] == currentStamp;
+        stamp[cell] = currentStamp;
+        gScore[cell] = g;
+        fScore[cell] = g + manhattan(cell, goal);
+        cameFrom[cell] = from;
+        if (!known) {
+            closed[cell] = false;
+            heap[heapSize] = cell;
+            heapIndex[cell] = heapSize;
+            heapSize++;
+        }
+        siftUp(heapIndex[cell]);
+    }
+
+    private List<Point> buildPath(int goal) {
+        int length = gScore[goal] + 1;
+        Point[] cells = new Point[length];
+        int cell = goal;
+        for (int i = length - 1; i >= 0; i--) {
+            cells[i] = new Point(left + cell % cols, top + cell / cols);
+            cell = cameFrom[cell];
+        }
+        return List.of(cells);
+    }
+
+    private boolean isBlocked(int cell) {
+        return tilesController.isCollidableAt(left + cell % cols, top + cell / cols);
+    }
+
+    private int manhattan(int cell, int goal) {
+        return Math.abs(cell % cols - goal % cols) + Math.abs(cell / cols - goal / cols);
+    }
+
+    private int cellOf(int col, int row) {
+        if (col < left || col >= left + cols || row < top || row >= top + rows) {
+            return -1;
+        }
+        return (row - top) * cols + (col - left);
+    }
+
+    // ====================== Heap ======================
+
+    private int pop() {
+        int first = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            place(heap[heapSize], 0);
+            siftDown(0);
+        }
+        return first;
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (fScore[heap[parent]] <= fScore[cell]) {
+                break;
+            }
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(cell, i);
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && fScore[heap[child + 1]] < fScore[heap[child]]) {
+                child++;
+            }
+            if (fScore[heap[child]] >= fScore[cell]) {
+                break;
+            }
+            place(heap[child], i);
+            i = child;
+        }
+        place(cell, i);
+    }
+
+    private void place(int cell, int i) {
+        heap[i] = cell;
+        heapIndex[cell] = i;
+    }
+}
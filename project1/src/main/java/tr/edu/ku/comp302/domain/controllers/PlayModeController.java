@@ -1,36 +1,39 @@
 package tr.edu.ku.comp302.domain.controllers;
 
 import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.events.GameEvent;
+import tr.edu.ku.comp302.domain.events.GameEventBus;
 import tr.edu.ku.comp302.domain.models.*;
-import tr.edu.ku.comp302.domain.models.enchantments.Enchantment;
 import tr.edu.ku.comp302.domain.models.enchantments.EnchantmentType;
-import tr.edu.ku.comp302.ui.PlayModeView;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Random;
 import java.util.function.Consumer;
 import java.util.HashMap;
 import java.util.List;
-
-import javax.swing.JOptionPane;
-import javax.swing.SwingUtilities;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 /**
  * PlayModeController manages the game logic and interactions between components.
+ *
+ * It has no Swing dependencies: outcomes are reported to a PlayModeListener, so the
+ * same logic runs in the game window and in the headless SimulationEngine.
  */
 public class PlayModeController {
 
     private final Player player;
     private final PlayerController playerController;
     private final TilesController tilesController;
-    private NavigationController navigationController;
     private MonsterController monsterController;
     private EnchantmentController enchantmentController;
     private BuildObjectController buildObjectController;
+    private FreeCellSampler freeCells;
     private final KeyHandler keyHandler;
     private HallType hallType;
     private String jsonData;
@@ -38,6 +41,9 @@ public class PlayModeController {
 
     private final Random random;
 
+    // Game time in ticks; only moves while the game is being updated
+    private final GameClock clock = new GameClock();
+
     // Timer via GameTimerController
     private GameTimerController gameTimerController;
     private int initialTime = 60;
@@ -45,22 +51,45 @@ public class PlayModeController {
     private int timePassed = 0; // Our "game clock" in seconds
 
     private boolean gameOver = false;
+    // Kept up to date by the inventory's change listener, never polled
+    private boolean runeCollected;
+    private List<EnchantmentType> inventoryTypes = List.of();
+
+    private PlayModeListener listener;
+
+    // Follows the hero over halls larger than the screen
+    private final Camera camera;
 
-    private PlayModeView playModeView;
+    // Last published tick, read by the renderer. Written only by the game thread.
+    private final AtomicReference<RenderSnapshot> snapshot = new AtomicReference<>();
 
     public PlayModeController(KeyHandler keyHandler, MouseHandler mouseHandler, String jsonData, HallType hallType, Player player) {
+        this(keyHandler, mouseHandler, jsonData, hallType, player, GameConfig.NUM_HALL_COLS, GameConfig.NUM_HALL_ROWS);
+    }
+
+    /**
+     * Starts a hall of the given size in tiles. Halls larger than the screen
+     * scroll with the hero.
+     */
+    public PlayModeController(KeyHandler keyHandler, MouseHandler mouseHandler, String jsonData, HallType hallType, Player player,
+                              int hallCols, int hallRows) {
         this.keyHandler = keyHandler;
         this.hallType = hallType;
         this.jsonData = jsonData;
         this.mouseHandler = mouseHandler;
         this.player = player;
+        this.player.setClock(clock::millis);
         this.random = new Random();
+        watchInventory();
 
         // Initialize TilesController
-        this.tilesController = new TilesController();
+        this.tilesController = new TilesController(hallCols, hallRows);
         this.tilesController.loadTiles(hallType);
+        this.camera = newCamera();
 
-        this.buildObjectController = new BuildObjectController(hallType);
+        // One index for every entity of the hall
+        SpatialIndex spatialIndex = new SpatialIndex(GameConfig.TILE_SIZE);
+        this.buildObjectController = new BuildObjectController(hallType, spatialIndex);
         this.buildObjectController.loadWorldFromJson(jsonData);
 
 
@@ -75,14 +104,19 @@ public class PlayModeController {
 
 
         // Initialize PlayerController
-        this.playerController = new PlayerController(player, this.tilesController, this.keyHandler);
+        this.playerController = new PlayerController(player, this.tilesController, this.keyHandler, clock.getTickRate());
 
-        this.monsterController = new MonsterController(this.tilesController, buildObjectController, initialTime);
-        this.enchantmentController = new EnchantmentController(this.tilesController);
+        this.monsterController = new MonsterController(this.tilesController, buildObjectController, initialTime, spatialIndex);
+        this.enchantmentController = new EnchantmentController(this.tilesController, spatialIndex);
         //Very bad solution
         monsterController.setEnchantmentController(enchantmentController);
+        monsterController.setTickRate(clock.getTickRate());
+        monsterController.setCamera(camera);
+        shareFreeCells(spatialIndex);
 
         initializePlayerLocation();
+        snapCameraToPlayer();
+        publishSnapshot();
     }
 
     public PlayModeController(KeyHandler keyHandler,
@@ -94,20 +128,29 @@ public class PlayModeController {
         this.jsonData = null; // not using JSON
         this.mouseHandler = mouseHandler;
         this.player = dummyPlayer;
+        this.player.setClock(clock::millis);
         this.random = new Random();
+        watchInventory();
 
-        // 1) Tile system
-        this.tilesController = new TilesController();
+        // 1) Tile system, sized like the saved hall (old saves have no size)
+        int hallCols = loadedState.getHallCols() > 0 ? loadedState.getHallCols() : GameConfig.NUM_HALL_COLS;
+        int hallRows = loadedState.getHallRows() > 0 ? loadedState.getHallRows() : GameConfig.NUM_HALL_ROWS;
+        this.tilesController = new TilesController(hallCols, hallRows);
         this.tilesController.loadTiles(HallType.EARTH);
+        this.camera = newCamera();
 
         // 2) BuildObjectController (we do *not* load from JSON, just init the empty map)
-        this.buildObjectController = new BuildObjectController(this.hallType);
+        SpatialIndex spatialIndex = new SpatialIndex(GameConfig.TILE_SIZE);
+        this.buildObjectController = new BuildObjectController(this.hallType, spatialIndex);
 
         // 3) Player, Monster, Enchant
-        this.playerController = new PlayerController(dummyPlayer, this.tilesController, this.keyHandler);
-        this.monsterController = new MonsterController(this.tilesController, buildObjectController, initialTime);
-        this.enchantmentController = new EnchantmentController(this.tilesController);
+        this.playerController = new PlayerController(dummyPlayer, this.tilesController, this.keyHandler, clock.getTickRate());
+        this.monsterController = new MonsterController(this.tilesController, buildObjectController, initialTime, spatialIndex);
+        this.enchantmentController = new EnchantmentController(this.tilesController, spatialIndex);
         monsterController.setEnchantmentController(enchantmentController);
+        monsterController.setTickRate(clock.getTickRate());
+        monsterController.setCamera(camera);
+        shareFreeCells(spatialIndex);
 
         // 4) We do *not* call initializePlayerLocation() because we want to
         // restore the old player position from .ser
@@ -117,37 +160,51 @@ public class PlayModeController {
         restoreFromGameState(loadedState);
     }
 
+    private Camera newCamera() {
+        return new Camera(GameConfig.RES_HORIZONTAL, GameConfig.RES_VERTICAL,
+                tilesController.getWorldWidth(), tilesController.getWorldHeight());
+    }
+
+    private void snapCameraToPlayer() {
+        Player p = playerController.getEntity();
+        camera.snapTo(p.getX() + GameConfig.TILE_SIZE / 2, p.getY() + GameConfig.TILE_SIZE / 2);
+    }
+
+
+    /**
+     * One set of free cells for the hall, kept current by the tiles and the
+     * spatial index, used by every controller that places things.
+     */
+    private void shareFreeCells(SpatialIndex spatialIndex) {
+        this.freeCells = new FreeCellSampler(tilesController, spatialIndex);
+        monsterController.setFreeCellSampler(freeCells);
+        enchantmentController.setFreeCellSampler(freeCells);
+    }
 
     public void initializePlayerLocation() {
         int tileSize = GameConfig.TILE_SIZE;
-        int mapWidth = GameConfig.NUM_HALL_COLS;
-        int mapHeight = GameConfig.NUM_HALL_ROWS;
-
-        // We'll try a few times to find a free tile
-        for (int attempt = 0; attempt < 50; attempt++) {
-            int col = random.nextInt(mapWidth);
-            int row = random.nextInt(mapHeight);
-
-            Tile tile = tilesController.getTileAt(col + GameConfig.KAFES_STARTING_X, row + GameConfig.KAFES_STARTING_Y);
-            if (tile != null && !tile.isCollidable && enchantmentController.isLocationAvailable(col, row)) {
-                //
-                playerController.setLocation((col + GameConfig.KAFES_STARTING_X) * tileSize, (row + GameConfig.KAFES_STARTING_Y) * tileSize);
-            } else {
-                //System.out.println("Unsuccesful location: " + col + " " + row);
-            }
+
+        Point cell = freeCells.sample(random);
+        if (cell != null) {
+            playerController.setLocation(cell.x * tileSize, cell.y * tileSize);
         }
     }
 
     public void update() {
         if (gameOver) return;
         if (!keyHandler.isEscPressed()) {
+            // 0) Remember where everything was, for render interpolation
+            playerController.getEntity().storePreviousPosition();
+            monsterController.storePreviousPositions();
+
             // 1) Update Player
             playerController.update();
 
             // 2) Update Monsters
             monsterController.updateAll(playerController.getEntity());
 
-            Point clickPos = mouseHandler.getLastClickAndConsume();
+            // Clicks arrive in screen coordinates
+            Point clickPos = camera.screenToWorld(mouseHandler.getLastClickAndConsume());
             // 3) Update Enchantments
             enchantmentController.update(playerController.getEntity(), clickPos);
 
@@ -169,45 +226,143 @@ public class PlayModeController {
             }
 
             // 8) Check if rune is collected
-            if (playerController.getEntity().getInventory().hasRune()) {
+            if (!gameOver && runeCollected) {
                 onGameComplete();
             }
 
-            // Hasar göstergeleri için tuş kontrolü
-            if (keyHandler.hPressed) {
-                keyHandler.hPressed = false; // Tuşu sıfırla
-                playModeView.toggleDamageIndicators(); // Göstergeleri aç/kapat
+            // 9) Advance game time. Per-second logic (spawns, expiries, countdown)
+            // runs from the timer's onTick, on this thread.
+            if (!gameOver) {
+                clock.advance();
+                if (gameTimerController != null) {
+                    gameTimerController.advance();
+                }
             }
+
+            // 10) Keep the hero in view
+            Player p = playerController.getEntity();
+            camera.follow(p.getX() + GameConfig.TILE_SIZE / 2, p.getY() + GameConfig.TILE_SIZE / 2);
+            tilesController.prefetch(camera.getX(), camera.getY(), GameConfig.RES_HORIZONTAL, GameConfig.RES_VERTICAL);
+
+            // 11) Hand the finished tick over to the renderer
+            publishSnapshot();
         }
     }
 
+    /**
+     * Follows the hero's inventory: whether the hall's rune is held, and the
+     * item list the HUD shows, which is only rebuilt when the inventory changes.
+     */
+    private void watchInventory() {
+        Inventory inventory = player.getInventory();
+        runeCollected = inventory.hasRune();
+        inventoryTypes = List.copyOf(inventory.getItemTypes());
+        inventory.setChangeListener((type, count) -> {
+            if (type == EnchantmentType.RUNE) {
+                runeCollected = count > 0;
+            }
+            inventoryTypes = List.copyOf(inventory.getItemTypes());
+        });
+    }
+
+    /**
+     * Copies the current tick into a new RenderSnapshot and makes it the one the
+     * renderer sees. Must be called on the game thread, between updates.
+     */
+    public void publishSnapshot() {
+        Player p = playerController.getEntity();
+
+        RenderSnapshot.Area revealArea = null;
+        BuildObject runeHolder = buildObjectController.getRuneHolder();
+        // Highlight a 4x4 area around the rune while Reveal is active
+        if (p.isRevealActive() && runeHolder != null) {
+            int width = GameConfig.TILE_SIZE * 4;
+            int objectX = runeHolder.getX() * GameConfig.TILE_SIZE - runeHolder.getOffset();
+            int objectY = runeHolder.getY() * GameConfig.TILE_SIZE - runeHolder.getOffset();
+            revealArea = new RenderSnapshot.Area(objectX, objectY, width, width);
+        }
+
+        long now = p.currentTimeMillis();
+        boolean cloakActive = p.isCloakActive();
+        boolean revealActive = p.isRevealActive();
+        RenderSnapshot.Hud hud = new RenderSnapshot.Hud(
+                getTimeRemaining(),
+                p.getLives(),
+                p.isDrawDamageBox(),
+                cloakActive,
+                cloakActive ? Math.max(0, p.getCloakEndTime() - now) : 0,
+                revealActive,
+                revealActive ? Math.max(0, p.getRevealEndTime() - now) : 0,
+                inventoryTypes);
+
+        snapshot.set(new RenderSnapshot(
+                clock.getTicks(),
+                camera.snapshot(),
+                playerController.snapshot(),
+                monsterController.snapshotMonsters(),
+                enchantmentController.snapshot(),
+                monsterController.snapshotLuringGem(),
+                revealArea,
+                buildObjectController.snapshotClickEffect(),
+                hud));
+    }
+
+    /**
+     * The last tick published by the game thread. Safe to call from any thread.
+     */
+    public RenderSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
     public void draw(Graphics2D g2) {
+        draw(g2, 1f);
+    }
 
-        tilesController.draw(g2);
+    /**
+     * Draws the last published tick, with moving entities interpolated between it
+     * and the tick before. Only reads the snapshot, so it may run on the EDT while
+     * the game thread is updating.
+     *
+     * @param alpha fraction of a tick elapsed since the last update, in [0, 1].
+     */
+    public void draw(Graphics2D g2, float alpha) {
+        RenderSnapshot snap = snapshot.get();
+        if (snap == null) {
+            return;
+        }
 
-        buildObjectController.draw(g2, false);
+        // Everything below is in world coordinates and skips what is off screen
+        RenderSnapshot.Viewport view = snap.viewport();
+        Rectangle visible = new Rectangle(view.renderX(alpha), view.renderY(alpha), view.width(), view.height());
+        AffineTransform screen = g2.getTransform();
+        g2.translate(-visible.x, -visible.y);
 
-        enchantmentController.draw(g2);
-        
-        playerController.draw(g2);
+        tilesController.draw(g2, visible);
 
-        monsterController.drawAll(g2);
+        buildObjectController.draw(g2, false, visible);
 
-        tilesController.drawInnerBottom(g2);
+        EnchantmentController.draw(g2, snap.enchantments(), visible);
 
-        buildObjectController.draw(g2, true);
+        PlayerController.draw(g2, snap.player(), alpha, visible);
 
-        // If player has reveal active, you might highlight a 4x4 area around the rune
-        if (playerController.getEntity().isRevealActive() && buildObjectController.getRuneHolder() != null) {
+        MonsterController.drawAll(g2, snap.monsters(), snap.luringGem(), alpha, visible);
 
-            int width = GameConfig.TILE_SIZE * 4;
+        tilesController.drawInnerBottom(g2, visible);
+
+        buildObjectController.draw(g2, true, visible);
 
-            int objectX = buildObjectController.getRuneHolder().getX() * GameConfig.TILE_SIZE - buildObjectController.getRuneHolder().getOffset();
-            int objectY = buildObjectController.getRuneHolder().getY() * GameConfig.TILE_SIZE - buildObjectController.getRuneHolder().getOffset();
+        RenderSnapshot.Area click = snap.clickEffect();
+        if (click != null && visible.intersects(click.x(), click.y(), click.width(), click.height())) {
+            BuildObjectController.drawClickEffect(g2, click);
+        }
 
+        RenderSnapshot.Area reveal = snap.revealArea();
+        if (reveal != null && visible.intersects(reveal.x(), reveal.y(), reveal.width(), reveal.height())) {
             g2.setColor(new Color(255, 0, 0, 80));
-            g2.fillRect(objectX, objectY, width, width);
+            g2.fillRect(reveal.x(), reveal.y(), reveal.width(), reveal.height());
         }
+
+        g2.setTransform(screen);
     }
 
     private void checkEnchantmentUsage() {
@@ -243,63 +398,35 @@ public class PlayModeController {
     private void onGameOver() {
         gameOver = true;
         pauseGameTimer();
-        System.out.println("Game Over! The hero has no more lives.");
-        if (navigationController != null) {
-            navigationController.endGameAndShowMainMenu("Game Over! The hero has no more lives.");
+        GameEventBus.get().publish(new GameEvent.Message(GameEvent.Level.INFO, "Game Over! The hero has no more lives."));
+        if (listener != null) {
+            listener.onGameOver("Game Over! The hero has no more lives.");
         }
     }
 
     private void onGameComplete() {
         gameOver = true;
         pauseGameTimer();
-        SwingUtilities.invokeLater(() -> {
-            // Create a dialog with a message and button
-            int result = JOptionPane.showOptionDialog(
-                    null,
-                    "Hall is completed! Ready for the next challenge?",
-                    "Game Completed",
-                    JOptionPane.DEFAULT_OPTION,
-                    JOptionPane.INFORMATION_MESSAGE,
-                    null,
-                    new String[]{"Next"}, // Button text
-                    "Next"
-            );
-
-            // Handle button click
-            if (result == JOptionPane.OK_OPTION) {
-                switch (hallType) {
-                    case EARTH:
-                        // Navigate to AIR hall
-                        Enchantment e1 = player.getInventory().getEnchantmentByType(EnchantmentType.RUNE);
-                        player.getInventory().removeItem(e1);
-                        player.resetEffects();
-                        navigationController.startNewPlayModeFromJson(jsonData, HallType.AIR);
-                        break;
-                    case AIR:
-                        // Navigate to WATER hall
-                        Enchantment e2 = player.getInventory().getEnchantmentByType(EnchantmentType.RUNE);
-                        player.getInventory().removeItem(e2);
-                        player.resetEffects();
-                        navigationController.startNewPlayModeFromJson(jsonData, HallType.WATER);
-                        break;
-                    case WATER:
-                        // Navigate to FIRE hall
-                        Enchantment e3 = player.getInventory().getEnchantmentByType(EnchantmentType.RUNE);
-                        player.getInventory().removeItem(e3);
-                        player.resetEffects();
-                        navigationController.startNewPlayModeFromJson(jsonData, HallType.FIRE);
-                        break;
-                    case FIRE:
-                    default:
-                        // End the game and show the main menu
-                        Enchantment e4 = player.getInventory().getEnchantmentByType(EnchantmentType.RUNE);
-                        player.getInventory().removeItem(e4);
-                        player.resetEffects();
-                        navigationController.endGameAndShowMainMenu("Congratulations! You have completed the game.");
-                        break;
-                }
-            }
-        });
+        GameEventBus.get().publish(new GameEvent.HallCompleted(hallType));
+        if (listener != null) {
+            listener.onHallCompleted(hallType);
+        }
+    }
+
+    /**
+     * Consumes the rune of the completed hall and clears active buffs.
+     *
+     * @return the hall to play next, or null if the completed hall was the last one.
+     */
+    public HallType advanceToNextHall() {
+        player.getInventory().take(EnchantmentType.RUNE);
+        player.resetEffects();
+        return switch (hallType) {
+            case EARTH -> HallType.AIR;
+            case AIR -> HallType.WATER;
+            case WATER -> HallType.FIRE;
+            default -> null;
+        };
     }
 
     public boolean isPaused() {
@@ -308,60 +435,49 @@ public class PlayModeController {
 
     // ========== TIMER ==========
     public void startGameTimer(Consumer<Integer> onTick, Runnable onTimeUp) {
-        gameTimerController = new GameTimerController(
-                time -> {
-                    timeRemaining = time;
-
-                    timePassed++;
-
-                    monsterController.tick(timePassed, timeRemaining, player);
-                    enchantmentController.tick(timePassed);
-                    onTick.accept(time);
-                },
-                onTimeUp
-        );
+        gameTimerController = createTimer(onTick, onTimeUp);
         gameTimerController.start(initialTime);
     }
     public void startTimerForNewGame(Consumer<Integer> onTick, Runnable onTimeUp) {
         // We want to start from the full initialTime
-        gameTimerController = new GameTimerController(
-                time -> {
-                    timeRemaining = time;
-                    timePassed++;
-                    monsterController.tick(timePassed, timeRemaining, player);
-                    enchantmentController.tick(timePassed);
-                    onTick.accept(time);
-                },
-                onTimeUp
-        );
+        gameTimerController = createTimer(onTick, onTimeUp);
         // Start from initialTime
         gameTimerController.start(initialTime);
     }
 
     public void startTimerForLoadedGame(Consumer<Integer> onTick, Runnable onTimeUp) {
         // We want to resume from timeRemaining
-        gameTimerController = new GameTimerController(
-                time -> {
-                    timeRemaining = time;
-                    timePassed++;
-                    monsterController.tick(timePassed, timeRemaining, player);
-                    enchantmentController.tick(timePassed);
-                    onTick.accept(time);
-                },
-                onTimeUp
-        );
+        gameTimerController = createTimer(onTick, onTimeUp);
         // Start from leftover timeRemaining
         gameTimerController.start(timeRemaining);
     }
 
 
-    private void onTimeUp() {
-        System.out.println("Süre doldu! Oyun bitti.");
-        if (navigationController != null) {
-            navigationController.endGameAndShowMainMenu("Game Over! Time is up.");
-        } else {
-            System.out.println("NavigationController atanmamış!");
-        }
+    /**
+     * Per-second game logic: countdown bookkeeping, monster and enchantment spawns.
+     */
+    private void onGameSecond(int time) {
+        timeRemaining = time;
+        timePassed++;
+        monsterController.tick(timePassed, timeRemaining, player);
+        enchantmentController.tick(timePassed);
+    }
+
+    /**
+     * The countdown is advanced by update(), so onTick and onTimeUp run on the
+     * game thread, between two ticks, like the rest of the game logic.
+     */
+    private GameTimerController createTimer(Consumer<Integer> onTick, Runnable onTimeUp) {
+        return new GameTimerController(
+                time -> {
+                    onGameSecond(time);
+                    onTick.accept(time);
+                },
+                () -> {
+                    gameOver = true;
+                    onTimeUp.run();
+                }
+        );
     }
 
     public void pauseGameTimer() {
@@ -377,12 +493,37 @@ public class PlayModeController {
         }
     }
 
-    public void setNavigationController(NavigationController navigationController) {
-        this.navigationController = navigationController;
+    public void setPlayModeListener(PlayModeListener listener) {
+        this.listener = listener;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public HallType getHallType() {
+        return hallType;
+    }
+
+    public String getJsonData() {
+        return jsonData;
+    }
+
+    public int getTimePassed() {
+        return timePassed;
     }
 
     public int getTimeRemaining() {
-        return timeRemaining;
+        // The timer is the live value; the field lags behind by up to a second after addTime()
+        return (gameTimerController != null) ? gameTimerController.getTimeRemaining() : timeRemaining;
+    }
+
+    public Camera getCamera() {
+        return camera;
+    }
+
+    public GameClock getClock() {
+        return clock;
     }
 
     public PlayerController getPlayerController() {
@@ -397,10 +538,6 @@ public class PlayModeController {
         return this.enchantmentController;
     }
 
-    public void setPlayModeView(PlayModeView view) {
-        this.playModeView = view;
-    }
-
     /**
      * Captures the entire current game state into a serializable object.
      */
@@ -408,12 +545,16 @@ public class PlayModeController {
         GameState gs = new GameState();
     
         gs.setCurrentHall(this.hallType);
+        gs.setHallCols(tilesController.getHallCols());
+        gs.setHallRows(tilesController.getHallRows());
         gs.setPlayer(this.getPlayerController().getEntity());
-        gs.setMonsters(monsterController.getMonsters());
-        gs.setEnchantments(enchantmentController.getEnchantments());
+        // Copies, so saving never shares a list with the running game
+        gs.setMonsters(monsterController.getMonsters().toList());
+        gs.setEnchantments(new ArrayList<>(enchantmentController.getEnchantments()));
         gs.setWorldObjectsMap(buildObjectController.getWorldObjectsMap());
     
-        gs.setTimeRemaining(this.timeRemaining);
+        gs.setTimeRemaining(getTimeRemaining());
+        gs.setGameTicks(clock.getTicks());
         gs.setTimePassed(this.timePassed);
         gs.setInitialTime(this.initialTime);
     
@@ -421,30 +562,12 @@ public class PlayModeController {
         gs.setLuringGemLocation(monsterController.getLuringGemLocation());
         gs.setGemSpawnTime(monsterController.getGemSpawnTime());
     
-        // Here we get the entire tileDataGrid from TilesController
-        TileData[][] td = tilesController.getTileDataGrid();
-        gs.setTileDataGrid(cloneTileDataArray(td)); 
-        // We do a clone to ensure no accidental references 
-        // If your code doesn’t need it, you can store it directly.
+        // The tile grid is palette-encoded, so this copy is one array copy
+        gs.setTileGrid(tilesController.getTileGrid().copy());
     
         return gs;
     }
     
-    /** Helper to clone a 2D array so we don't hold references. */
-    private TileData[][] cloneTileDataArray(TileData[][] original) {
-        int rows = original.length;
-        int cols = original[0].length;
-        TileData[][] copy = new TileData[rows][cols];
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                copy[r][c] = original[r][c];
-            }
-        }
-        return copy;
-    }
-    
-    
-
     /**
      * Restores the controllers from a previously loaded GameState.
      */
@@ -453,6 +576,8 @@ public class PlayModeController {
         this.timeRemaining = gs.getTimeRemaining();
         this.timePassed = gs.getTimePassed();
         this.initialTime = gs.getInitialTime();
+        // Buff end times below are on the saved game clock
+        clock.setTicks(gs.getGameTicks());
     
         // Player
         Player loadedPlayer = gs.getPlayer();
@@ -468,11 +593,8 @@ public class PlayModeController {
         current.setRevealActive(loadedPlayer.isRevealActive());
         current.setRevealEndTime(loadedPlayer.getRevealEndTime());
         // Inventory
-        current.getInventory().getAllItems().clear();
-        current.getInventory().getAllItems().addAll(
-            loadedPlayer.getInventory().getAllItems()
-        );
-        System.out.println(loadedPlayer.getInventory().getAllItems());
+        current.getInventory().clear();
+        current.getInventory().addAll(loadedPlayer.getInventory().getAllItems());
     
         // Monsters
         monsterController.clearMonsters();
@@ -485,19 +607,20 @@ public class PlayModeController {
         // BuildObjects
         buildObjectController.getWorldObjectsMap().clear();
         buildObjectController.getWorldObjectsMap().putAll(gs.getWorldObjectsMap());
+        buildObjectController.indexHallObjects();
     
         // Luring gem
-        monsterController.setGemSpawnTime(gs.getGemSpawnTime());
         if (gs.isHasLuringGem()) {
-            monsterController.setLuringGemLocation(gs.getLuringGemLocation());
+            monsterController.restoreLuringGem(gs.getLuringGemLocation(), gs.getGemSpawnTime());
         } else {
             monsterController.clearLuringGemLocation();
+            monsterController.setGemSpawnTime(gs.getGemSpawnTime());
         }
     
         // TILES: Rebuild tileData => tileGrid
-        TileData[][] loadedData = gs.getTileDataGrid();
-        if (loadedData != null) {
-            tilesController.setTileDataGrid(loadedData);
+        TileGrid loadedTiles = gs.getTileGrid();
+        if (loadedTiles != null) {
+            tilesController.setTileGrid(loadedTiles);
         } else {
             // fallback: reload defaults
             tilesController.loadTiles(this.hallType);
@@ -511,6 +634,10 @@ public class PlayModeController {
         for (BuildObject obj : objectsInCurrentHall) {
             tilesController.setTransparentTileAt(obj.getX(), obj.getY());
         }
+
+        // Show the restored state right away
+        snapCameraToPlayer();
+        publishSnapshot();
     }
     
 
@@ -0,0 +1,25 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.domain.models.HallType;
+
+/**
+ * Receives the outcomes of a hall from PlayModeController.
+ *
+ * The Swing view shows dialogs and switches screens here; the headless
+ * SimulationEngine just records the result. Callbacks run on the thread that
+ * drives the simulation.
+ */
+public interface PlayModeListener {
+
+    /**
+     * The hero collected the rune of the given hall.
+     * Call PlayModeController.advanceToNextHall() to move on.
+     */
+    void onHallCompleted(HallType completedHall);
+
+    /**
+     * The hero has no lives left. (Running out of time is reported to the
+     * onTimeUp callback given when starting the timer.)
+     */
+    void onGameOver(String message);
+}
@@ -5,12 +5,11 @@ import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.Color;
 import java.awt.RadialGradientPaint;
+import java.awt.Rectangle;
 import java.awt.geom.Point2D;
-import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
 import tr.edu.ku.comp302.config.GameConfig;
 import tr.edu.ku.comp302.domain.models.Player;
+import tr.edu.ku.comp302.domain.models.RenderSnapshot;
 
 /**
  * The PlayerController class manages the player's movement, state, and animations.
@@ -25,14 +24,20 @@ public class PlayerController extends EntityController<Player> {
     private final Player player;
     private boolean isFacingLeft = false; // Default: face right
 
-    // Animation images
-    private List<BufferedImage> walkImages;
-    private BufferedImage standImage;
+    // Atlas sprites for the walking animation and standing state
+    private static final String[] WALK_SPRITES = { "player_walk_1", "player_walk_2" };
+    private static final String STAND_SPRITE = "player_stand";
+
+    // Velocities are in pixels per tick of BASE_TICK_RATE; each tick moves
+    // tickScale times that, keeping the part of a pixel not yet moved
+    private final float tickScale;
+    private float subX = 0f;
+    private float subY = 0f;
 
     // Animation state
     private int currentFrame = 0;
     private int frameCounter = 0;
-    private final int frameDelay = 15;
+    private final int frameDelay; // 15 ticks at BASE_TICK_RATE
 
     // Cloak effect variables
     private float cloakAlpha = 0.5f;
@@ -45,57 +50,60 @@ public class PlayerController extends EntityController<Player> {
     private final KeyHandler keyHandler;
 
     public PlayerController(Player player, TilesController tilesController, KeyHandler keyHandler) {
-        super(player, tilesController);
-        this.player = player;
-        this.keyHandler = keyHandler;
-        loadPlayerImages();
+        this(player, tilesController, keyHandler, GameConfig.TICK_RATE);
     }
 
     /**
-     * Load images for walking animation and standing state.
+     * @param tickRate how many times per game second update() is called.
      */
-    private void loadPlayerImages() {
-        walkImages = new ArrayList<>();
-        // Hypothetical ResourceManager usage:
-        walkImages.add(ResourceManager.getImage("player_walk_1"));
-        walkImages.add(ResourceManager.getImage("player_walk_2"));
-        standImage = ResourceManager.getImage("player_stand");
+    public PlayerController(Player player, TilesController tilesController, KeyHandler keyHandler, int tickRate) {
+        super(player, tilesController);
+        this.player = player;
+        this.keyHandler = keyHandler;
+        this.tickScale = (float) GameConfig.BASE_TICK_RATE / tickRate;
+        this.frameDelay = Math.max(1, Math.round(15 / tickScale));
     }
 
     @Override
     public void update() {
         // 1. Apply input => accelerate
-        float accel = player.getAcceleration();
+        float accel = player.getAcceleration() * tickScale;
         if (keyHandler.up)    player.accelerateY(-accel);
         if (keyHandler.down)  player.accelerateY(accel);
         if (keyHandler.left)  player.accelerateX(-accel);
         if (keyHandler.right) player.accelerateX(accel);
 
         // 2. If no key is pressed, friction slows Player.
-        player.applyFriction();
+        player.applyFriction(tickScale);
 
         // 3. Limit max speed
         player.clampSpeed();
 
-        // 4. Compute proposed new position
-        float newX = player.getX() + player.getVelocityX();
-        float newY = player.getY() + player.getVelocityY();
+        // 4. Compute proposed new position, in whole pixels
+        float moveX = subX + player.getVelocityX() * tickScale;
+        float moveY = subY + player.getVelocityY() * tickScale;
+        int stepX = (int) moveX;
+        int stepY = (int) moveY;
+        subX = moveX - stepX;
+        subY = moveY - stepY;
 
         // 4a. Check collision horizontally
-        if (!checkCollision((int)newX, player.getY())) {
-            player.setX((int)newX);
+        if (!checkCollision(player.getX() + stepX, player.getY())) {
+            player.setX(player.getX() + stepX);
         } else {
             // collision => zero or invert velocityX
             // Easiest is to just set velocityX to 0
             player.accelerateX(-player.getVelocityX());
+            subX = 0f;
         }
 
         // 4b. Check collision vertically
-        if (!checkCollision(player.getX(), (int)newY)) {
-            player.setY((int)newY);
+        if (!checkCollision(player.getX(), player.getY() + stepY)) {
+            player.setY(player.getY() + stepY);
         } else {
             // collision => zero out velocityY
             player.accelerateY(-player.getVelocityY());
+            subY = 0f;
         }
 
         // 5. Are we walking (i.e., is velocity significant)?
@@ -116,13 +124,13 @@ public class PlayerController extends EntityController<Player> {
         // Update cloak effect
         if (player.isCloakActive()) {
             if (alphaIncreasing) {
-                cloakAlpha += ALPHA_STEP;
+                cloakAlpha += ALPHA_STEP * tickScale;
                 if (cloakAlpha >= ALPHA_MAX) {
                     cloakAlpha = ALPHA_MAX;
                     alphaIncreasing = false;
                 }
             } else {
-                cloakAlpha -= ALPHA_STEP;
+                cloakAlpha -= ALPHA_STEP * tickScale;
                 if (cloakAlpha <= ALPHA_MIN) {
                     cloakAlpha = ALPHA_MIN;
                     alphaIncreasing = true;
@@ -141,7 +149,7 @@ public class PlayerController extends EntityController<Player> {
         if (player.isWalking()) {
             frameCounter++;
             if (frameCounter >= frameDelay) {
-                currentFrame = (currentFrame + 1) % walkImages.size();
+                currentFrame = (currentFrame + 1) % WALK_SPRITES.length;
                 frameCounter = 0;
             }
         } else {
@@ -151,17 +159,43 @@ public class PlayerController extends EntityController<Player> {
 
     @Override
     public void draw(Graphics2D g2) {
-        BufferedImage currentImage = player.isWalking() ? walkImages.get(currentFrame) : standImage;
+        draw(g2, snapshot(), 1f, null);
+    }
+
+    /**
+     * Copies what is needed to draw the player this tick.
+     */
+    public RenderSnapshot.PlayerSprite snapshot() {
+        String sprite = player.isWalking() ? WALK_SPRITES[currentFrame] : STAND_SPRITE;
+        if (isFacingLeft) {
+            sprite += ResourceManager.FLIPPED_SUFFIX;
+        }
+        RenderSnapshot.Sprite view = new RenderSnapshot.Sprite(sprite, "PLAYER",
+                player.getPrevX(), player.getPrevY(), player.getX(), player.getY());
+        return new RenderSnapshot.PlayerSprite(view, player.isCloakActive(), cloakAlpha);
+    }
 
-        int x = player.getX();
-        int y = player.getY();
+    /**
+     * Draws the player from a snapshot, interpolated between the last two ticks.
+     *
+     * @param alpha   fraction of a tick elapsed since the last update, in [0, 1].
+     * @param visible the visible world rectangle, or null to always draw.
+     */
+    public static void draw(Graphics2D g2, RenderSnapshot.PlayerSprite view, float alpha, Rectangle visible) {
+        int x = view.sprite().renderX(alpha);
+        int y = view.sprite().renderY(alpha);
         int width = GameConfig.TILE_SIZE;
         int height = GameConfig.TILE_SIZE;
 
+        // The cloak glow reaches a quarter tile past the sprite
+        if (!Camera.isVisible(visible, x - width / 4, y - height / 4, width * 3 / 2, height * 3 / 2)) {
+            return;
+        }
+
         // Save the original composite
         Composite originalComposite = g2.getComposite();
 
-        if (player.isCloakActive()) {
+        if (view.cloakActive()) {
             // Draw glow effect
             Color glowColor = new Color(135, 206, 250, 100); // Light blue, semi-transparent
             Color transparentColor = new Color(135, 206, 250, 0);
@@ -176,16 +210,12 @@ public class PlayerController extends EntityController<Player> {
             g2.fillOval(x - width/4, y - height/4, width * 3/2, height * 3/2);
 
             // Set player transparency with pulsing effect
-            AlphaComposite alphaComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, cloakAlpha);
+            AlphaComposite alphaComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, view.cloakAlpha());
             g2.setComposite(alphaComposite);
         }
 
-        // Flip horizontally if facing left
-        if (isFacingLeft) {
-            g2.drawImage(currentImage, x + width, y, -width, height, null);
-        } else {
-            g2.drawImage(currentImage, x, y, width, height, null);
-        }
+        // Already scaled to TILE_SIZE and flipped for the facing direction
+        ResourceManager.drawSprite(g2, view.sprite().sprite(), x, y);
 
         // Restore the original composite
         g2.setComposite(originalComposite);
@@ -198,8 +228,12 @@ public class PlayerController extends EntityController<Player> {
     public void setLocation(int x, int y) {
         player.setX(x);
         player.setY(y);
+        // Don't interpolate across a teleport
+        player.storePreviousPosition();
         // Reset velocity so we don't slide after forced placement
         player.accelerateX(-player.getVelocityX());
         player.accelerateY(-player.getVelocityY());
+        subX = 0f;
+        subY = 0f;
     }
 }
\ No newline at end of file
@@ -1,25 +1,65 @@
 package tr.edu.ku.comp302.domain.controllers;
 
+import tr.edu.ku.comp302.config.GameConfig;
+
 import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Loads and caches images from /assets so we don't read from disk each frame.
  *
  * 1) Call ResourceManager.init() once, near game startup (e.g., in Main).
  * 2) Use ResourceManager.getImage("someKey") in your controllers/draw methods.
+ *    For sprites drawn every frame, use drawSprite(g2, "someKey", x, y): they are
+ *    pre-scaled to TILE_SIZE and packed into a texture atlas, so each draw is a plain
+ *    blit out of one shared sheet. getScaledImage(...) covers any other size.
  */
 public class ResourceManager {
 
     private static final Map<String, BufferedImage> imageCache = new HashMap<>();
 
+    /**
+     * Key for a derived sprite: an asset drawn at a fixed size and orientation.
+     */
+    private record SpriteKey(String asset, int width, int height, boolean flippedHorizontally) { }
+
+    // Derived sprites are requested from both the game thread and the EDT
+    private static final Map<SpriteKey, BufferedImage> scaledCache = new ConcurrentHashMap<>();
+
+    // Atlas sprite names: the asset key at TILE_SIZE, plus these suffixes for variants
+    public static final String FLIPPED_SUFFIX = "_left";  // mirrored, for facing left
+    public static final String TALL_SUFFIX = "_tall";     // 1 x 1.5 tiles, for tall objects
+
+    private static final int ATLAS_SHEET_SIZE = 1024;
+
+    // Assets drawn every frame at TILE_SIZE
+    private static final String[] SPRITE_KEYS = {
+        "box", "chest_closed", "column_wall", "skull", "boxes_stacked",
+        "enchantment_extratime", "enchantment_heart", "enchantment_reveal",
+        "enchantment_cloak", "enchantment_gem", "rune", "thrown_enchantment_gem",
+        "npc_fighter", "npc_archer", "npc_wizard",
+        "player_walk_1", "player_walk_2", "player_stand"
+    };
+    private static final String[] FLIPPED_SPRITE_KEYS = { "player_walk_1", "player_walk_2", "player_stand" };
+    private static final String[] TALL_SPRITE_KEYS = { "column_wall", "boxes_stacked" };
+
+    private static volatile TextureAtlas atlas;
+
     /**
      * Load all images you might need during the game. Call once.
      */
     public static void init() {
+        scaledCache.clear();
+
         // Example: load object images
         loadImage("box",               "/assets/box.png");
         loadImage("chest_closed",      "/assets/chest_closed.png");
@@ -68,6 +108,44 @@ public class ResourceManager {
         loadImage("wall_flag_yellow",  "/assets/wall_flag_yellow.png");
         loadImage("transparent_tile",  "/assets/transparent_tile.png");
         // ...
+
+        buildAtlas();
+    }
+
+    /**
+     * Draws a sprite from the atlas with its top-left corner at (x, y).
+     * Names are asset keys, optionally followed by FLIPPED_SUFFIX or TALL_SUFFIX.
+     *
+     * @return false if the sprite is unknown or init() has not run.
+     */
+    public static boolean drawSprite(Graphics2D g2, String name, int x, int y) {
+        TextureAtlas current = atlas;
+        return current != null && current.draw(g2, name, x, y);
+    }
+
+    /**
+     * Packs the per-frame sprites, already scaled and flipped, into the atlas.
+     */
+    private static void buildAtlas() {
+        int size = GameConfig.TILE_SIZE;
+        Map<String, BufferedImage> sprites = new LinkedHashMap<>();
+        for (String key : SPRITE_KEYS) {
+            addSprite(sprites, key, getScaledImage(key, size, size));
+        }
+        for (String key : FLIPPED_SPRITE_KEYS) {
+            addSprite(sprites, key + FLIPPED_SUFFIX, getScaledImage(key, size, size, true));
+        }
+        for (String key : TALL_SPRITE_KEYS) {
+            addSprite(sprites, key + TALL_SUFFIX, getScaledImage(key, size, size + size / 2));
+        }
+        atlas = TextureAtlas.pack(sprites, ATLAS_SHEET_SIZE);
+    }
+
+    private static void addSprite(Map<String, BufferedImage> sprites, String name, BufferedImage image) {
+        // Missing assets were already reported by loadImage
+        if (image != null) {
+            sprites.put(name, image);
+        }
     }
 
     /**
@@ -77,6 +155,56 @@ public class ResourceManager {
         return imageCache.get(key);
     }
 
+    /**
+     * Returns the image for key scaled to width x height, or null if the key is unknown.
+     * The result is cached and, when a display is available, stored in the screen's
+     * native pixel format so it can be blitted without conversion.
+     */
+    public static BufferedImage getScaledImage(String key, int width, int height) {
+        return getScaledImage(key, width, height, false);
+    }
+
+    /**
+     * Same as getScaledImage(key, width, height), optionally mirrored left-to-right.
+     */
+    public static BufferedImage getScaledImage(String key, int width, int height, boolean flippedHorizontally) {
+        BufferedImage source = imageCache.get(key);
+        if (source == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        SpriteKey spriteKey = new SpriteKey(key, width, height, flippedHorizontally);
+        return scaledCache.computeIfAbsent(spriteKey, k -> createScaledImage(source, k));
+    }
+
+    private static BufferedImage createScaledImage(BufferedImage source, SpriteKey key) {
+        BufferedImage scaled = createCompatibleImage(key.width(), key.height());
+        Graphics2D g2 = scaled.createGraphics();
+        try {
+            // Default hints keep nearest-neighbour scaling, same as the old per-frame draws
+            if (key.flippedHorizontally()) {
+                g2.drawImage(source, key.width(), 0, -key.width(), key.height(), null);
+            } else {
+                g2.drawImage(source, 0, 0, key.width(), key.height(), null);
+            }
+        } finally {
+            g2.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Creates a translucent image in the screen's native pixel layout when a
+     * display is available, so blitting it needs no format conversion.
+     */
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
     /**
      * Private helper to load and store an image in our cache.
      */
@@ -0,0 +1,116 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.models.GameClock;
+import tr.edu.ku.comp302.domain.models.HallType;
+import tr.edu.ku.comp302.domain.models.Player;
+
+/**
+ * Runs one hall of the game without a display.
+ *
+ * The same PlayModeController logic used by the game window is stepped directly:
+ * every step() is one game tick on the controller's GameClock, and every TICK_RATE
+ * steps the countdown, monster spawns and enchantment spawns advance by one game
+ * second. Nothing waits on the wall clock, so a run goes as fast as the CPU allows.
+ * Intended for soak testing and balancing; see HeadlessMain.
+ */
+public class SimulationEngine implements PlayModeListener {
+
+    public enum Outcome { RUNNING, HALL_COMPLETED, OUT_OF_LIVES, TIME_UP }
+
+    /**
+     * Summary of a finished (or interrupted) run.
+     */
+    public record Result(HallType hall, Outcome outcome, long ticks, int gameSeconds,
+                         int livesLeft, int timeRemaining, int monstersAlive) { }
+
+    /**
+     * Drives the simulated hero: called before every tick with the tick number.
+     */
+    public interface InputDriver {
+        void apply(long tick, KeyHandler keys);
+    }
+
+    private final KeyHandler keyHandler;
+    private final PlayModeController playModeController;
+    private final HallType hallType;
+
+    private InputDriver inputDriver = (tick, keys) -> { };
+    private Outcome outcome = Outcome.RUNNING;
+
+    /**
+     * @param jsonData the hall layouts, as exported by Build Mode (may be null for empty halls).
+     * @param hallType the hall to play.
+     */
+    public SimulationEngine(String jsonData, HallType hallType) {
+        this(jsonData, hallType, GameConfig.NUM_HALL_COLS, GameConfig.NUM_HALL_ROWS);
+    }
+
+    /**
+     * @param hallCols width of the hall in tiles.
+     * @param hallRows height of the hall in tiles.
+     */
+    public SimulationEngine(String jsonData, HallType hallType, int hallCols, int hallRows) {
+        this.hallType = hallType;
+        this.keyHandler = new KeyHandler();
+
+        Player player = new Player(0, 0, GameConfig.PLAYER_SPEED);
+        this.playModeController = new PlayModeController(keyHandler, new MouseHandler(), jsonData, hallType, player, hallCols, hallRows);
+        this.playModeController.setPlayModeListener(this);
+        this.playModeController.startTimerForNewGame(time -> { }, () -> outcome = Outcome.TIME_UP);
+    }
+
+    public void setInputDriver(InputDriver inputDriver) {
+        this.inputDriver = inputDriver;
+    }
+
+    /**
+     * Simulates one game tick.
+     *
+     * @return false once the run is over; further calls do nothing.
+     */
+    public boolean step() {
+        if (outcome != Outcome.RUNNING) {
+            return false;
+        }
+        inputDriver.apply(getClock().getTicks(), keyHandler);
+        playModeController.update();
+        return outcome == Outcome.RUNNING;
+    }
+
+    /**
+     * Steps until the hall ends or maxTicks ticks have been simulated.
+     */
+    public Result run(long maxTicks) {
+        for (long i = 0; i < maxTicks && step(); i++) {
+            // step() does all the work
+        }
+        return getResult();
+    }
+
+    public Result getResult() {
+        Player player = playModeController.getPlayerController().getEntity();
+        return new Result(hallType, outcome, getClock().getTicks(), playModeController.getTimePassed(),
+                player.getLives(), playModeController.getTimeRemaining(),
+                playModeController.getMonsterController().getMonsters().size());
+    }
+
+    public GameClock getClock() {
+        return playModeController.getClock();
+    }
+
+    public PlayModeController getPlayModeController() {
+        return playModeController;
+    }
+
+    @Override
+    public void onHallCompleted(HallType completedHall) {
+        outcome = Outcome.HALL_COMPLETED;
+    }
+
+    @Override
+    public void onGameOver(String message) {
+        // Running out of time is reported through the timer's onTimeUp instead
+        outcome = Outcome.OUT_OF_LIVES;
+    }
+}
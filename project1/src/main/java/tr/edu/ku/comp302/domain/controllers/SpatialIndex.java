@@ -0,0 +1,241 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where the monsters, enchantments and build objects of a hall are, bucketed by
+ * grid cell, so "what is under this click" or "is anything on this tile" only
+ * looks at a few cells instead of every entity.
+ *
+ * Each entity is stored with the pixel position of its top-left corner and takes
+ * up one cellSize x cellSize box, like everything drawn on the tile grid. It is
+ * filed under the cell that holds its corner. Entities of every kind share one
+ * index; queries name the kind they want.
+ *
+ * Only the game thread uses it.
+ */
+public class SpatialIndex {
+
+    /**
+     * Told when a cell gains its first entity or loses its last one.
+     */
+    public interface OccupancyListener {
+        void occupancyChanged(int col, int row, boolean occupied);
+    }
+
+    private static final class Entry {
+        final Object item;
+        int x, y;
+        long cell;
+
+        Entry(Object item) {
+            this.item = item;
+        }
+    }
+
+    private final int cellSize;
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final Map<Object, Entry> entries = new IdentityHashMap<>();
+    private OccupancyListener occupancyListener;
+
+    public SpatialIndex(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds the entity at (x, y), or moves it there if it is already indexed.
+     *
+     * @modifies this
+     * @effects item is filed under the cell holding (x, y).
+     */
+    public void put(Object item, int x, int y) {
+        long cell = cellKey(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+        Entry entry = entries.get(item);
+        if (entry == null) {
+            entry = new Entry(item);
+            entries.put(item, entry);
+        } else if (entry.cell != cell) {
+            removeFromCell(entry);
+        } else {
+            // Same cell: just remember the new position
+            entry.x = x;
+            entry.y = y;
+            return;
+        }
+        entry.x = x;
+        entry.y = y;
+        entry.cell = cell;
+        List<Entry> bucket = cells.get(cell);
+        if (bucket == null) {
+            bucket = new ArrayList<>(2);
+            cells.put(cell, bucket);
+            notifyOccupancy(cell, true);
+        }
+        bucket.add(entry);
+    }
+
+    /**
+     * Sets the listener (or null) and tells it about every cell that is
+     * occupied right now.
+     */
+    public void setOccupancyListener(OccupancyListener listener) {
+        this.occupancyListener = listener;
+        for (Long cell : cells.keySet()) {
+            notifyOccupancy(cell, true);
+        }
+    }
+
+    /**
+     * @return true if item was indexed.
+     */
+    public boolean remove(Object item) {
+        Entry entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        removeFromCell(entry);
+        return true;
+    }
+
+    /**
+     * Removes every entity of the given kind.
+     */
+    public void removeAll(Class<?> kind) {
+        List<Object> doomed = new ArrayList<>();
+        for (Object item : entries.keySet()) {
+            if (kind.isInstance(item)) {
+                doomed.add(item);
+            }
+        }
+        for (Object item : doomed) {
+            remove(item);
+        }
+    }
+
+    public void clear() {
+        if (occupancyListener != null) {
+            for (Long cell : cells.keySet()) {
+                notifyOccupancy(cell, false);
+            }
+        }
+        cells.clear();
+        entries.clear();
+    }
+
+    public boolean contains(Object item) {
+        return entries.containsKey(item);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return an entity of the given kind whose corner lies in cell (col, row), or null.
+     */
+    public <T> T firstInCell(Class<T> kind, int col, int row) {
+        List<Entry> bucket = cells.get(cellKey(col, row));
+        if (bucket != null) {
+            for (Entry e : bucket) {
+                if (kind.isInstance(e.item)) {
+                    return kind.cast(e.item);
+                }
+            }
+        }
+        return null;
+    }
+
+    public boolean isOccupied(Class<?> kind, int col, int row) {
+        return firstInCell(kind, col, row) != null;
+    }
+
+    /**
+     * @return an entity of the given kind whose box contains the pixel (px, py), or null.
+     */
+    public <T> T findAt(Class<T> kind, int px, int py) {
+        List<T> found = findAllAt(kind, px, py);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * @return every entity of the given kind whose box contains the pixel (px, py).
+     */
+    public <T> List<T> findAllAt(Class<T> kind, int px, int py) {
+        List<T> found = new ArrayList<>(1);
+        int col = Math.floorDiv(px, cellSize);
+        int row = Math.floorDiv(py, cellSize);
+        // A box reaching (px, py) has its corner in this cell or the ones above and to the left
+        for (int r = row - 1; r <= row; r++) {
+            for (int c = col - 1; c <= col; c++) {
+                List<Entry> bucket = cells.get(cellKey(c, r));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Entry e : bucket) {
+                    if (kind.isInstance(e.item)
+                            && px >= e.x && px < e.x + cellSize
+                            && py >= e.y && py < e.y + cellSize) {
+                        found.add(kind.cast(e.item));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return every entity of the given kind whose corner is within radius pixels
+     *         of (px, py).
+     */
+    public <T> List<T> findWithin(Class<T> kind, int px, int py, int radius) {
+        List<T> found = new ArrayList<>();
+        long radiusSq = (long) radius * radius;
+        int firstCol = Math.floorDiv(px - radius, cellSize), lastCol = Math.floorDiv(px + radius, cellSize);
+        int firstRow = Math.floorDiv(py - radius, cellSize), lastRow = Math.floorDiv(py + radius, cellSize);
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstCol; c <= lastCol; c++) {
+                List<Entry> bucket = cells.get(cellKey(c, r));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Entry e : bucket) {
+                    long dx = e.x - px, dy = e.y - py;
+                    if (kind.isInstance(e.item) && dx * dx + dy * dy <= radiusSq) {
+                        found.add(kind.cast(e.item));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private void removeFromCell(Entry entry) {
+        List<Entry> bucket = cells.get(entry.cell);
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            cells.remove(entry.cell);
+            notifyOccupancy(entry.cell, false);
+        }
+    }
+
+    private void notifyOccupancy(long cell, boolean occupied) {
+        if (occupancyListener != null) {
+            occupancyListener.occupancyChanged((int) (cell >> 32), (int) cell, occupied);
+        }
+    }
+
+    private static long cellKey(int col, int row) {
+        return ((long) col << 32) | (row & 0xFFFFFFFFL);
+    }
+}
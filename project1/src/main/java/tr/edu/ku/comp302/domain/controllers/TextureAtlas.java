@@ -0,0 +1,154 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A few large sprite sheets with named sub-regions.
+ *
+ * Drawing many sprites out of one sheet lets Java2D keep a single accelerated
+ * surface for all of them, instead of caching (and switching between) one
+ * surface per small image.
+ *
+ * Sprites are packed with a simple shelf packer: tallest first, left to right,
+ * starting a new shelf when a row is full and a new sheet when a sheet is full.
+ */
+public class TextureAtlas {
+
+    /**
+     * Where a sprite lives: sheet index and pixel rectangle inside that sheet.
+     */
+    public record Region(int sheet, int x, int y, int width, int height) { }
+
+    // Empty pixels kept around every sprite so filtered draws never sample a neighbour
+    private static final int PADDING = 1;
+
+    private final List<BufferedImage> sheets;
+    private final Map<String, Region> regions;
+
+    private TextureAtlas(List<BufferedImage> sheets, Map<String, Region> regions) {
+        this.sheets = sheets;
+        this.regions = regions;
+    }
+
+    /**
+     * Packs the given sprites into sheets of at most sheetSize x sheetSize pixels.
+     *
+     * @requires sprites is not null and contains no null images; sheetSize > 0.
+     * @effects Returns an atlas with one region per entry of sprites, named by its key.
+     *          Throws IllegalArgumentException if a sprite does not fit in a single sheet.
+     */
+    public static TextureAtlas pack(Map<String, BufferedImage> sprites, int sheetSize) {
+        List<String> names = new ArrayList<>(sprites.keySet());
+        names.sort(Comparator
+                .comparingInt((String n) -> sprites.get(n).getHeight()).reversed()
+                .thenComparing(n -> -sprites.get(n).getWidth())
+                .thenComparing(Comparator.naturalOrder()));
+
+        Map<String, Region> regions = new HashMap<>();
+        List<Integer> sheetHeights = new ArrayList<>();
+        List<Integer> sheetWidths = new ArrayList<>();
+
+        int sheet = 0;
+        int cursorX = 0;
+        int cursorY = 0;
+        int shelfHeight = 0;
+        int usedWidth = 0;
+
+        for (String name : names) {
+            BufferedImage sprite = sprites.get(name);
+            int w = sprite.getWidth() + 2 * PADDING;
+            int h = sprite.getHeight() + 2 * PADDING;
+            if (w > sheetSize || h > sheetSize) {
+                throw new IllegalArgumentException("Sprite '" + name + "' (" + sprite.getWidth() + "x"
+                        + sprite.getHeight() + ") does not fit in a " + sheetSize + "px sheet");
+            }
+
+            if (cursorX + w > sheetSize) {
+                // Row full: open a new shelf below the current one
+                cursorX = 0;
+                cursorY += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (cursorY + h > sheetSize) {
+                // Sheet full: close it and start the next one
+                sheetWidths.add(usedWidth);
+                sheetHeights.add(cursorY);
+                sheet++;
+                cursorX = 0;
+                cursorY = 0;
+                shelfHeight = 0;
+                usedWidth = 0;
+            }
+
+            regions.put(name, new Region(sheet, cursorX + PADDING, cursorY + PADDING,
+                    sprite.getWidth(), sprite.getHeight()));
+            cursorX += w;
+            shelfHeight = Math.max(shelfHeight, h);
+            usedWidth = Math.max(usedWidth, cursorX);
+        }
+        if (!names.isEmpty()) {
+            sheetWidths.add(usedWidth);
+            sheetHeights.add(cursorY + shelfHeight);
+        }
+
+        // Sheets are trimmed to the area actually used
+        List<BufferedImage> sheets = new ArrayList<>();
+        List<Graphics2D> graphics = new ArrayList<>();
+        for (int i = 0; i < sheetWidths.size(); i++) {
+            BufferedImage image = ResourceManager.createCompatibleImage(sheetWidths.get(i), sheetHeights.get(i));
+            sheets.add(image);
+            graphics.add(image.createGraphics());
+        }
+        try {
+            for (String name : names) {
+                Region r = regions.get(name);
+                graphics.get(r.sheet()).drawImage(sprites.get(name), r.x(), r.y(), null);
+            }
+        } finally {
+            for (Graphics2D g : graphics) {
+                g.dispose();
+            }
+        }
+
+        return new TextureAtlas(Collections.unmodifiableList(sheets), Collections.unmodifiableMap(regions));
+    }
+
+    /**
+     * Draws the named sprite with its top-left corner at (x, y), unscaled.
+     *
+     * @return false if there is no sprite with that name.
+     */
+    public boolean draw(Graphics2D g2, String name, int x, int y) {
+        Region r = regions.get(name);
+        if (r == null) {
+            return false;
+        }
+        g2.drawImage(sheets.get(r.sheet()),
+                x, y, x + r.width(), y + r.height(),
+                r.x(), r.y(), r.x() + r.width(), r.y() + r.height(),
+                null);
+        return true;
+    }
+
+    /**
+     * Returns the region for name, or null if there is no such sprite.
+     */
+    public Region getRegion(String name) {
+        return regions.get(name);
+    }
+
+    public BufferedImage getSheet(int index) {
+        return sheets.get(index);
+    }
+
+    public int getSheetCount() {
+        return sheets.size();
+    }
+}
@@ -1,14 +1,18 @@
 package tr.edu.ku.comp302.domain.controllers;
 
 import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.models.HallLayout;
 import tr.edu.ku.comp302.domain.models.HallType;
 import tr.edu.ku.comp302.domain.models.Tile;
 import tr.edu.ku.comp302.domain.models.TileData;
-import tr.edu.ku.comp302.domain.controllers.ResourceManager;
+import tr.edu.ku.comp302.domain.models.TileGrid;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * Manages a 2D grid of Tiles for drawing and collisions,
@@ -18,235 +22,166 @@ public class TilesController implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    // The actual Tile objects with images—transient so we don't try to serialize large images
-    private transient Tile[][] tileGrid;
+    /**
+     * Told when tiles change at runtime: one cell at a time, or all of them when
+     * the grid is loaded or replaced.
+     */
+    public interface TileChangeListener {
+        void tileChanged(int col, int row);
 
-    // A parallel 2D array that stores tile "type" + collidable info, which is serializable
-    private TileData[][] tileDataGrid;
+        void tilesReset();
+    }
 
-    private final int tileSize = GameConfig.TILE_SIZE;
+    // Tile types of every cell, palette-encoded; this is what gets serialized
+    private TileGrid tileGrid;
 
-    // Full “screen” dimension in tiles
-    private final int maxRows = GameConfig.RES_VERTICAL / tileSize;
-    private final int maxCols = GameConfig.RES_HORIZONTAL / tileSize;
+    // One shared Tile (with its image) per palette entry, indexed like the palette.
+    // Transient so we don't try to serialize large images.
+    private transient Tile[] paletteTiles;
 
-    // The "cage" or "hall" dimension
-    private final int kafesRows = GameConfig.NUM_HALL_ROWS;
-    private final int kafesCols = GameConfig.NUM_HALL_COLS;
+    private final int tileSize = GameConfig.TILE_SIZE;
 
     // Starting offset for the hall
     private final int startingX = GameConfig.KAFES_STARTING_X;
     private final int startingY = GameConfig.KAFES_STARTING_Y;
 
-    // A special tile for things like "transparent collidable"
-    private transient Tile transparentCollidableTile;
+    // The "cage" or "hall" dimension
+    private final int kafesRows;
+    private final int kafesCols;
+
+    // World dimension in tiles: at least the screen, or the hall plus a border of
+    // floor when the hall is larger than the screen
+    private final int maxRows;
+    private final int maxCols;
+
+    // Above this many pixels the world is not pre-composited into one image;
+    // visible cells are drawn one by one instead
+    private static final long MAX_LAYER_PIXELS = 4_000_000L;
+
+    // Box and segment queries over the collision bits kept in tileGrid's chunks
+    private transient CollisionMap collisionMap;
+
+    // Palette indices of the types that change at runtime
+    private transient int transparentType;
+    private transient int floorType;
+
+    // Pre-composited images of the grid, already scaled to tileSize.
+    // backgroundLayer holds every cell; innerBottomLayer holds the two bottom rows
+    // inside the cage that are drawn again on top of the entities.
+    private transient BufferedImage backgroundLayer;
+    private transient BufferedImage innerBottomLayer;
+
+    // Cells whose tile changed since the layers were last updated (row * maxCols + col).
+    // Tiles change on the game thread while drawing may happen on the EDT, hence the lock.
+    // Not final, since readObject has to make it again.
+    private transient Object dirtyLock = new Object();
+    private transient int[] dirtyCells = new int[16];
+    private transient int dirtyCount = 0;
+    private transient boolean[] dirtyFlags;
+
+    private transient TileChangeListener tileChangeListener;
+
+    // Bumped on every tile change, so derived data (paths, flow fields) can tell it is stale
+    private transient int tileVersion;
 
     /**
-     * Constructor initializes the 2D arrays for tile info.
+     * Constructor initializes the tile grid for a hall of the default size.
      */
     public TilesController() {
-        // We'll create the arrays here
-        tileGrid = new Tile[maxRows][maxCols];
-        tileDataGrid = new TileData[maxRows][maxCols];
+        this(GameConfig.NUM_HALL_COLS, GameConfig.NUM_HALL_ROWS);
     }
 
     /**
-     * Called after deserialization if we need to rebuild the tileGrid
-     * from tileDataGrid.
+     * Constructor initializes the tile grid for a hall of the given size in tiles.
+     * The hall may be larger than the screen; the camera then scrolls over it.
+     */
+    public TilesController(int hallCols, int hallRows) {
+        this.kafesCols = hallCols;
+        this.kafesRows = hallRows;
+        this.maxCols = Math.max(GameConfig.RES_HORIZONTAL / tileSize, startingX + hallCols + 1);
+        this.maxRows = Math.max(GameConfig.RES_VERTICAL / tileSize, startingY + hallRows + 1);
+        tileGrid = new TileGrid(maxCols, maxRows);
+        collisionMap = newCollisionMap();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // Field initializers do not run on deserialization; the rest is rebuilt by reinitTileGridFromData
+        dirtyLock = new Object();
+        dirtyCells = new int[16];
+    }
+
+    private CollisionMap newCollisionMap() {
+        // Reads the field, so it follows tileGrid when the grid is replaced
+        return new CollisionMap(maxCols, maxRows, tileSize, (row, word) -> tileGrid.collisionWord(row, word));
+    }
+
+    /**
+     * Called after deserialization or after replacing tileGrid: rebuilds the
+     * flyweight tiles, the collision map and the cached layers from tileGrid.
      */
     public void reinitTileGridFromData() {
-        // Re-create the transient tileGrid array
-        tileGrid = new Tile[maxRows][maxCols];
-
-        // Also re-create special references
-        BufferedImage transparentImage = ResourceManager.getImage("transparent_tile");
-        this.transparentCollidableTile = new Tile(transparentImage, true);
-
-        // For each TileData, pick the correct image from ResourceManager.
-        for (int row = 0; row < maxRows; row++) {
-            for (int col = 0; col < maxCols; col++) {
-                TileData td = tileDataGrid[row][col];
-                if (td == null) {
-                    // default to floor if missing
-                    BufferedImage floor = ResourceManager.getImage("floor_plain");
-                    tileGrid[row][col] = new Tile(floor, false);
-                    tileDataGrid[row][col] = new TileData("floor_plain", false);
-                } else {
-                    // pick the correct image
-                    BufferedImage img = pickImageByKey(td.getTileTypeKey());
-                    tileGrid[row][col] = new Tile(img, td.isCollidable());
-                }
-            }
+        // The types changed at runtime must be in the palette before we build it
+        transparentType = tileGrid.typeIndex("transparent_tile", true);
+        floorType = tileGrid.typeIndex("floor_plain", false);
+
+        // One Tile per type, not per cell, with its image already at tileSize
+        paletteTiles = new Tile[tileGrid.getPaletteSize()];
+        for (int i = 0; i < paletteTiles.length; i++) {
+            TileData type = tileGrid.getPaletteEntry(i);
+            BufferedImage image = ResourceManager.getScaledImage(pickAssetKey(type.getTileTypeKey()), tileSize, tileSize);
+            paletteTiles[i] = new Tile(image, type.isCollidable());
+        }
+
+        if (collisionMap == null) {
+            collisionMap = newCollisionMap(); // after deserialization
+        }
+        if (usesLayers()) {
+            rebuildLayers();
         }
+        tileVersion++;
+        if (tileChangeListener != null) {
+            tileChangeListener.tilesReset();
+        }
+    }
+
+    public void setTileChangeListener(TileChangeListener listener) {
+        this.tileChangeListener = listener;
     }
 
     /**
-     * Picks the correct image from ResourceManager by a known string key.
+     * A number that changes whenever any tile changes.
      */
-    private BufferedImage pickImageByKey(String key) {
+    public int getTileVersion() {
+        return tileVersion;
+    }
+
+    /**
+     * Picks the ResourceManager asset for a tile key.
+     */
+    private String pickAssetKey(String key) {
         // If we haven't assigned a key, assume floor
         if (key == null) {
-            return ResourceManager.getImage("floor_plain");
+            return "floor_plain";
         }
         // Otherwise, we rely on the same string that we used in loadTiles.
         // e.g. "floor_plain", "wall_outer_n", "transparent_tile", etc.
-        return ResourceManager.getImage(key);
+        if (key.startsWith("wall_flag_") && ResourceManager.getImage(key) == null) {
+            return "wall_center";
+        }
+        return key;
     }
 
     /**
      * Fills the entire tile grid with floor tiles, then places walls, borders, etc.
      */
     public void loadTiles(HallType hallType) {
-        // Create or re-create the in-memory tile arrays
-        tileGrid = new Tile[maxRows][maxCols];
-        tileDataGrid = new TileData[maxRows][maxCols];
-
-        // Basic images
-        BufferedImage floorImage         = ResourceManager.getImage("floor_plain");
-        BufferedImage wallOuterEast      = ResourceManager.getImage("wall_outer_e");
-        BufferedImage wallOuterWest      = ResourceManager.getImage("wall_outer_w");
-        BufferedImage wallOuterNorth     = ResourceManager.getImage("wall_outer_n");
-        BufferedImage wallOuterNorthWest = ResourceManager.getImage("wall_outer_nw");
-        BufferedImage wallOuterNorthEast = ResourceManager.getImage("wall_outer_ne");
-        BufferedImage wallOuterSouthWest = ResourceManager.getImage("wall_outer_sw");
-        BufferedImage wallOuterSouthEast = ResourceManager.getImage("wall_outer_se");
-        BufferedImage wallInnerNW        = ResourceManager.getImage("wall_inner_nw");
-        BufferedImage wallInnerNE        = ResourceManager.getImage("wall_inner_ne");
-        BufferedImage wallInnerSW        = ResourceManager.getImage("wall_inner_sw");
-        BufferedImage wallInnerSE        = ResourceManager.getImage("wall_inner_se");
-        BufferedImage wallInnerS         = ResourceManager.getImage("wall_outer_n"); // if you want an S tile
-        BufferedImage wallCenter         = ResourceManager.getImage("wall_center");
-        BufferedImage transparentImage   = ResourceManager.getImage("transparent_tile");
-
-        // For flags
-        BufferedImage flagImage;
-        switch (hallType) {
-            case EARTH -> flagImage = ResourceManager.getImage("wall_flag_green");
-            case WATER -> flagImage = ResourceManager.getImage("wall_flag_blue");
-            case FIRE -> flagImage = ResourceManager.getImage("wall_flag_red");
-            case AIR -> flagImage = ResourceManager.getImage("wall_flag_yellow");
-            default -> flagImage = ResourceManager.getImage("wall_center");
-        }
-
-        // Create special references
-        this.transparentCollidableTile = new Tile(transparentImage, true);
-
-        // We'll define some convenience wrappers:
-        Tile floorTile = new Tile(floorImage, false);
-        TileData floorTileData = new TileData("floor_plain", false);
-
-        // fill entire grid with floor
-        for (int row = 0; row < maxRows; row++) {
-            for (int col = 0; col < maxCols; col++) {
-                tileGrid[row][col] = floorTile;
-                tileDataGrid[row][col] = floorTileData;
-            }
-        }
-
-        // Now place the "cage" or "hall" walls
-        // We'll create some specialized tiles
-        Tile wallOuterWestTile  = new Tile(wallOuterWest, true);
-        TileData wallOuterWestData  = new TileData("wall_outer_w", true);
+        // Create or re-create the tile grid. Its cells are generated from the
+        // layout chunk by chunk, when they are first needed.
+        tileGrid = new TileGrid(maxCols, maxRows);
+        tileGrid.setLayout(new HallLayout(tileGrid, startingX, startingY, kafesCols, kafesRows, keyForFlag(hallType)));
 
-        Tile wallOuterEastTile  = new Tile(wallOuterEast, true);
-        TileData wallOuterEastData  = new TileData("wall_outer_e", true);
-
-        Tile wallOuterNorthTile = new Tile(wallOuterNorth, true);
-        TileData wallOuterNorthData = new TileData("wall_outer_n", true);
-
-        Tile wallOuterNWTile    = new Tile(wallOuterNorthWest, true);
-        TileData wallOuterNWData    = new TileData("wall_outer_nw", true);
-
-        Tile wallOuterNETile    = new Tile(wallOuterNorthEast, true);
-        TileData wallOuterNEData    = new TileData("wall_outer_ne", true);
-
-        Tile wallOuterSWTile    = new Tile(wallOuterSouthWest, true);
-        TileData wallOuterSWData    = new TileData("wall_outer_sw", true);
-
-        Tile wallOuterSETile    = new Tile(wallOuterSouthEast, true);
-        TileData wallOuterSEData    = new TileData("wall_outer_se", true);
-
-        Tile wallInnerNWTile = new Tile(wallInnerNW, true);
-        TileData wallInnerNWData = new TileData("wall_inner_nw", true);
-
-        Tile wallInnerNETile = new Tile(wallInnerNE, true);
-        TileData wallInnerNEData = new TileData("wall_inner_ne", true);
-
-        Tile wallInnerSWTile = new Tile(wallInnerSW, true);
-        TileData wallInnerSWData = new TileData("wall_inner_sw", true);
-
-        Tile wallInnerSETile = new Tile(wallInnerSE, true);
-        TileData wallInnerSEData = new TileData("wall_inner_se", true);
-
-        Tile wallInnerSTile  = new Tile(wallInnerS, false); // Not collidable
-        TileData wallInnerSData  = new TileData("wall_outer_n", false);
-
-        Tile wallCenterTile  = new Tile(wallCenter, true);
-        TileData wallCenterData  = new TileData("wall_center", true);
-
-        BufferedImage flg = (flagImage != null) ? flagImage : wallCenter;
-        Tile flagTile     = new Tile(flg, true);
-        TileData flagData = new TileData(keyForFlag(hallType), true);
-
-        // Fill the cage borders
-        for (int y = startingY; y < startingY + kafesRows; y++) {
-            for (int x = startingX; x < startingX + kafesCols; x++) {
-
-                // Top border
-                if (y == startingY) {
-                    tileGrid[y][x] = wallOuterNorthTile;
-                    tileDataGrid[y][x] = wallOuterNorthData;
-                }
-                if (y == startingY + 1) {
-                    tileGrid[y][x] = wallCenterTile;
-                    tileDataGrid[y][x] = wallCenterData;
-                }
-
-                // Bottom border
-                if (y == startingY + kafesRows - 1) {
-                    tileGrid[y][x] = wallCenterTile;
-                    tileDataGrid[y][x] = wallCenterData;
-                }
-                if (y == startingY + kafesRows - 2) {
-                    tileGrid[y][x] = wallInnerSTile;
-                    tileDataGrid[y][x] = wallInnerSData;
-                }
-
-                // Left border
-                if (x == startingX) {
-                    tileGrid[y][x] = wallOuterWestTile;
-                    tileDataGrid[y][x] = wallOuterWestData;
-                }
-                if (x == startingX && y == startingY) {
-                    tileGrid[y][x] = wallOuterNWTile;
-                    tileDataGrid[y][x] = wallOuterNWData;
-                }
-                if (x == startingX && y == startingY + kafesRows - 1) {
-                    tileGrid[y][x] = wallOuterSWTile;
-                    tileDataGrid[y][x] = wallOuterSWData;
-                }
-
-                // Right border
-                if (x == startingX + kafesCols - 1) {
-                    tileGrid[y][x] = wallOuterEastTile;
-                    tileDataGrid[y][x] = wallOuterEastData;
-                }
-                if (x == startingX + kafesCols - 1 && y == startingY) {
-                    tileGrid[y][x] = wallOuterNETile;
-                    tileDataGrid[y][x] = wallOuterNEData;
-                }
-                if (x == startingX + kafesCols - 1 && y == startingY + kafesRows - 1) {
-                    tileGrid[y][x] = wallOuterSETile;
-                    tileDataGrid[y][x] = wallOuterSEData;
-                }
-
-                // place a flag
-                if (x == (GameConfig.NUM_HALL_COLS * 3) / 4 && y == startingY + kafesRows - 1) {
-                    tileGrid[y][x] = flagTile;
-                    tileDataGrid[y][x] = flagData;
-                }
-            }
-        }
+        reinitTileGridFromData();
     }
 
     /**
@@ -267,20 +202,24 @@ public class TilesController implements Serializable {
      * or null if out of bounds.
      */
     public Tile getTileAt(int x, int y) {
-        if (x < 0 || x >= maxCols || y < 0 || y >= maxRows) {
+        if (x < 0 || x >= maxCols || y < 0 || y >= maxRows || paletteTiles == null) {
             return null;
         }
-        return tileGrid[y][x];
+        return paletteTiles[tileGrid.get(x, y)];
     }
 
     /**
      * Set a tile at x,y to be the "transparent collidable" tile
-     * for e.g. Archer or Wizard footprints. Also updates tileDataGrid.
+     * for e.g. Archer or Wizard footprints.
      */
     public void setTransparentTileAt(int x, int y) {
         if (x >= 0 && x < maxCols && y >= 0 && y < maxRows) {
-            tileGrid[y][x] = this.transparentCollidableTile;
-            tileDataGrid[y][x] = new TileData("transparent_tile", true);
+            tileGrid.set(x, y, transparentType);
+            markDirty(x, y);
+            tileVersion++;
+            if (tileChangeListener != null) {
+                tileChangeListener.tileChanged(x, y);
+            }
         }
     }
 
@@ -289,24 +228,79 @@ public class TilesController implements Serializable {
      */
     public void setFloorTileAt(int x, int y) {
         if (x >= 0 && x < maxCols && y >= 0 && y < maxRows) {
-            BufferedImage floorImage = ResourceManager.getImage("floor_plain");
-            tileGrid[y][x] = new Tile(floorImage, false);
-            tileDataGrid[y][x] = new TileData("floor_plain", false);
+            tileGrid.set(x, y, floorType);
+            markDirty(x, y);
+            tileVersion++;
+            if (tileChangeListener != null) {
+                tileChangeListener.tileChanged(x, y);
+            }
         }
     }
 
+    /**
+     * Whether anything collidable lies under the box of pixels
+     * [x, x + width) x [y, y + height). Cells off the grid are free.
+     */
+    public boolean isAreaBlocked(int x, int y, int width, int height) {
+        return collisionMap.isAreaBlocked(x, y, width, height);
+    }
+
+    /**
+     * Whether the segment between two pixel positions crosses a collidable cell.
+     */
+    public boolean isSegmentBlocked(int x0, int y0, int x1, int y1) {
+        return collisionMap.isSegmentBlocked(x0, y0, x1, y1);
+    }
+
+    public boolean isCollidableAt(int x, int y) {
+        return collisionMap.isBlocked(x, y);
+    }
+
+    /**
+     * The collision bits of 64 cells of a row, starting at column wordIndex * 64,
+     * as CollisionMap.Words gives them; for copying them out in bulk.
+     */
+    public long collisionWord(int row, int wordIndex) {
+        return tileGrid.collisionWord(row, wordIndex);
+    }
+
+    /**
+     * Loads the chunks around an area of the world (pixels) ahead of time, so
+     * walking into them does not stall, and keeps them from being evicted.
+     */
+    public void prefetch(int x, int y, int width, int height) {
+        int margin = TileGrid.CHUNK_SIZE;
+        tileGrid.touch(x / tileSize - margin, y / tileSize - margin,
+                (x + width) / tileSize + margin, (y + height) / tileSize + margin);
+    }
+
     /**
      * Draw the entire tile grid onto g2.
      */
     public void draw(Graphics2D g2) {
-        for (int row = 0; row < maxRows; row++) {
-            for (int col = 0; col < maxCols; col++) {
-                Tile tile = tileGrid[row][col];
-                if (tile != null && tile.image != null) {
-                    g2.drawImage(tile.image, col * tileSize, row * tileSize, tileSize, tileSize, null);
-                }
-            }
+        draw(g2, null);
+    }
+
+    /**
+     * Draw the part of the tile grid inside visible (world pixels; null for all).
+     * Small worlds are pre-composited, so this is one blit of the visible part plus
+     * a redraw of the cells that changed since the last frame. Worlds too large to
+     * cache draw only the visible cells.
+     */
+    public void draw(Graphics2D g2, Rectangle visible) {
+        Rectangle area = clipToWorld(visible);
+        if (area.isEmpty()) {
+            return;
+        }
+        if (!usesLayers()) {
+            drawCells(g2, area);
+            return;
+        }
+        if (backgroundLayer == null) {
+            rebuildLayers();
         }
+        flushDirtyCells();
+        blit(g2, backgroundLayer, 0, 0, area);
     }
 
     /**
@@ -314,38 +308,219 @@ public class TilesController implements Serializable {
      * behind certain objects, you can draw them last.
      */
     public void drawInnerBottom(Graphics2D g2) {
-        for (int y = 0; y < maxRows; y++) {
-            for (int x = 0; x < maxCols; x++) {
-                // e.g. re-draw the bottom row or second bottom row inside the cage
-                if ((y == startingY + kafesRows - 1 || y == startingY + kafesRows - 2)
-                    && x != startingX + kafesCols - 1 && x != startingX) {
-                    Tile tile = tileGrid[y][x];
-                    if (tile != null && tile.image != null) {
-                        g2.drawImage(tile.image, x * tileSize, y * tileSize, tileSize, tileSize, null);
-                    }
+        drawInnerBottom(g2, null);
+    }
+
+    public void drawInnerBottom(Graphics2D g2, Rectangle visible) {
+        Rectangle strip = new Rectangle(innerBottomLeft() * tileSize, innerBottomTop() * tileSize,
+                innerBottomCols() * tileSize, INNER_BOTTOM_ROWS * tileSize);
+        Rectangle area = strip.intersection(clipToWorld(visible));
+        if (area.isEmpty()) {
+            return;
+        }
+        if (!usesLayers()) {
+            drawCells(g2, area);
+            return;
+        }
+        if (innerBottomLayer == null) {
+            rebuildLayers();
+        }
+        flushDirtyCells();
+        blit(g2, innerBottomLayer, strip.x, strip.y, area);
+    }
+
+    /**
+     * Hall dimension in tiles, without the offset of the cage.
+     */
+    public int getHallCols() {
+        return kafesCols;
+    }
+
+    public int getHallRows() {
+        return kafesRows;
+    }
+
+    /**
+     * Size of the whole tile grid in pixels.
+     */
+    public int getWorldWidth() {
+        return maxCols * tileSize;
+    }
+
+    public int getWorldHeight() {
+        return maxRows * tileSize;
+    }
+
+    private Rectangle clipToWorld(Rectangle visible) {
+        Rectangle world = new Rectangle(0, 0, getWorldWidth(), getWorldHeight());
+        return (visible == null) ? world : world.intersection(visible);
+    }
+
+    /**
+     * Copies the part of layer that covers area (world pixels); the layer's
+     * top-left corner lies at (layerX, layerY) in the world.
+     */
+    private static void blit(Graphics2D g2, BufferedImage layer, int layerX, int layerY, Rectangle area) {
+        int sx = area.x - layerX;
+        int sy = area.y - layerY;
+        g2.drawImage(layer,
+                area.x, area.y, area.x + area.width, area.y + area.height,
+                sx, sy, sx + area.width, sy + area.height, null);
+    }
+
+    /**
+     * Draws every cell touching area straight from the flyweight tiles.
+     */
+    private void drawCells(Graphics2D g2, Rectangle area) {
+        if (paletteTiles == null) {
+            return;
+        }
+        int firstCol = area.x / tileSize;
+        int firstRow = area.y / tileSize;
+        int lastCol = Math.min((area.x + area.width - 1) / tileSize, maxCols - 1);
+        int lastRow = Math.min((area.y + area.height - 1) / tileSize, maxRows - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                BufferedImage image = paletteTiles[tileGrid.get(col, row)].image;
+                if (image != null) {
+                    g2.drawImage(image, col * tileSize, row * tileSize, null);
                 }
             }
         }
     }
 
+    private boolean usesLayers() {
+        return (long) getWorldWidth() * getWorldHeight() <= MAX_LAYER_PIXELS;
+    }
+
+    // ====================== Cached layers ======================
+
+    // The inner-bottom strip: the two bottom rows of the cage, without the side walls
+    private int innerBottomLeft()  { return startingX + 1; }
+    private int innerBottomTop()   { return startingY + kafesRows - 2; }
+    private int innerBottomCols()  { return kafesCols - 2; }
+    private static final int INNER_BOTTOM_ROWS = 2;
+
+    private boolean isInInnerBottom(int col, int row) {
+        return row >= innerBottomTop() && row < innerBottomTop() + INNER_BOTTOM_ROWS
+            && col >= innerBottomLeft() && col < innerBottomLeft() + innerBottomCols();
+    }
+
     /**
-     * Return the entire tileDataGrid so we can store it in GameState.
+     * Re-composites both cached layers from tileGrid and forgets pending dirty cells.
      */
-    public TileData[][] getTileDataGrid() {
-        return tileDataGrid;
+    private void rebuildLayers() {
+        if (backgroundLayer == null) {
+            backgroundLayer = ResourceManager.createCompatibleImage(maxCols * tileSize, maxRows * tileSize);
+            innerBottomLayer = ResourceManager.createCompatibleImage(innerBottomCols() * tileSize, INNER_BOTTOM_ROWS * tileSize);
+        }
+        synchronized (dirtyLock) {
+            dirtyCount = 0;
+            dirtyFlags = new boolean[maxRows * maxCols];
+        }
+
+        Graphics2D bg = backgroundLayer.createGraphics();
+        Graphics2D inner = innerBottomLayer.createGraphics();
+        try {
+            for (int row = 0; row < maxRows; row++) {
+                for (int col = 0; col < maxCols; col++) {
+                    paintCell(bg, inner, col, row);
+                }
+            }
+        } finally {
+            bg.dispose();
+            inner.dispose();
+        }
+    }
+
+    private void markDirty(int col, int row) {
+        synchronized (dirtyLock) {
+            if (dirtyFlags == null) {
+                return; // layers not built yet, the full build will pick this up
+            }
+            int index = row * maxCols + col;
+            if (dirtyFlags[index]) {
+                return;
+            }
+            dirtyFlags[index] = true;
+            if (dirtyCount == dirtyCells.length) {
+                dirtyCells = Arrays.copyOf(dirtyCells, dirtyCount * 2);
+            }
+            dirtyCells[dirtyCount++] = index;
+        }
     }
 
     /**
-     * Overwrite tileDataGrid from a loaded array, then re-build tileGrid with images.
+     * Repaints the cells changed since the last frame into the cached layers.
      */
-    public void setTileDataGrid(TileData[][] newData) {
-        // Just copy each cell
-        for (int row = 0; row < maxRows; row++) {
-            for (int col = 0; col < maxCols; col++) {
-                tileDataGrid[row][col] = newData[row][col];
+    private void flushDirtyCells() {
+        int[] pending;
+        int count;
+        synchronized (dirtyLock) {
+            if (dirtyCount == 0) {
+                return;
+            }
+            count = dirtyCount;
+            pending = Arrays.copyOf(dirtyCells, count);
+            for (int i = 0; i < count; i++) {
+                dirtyFlags[pending[i]] = false;
             }
+            dirtyCount = 0;
+        }
+
+        Graphics2D bg = backgroundLayer.createGraphics();
+        Graphics2D inner = innerBottomLayer.createGraphics();
+        try {
+            for (int i = 0; i < count; i++) {
+                paintCell(bg, inner, pending[i] % maxCols, pending[i] / maxCols);
+            }
+        } finally {
+            bg.dispose();
+            inner.dispose();
+        }
+    }
+
+    /**
+     * Clears one cell in the layers it belongs to and draws its current tile there.
+     */
+    private void paintCell(Graphics2D bg, Graphics2D inner, int col, int row) {
+        BufferedImage image = (paletteTiles != null) ? paletteTiles[tileGrid.get(col, row)].image : null;
+
+        paintCellInto(bg, image, col * tileSize, row * tileSize);
+        if (isInInnerBottom(col, row)) {
+            paintCellInto(inner, image,
+                    (col - innerBottomLeft()) * tileSize, (row - innerBottomTop()) * tileSize);
+        }
+    }
+
+    private void paintCellInto(Graphics2D g, BufferedImage image, int px, int py) {
+        // Transparent tiles must show what is behind the layer, not the previous tile
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(px, py, tileSize, tileSize);
+        g.setComposite(AlphaComposite.SrcOver);
+        if (image != null) {
+            g.drawImage(image, px, py, tileSize, tileSize, null);
+        }
+    }
+
+    /**
+     * Return the tile grid so we can store it in GameState.
+     * Callers that keep it should take a copy().
+     */
+    public TileGrid getTileGrid() {
+        return tileGrid;
+    }
+
+    /**
+     * Replace the tile grid with a copy of a loaded one, then rebuild everything
+     * derived from it.
+     */
+    public void setTileGrid(TileGrid loaded) {
+        if (loaded.getCols() != maxCols || loaded.getRows() != maxRows) {
+            throw new IllegalArgumentException("Tile grid is " + loaded.getCols() + "x" + loaded.getRows()
+                    + ", expected " + maxCols + "x" + maxRows);
         }
-        // Now rebuild tileGrid
+        tileGrid = loaded.copy();
         reinitTileGridFromData();
     }
-}
\ No newline at end of file
+}
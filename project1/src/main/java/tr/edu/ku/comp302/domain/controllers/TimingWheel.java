@@ -0,0 +1,160 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs tasks at a game time (in seconds), without looking at every pending
+ * task on every tick.
+ *
+ * Tasks hang in a ring of slots, by due time modulo the number of slots; each
+ * slot is a doubly linked list, so scheduling and cancelling are O(1).
+ * advanceTo() only visits the slots of the seconds that passed, and in each
+ * slot only runs the tasks that are due; later ones (due a whole turn of the
+ * ring or more ahead) stay for a later turn.
+ *
+ * Tasks run in due order, and in the order they were scheduled within a
+ * second; if time jumps by more than a whole turn the due order is only kept
+ * per slot. A task due at or before the current time runs at the next
+ * advanceTo(). Only the game thread uses it.
+ */
+public class TimingWheel {
+
+    /**
+     * A scheduled task, as returned by schedule().
+     */
+    public static final class Timer {
+        private final TimingWheel wheel;
+        private final int dueTime;
+        private Runnable task;
+        private Timer prev, next;
+        private int slot = -1; // -1 when not in the ring
+
+        private Timer(TimingWheel wheel, int dueTime, Runnable task) {
+            this.wheel = wheel;
+            this.dueTime = dueTime;
+            this.task = task;
+        }
+
+        public int getDueTime() {
+            return dueTime;
+        }
+
+        /**
+         * @return true until the task has run or been cancelled.
+         */
+        public boolean isPending() {
+            return task != null;
+        }
+
+        /**
+         * @effects the task will not run; does nothing if it already has.
+         */
+        public void cancel() {
+            if (slot >= 0) {
+                wheel.unlink(this);
+            }
+            task = null;
+        }
+    }
+
+    private final Timer[] heads;
+    private final Timer[] tails;
+    private final int mask;
+    private int now;
+    private int pending;
+    // The timers advanceTo() is about to run, kept to reuse its array
+    private final List<Timer> firing = new ArrayList<>();
+
+    /**
+     * @requires slots is a power of two
+     */
+    public TimingWheel(int slots, int startTime) {
+        if (slots <= 0 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("Slots must be a power of two: " + slots);
+        }
+        heads = new Timer[slots];
+        tails = new Timer[slots];
+        mask = slots - 1;
+        now = startTime;
+    }
+
+    /**
+     * @return a handle to cancel the task with.
+     */
+    public Timer schedule(int dueTime, Runnable task) {
+        Timer timer = new Timer(this, dueTime, task);
+        int slot = Math.max(dueTime, now + 1) & mask;
+        timer.slot = slot;
+        timer.prev = tails[slot];
+        if (tails[slot] == null) {
+            heads[slot] = timer;
+        } else {
+            tails[slot].next = timer;
+        }
+        tails[slot] = timer;
+        pending++;
+        return timer;
+    }
+
+    /**
+     * Runs every task due at or before time.
+     */
+    public void advanceTo(int time) {
+        if (time <= now) {
+            return;
+        }
+        int seconds = Math.min(time - now, heads.length);
+        for (int s = 1; s <= seconds; s++) {
+            Timer timer = heads[(now + s) & mask];
+            while (timer != null) {
+                Timer next = timer.next;
+                if (timer.dueTime <= time) {
+                    unlink(timer);
+                    firing.add(timer);
+                }
+                timer = next;
+            }
+        }
+        now = time;
+
+        // Run after collecting, so tasks may schedule and cancel freely
+        for (int i = 0; i < firing.size(); i++) {
+            Timer timer = firing.get(i);
+            Runnable task = timer.task;
+            if (task != null) {
+                timer.task = null;
+                task.run();
+            }
+        }
+        firing.clear();
+    }
+
+    public int getTime() {
+        return now;
+    }
+
+    /**
+     * How many tasks are waiting in the ring.
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    private void unlink(Timer timer) {
+        int slot = timer.slot;
+        if (timer.prev == null) {
+            heads[slot] = timer.next;
+        } else {
+            timer.prev.next = timer.next;
+        }
+        if (timer.next == null) {
+            tails[slot] = timer.prev;
+        } else {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = timer.next = null;
+        timer.slot = -1;
+        pending--;
+    }
+}
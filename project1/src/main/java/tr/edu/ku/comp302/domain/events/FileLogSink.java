@@ -0,0 +1,114 @@
+package tr.edu.ku.comp302.domain.events;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Appends events to a text file, one line each, from its own thread.
+ *
+ * accept() only puts the event in a ring buffer, so whoever calls it (the
+ * bus's dispatcher, when subscribed) never waits for the disk and other
+ * subscribers are not held up behind it; if the writer falls so far behind
+ * that the buffer is full, the event is dropped and counted rather than
+ * waited on. The writer flushes whenever it has caught up.
+ */
+public class FileLogSink implements Consumer<GameEvent>, AutoCloseable {
+
+    public static final int CAPACITY = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private record Entry(long nanoTime, GameEvent event) {
+    }
+
+    private final MpscRingBuffer<Entry> buffer = new MpscRingBuffer<>(CAPACITY);
+    private final BufferedWriter out;
+    private final Thread writer;
+    private final AtomicLong dropped = new AtomicLong();
+    // Lets log lines carry the wall clock without reading it per event
+    private final long startNanos = System.nanoTime();
+    private final LocalTime startTime = LocalTime.now();
+    private volatile boolean running = true;
+
+    public FileLogSink(Path file) throws IOException {
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writer = new Thread(this::writeLoop, "event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        if (!buffer.offer(new Entry(System.nanoTime(), event))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * How many events were dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes what is queued, then stops the writer and closes the file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        try (out) {
+            boolean pending = false;
+            while (true) {
+                Entry entry = buffer.poll();
+                if (entry != null) {
+                    write(entry);
+                    pending = true;
+                } else if (!running) {
+                    break;
+                } else {
+                    if (pending) {
+                        out.flush();
+                        pending = false;
+                    }
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+            long lost = dropped.get();
+            if (lost > 0) {
+                out.write("WARN " + lost + " events dropped, the log could not keep up");
+                out.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Event log stopped: " + e.getMessage());
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        LocalTime time = startTime.plusNanos(entry.nanoTime() - startNanos);
+        out.write(time.toString());
+        out.write(' ');
+        out.write(entry.event().level().name());
+        out.write(' ');
+        out.write(entry.event().describe());
+        out.newLine();
+    }
+}
@@ -0,0 +1,63 @@
+package tr.edu.ku.comp302.domain.events;
+
+import tr.edu.ku.comp302.domain.models.HallType;
+
+/**
+ * Something that happened in the game, published on a GameEventBus.
+ *
+ * Events are small immutable records. Each has a level, so subscribers can
+ * ask only for what they care about, and a one-line description for logs.
+ * Cells are hall-relative (0, 0 is the hall's top-left tile).
+ */
+public sealed interface GameEvent {
+
+    enum Level { DEBUG, INFO, WARN }
+
+    Level level();
+
+    String describe();
+
+    record MonsterSpawned(String monster, int col, int row) implements GameEvent {
+        public Level level() { return Level.INFO; }
+        public String describe() { return "Spawned " + monster + " at col=" + col + ", row=" + row; }
+    }
+
+    record PlayerDamaged(String source, int livesLeft) implements GameEvent {
+        public Level level() { return Level.INFO; }
+        public String describe() { return source + " hit the hero! Lives: " + livesLeft; }
+    }
+
+    record PlayerTeleported(int col, int row) implements GameEvent {
+        public Level level() { return Level.INFO; }
+        public String describe() { return "Wizard teleported the hero to col=" + col + ", row=" + row; }
+    }
+
+    record RuneTransferred(int fromCol, int fromRow, int toCol, int toRow) implements GameEvent {
+        public Level level() { return Level.INFO; }
+        public String describe() {
+            return "Rune moved from (" + fromCol + ", " + fromRow + ") to (" + toCol + ", " + toRow + ")";
+        }
+    }
+
+    record EnchantmentSpawned(String enchantment, int col, int row) implements GameEvent {
+        public Level level() { return Level.DEBUG; }
+        public String describe() { return "[Spawn] " + enchantment + " at col=" + col + ", row=" + row; }
+    }
+
+    record EnchantmentCollected(String enchantment) implements GameEvent {
+        public Level level() { return Level.INFO; }
+        public String describe() { return enchantment + " collected"; }
+    }
+
+    record HallCompleted(HallType hall) implements GameEvent {
+        public Level level() { return Level.INFO; }
+        public String describe() { return "Hall " + hall + " completed"; }
+    }
+
+    /**
+     * Anything else worth a log line.
+     */
+    record Message(Level level, String text) implements GameEvent {
+        public String describe() { return text; }
+    }
+}
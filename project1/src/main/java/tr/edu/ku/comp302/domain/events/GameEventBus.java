@@ -0,0 +1,165 @@
+package tr.edu.ku.comp302.domain.events;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Delivers GameEvents to the subscribers of their type, in the order they
+ * subscribed, from the bus's own dispatcher thread.
+ *
+ * publish() only puts the event in an MpscRingBuffer, so any number of threads
+ * may publish and none of them ever runs a subscriber or waits for one. If the
+ * dispatcher falls so far behind that the buffer is full, the event is dropped
+ * and counted rather than waited on. Events from one thread are delivered in
+ * the order it published them. flush() waits until what was published before
+ * it has been delivered.
+ *
+ * A subscriber also gives the lowest level it wants. isEnabled(level) is one
+ * field read, so a publisher can skip building an event nobody wants; publish()
+ * checks it too, so nothing is queued while nobody listens.
+ *
+ * The subscriber list is copied on change, so dispatching takes no lock. The
+ * dispatcher is a daemon thread, started by the first subscribe().
+ */
+public class GameEventBus {
+
+    public static final int CAPACITY = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long FLUSH_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final GameEventBus SHARED = new GameEventBus();
+
+    private record Subscription(Class<? extends GameEvent> type, GameEvent.Level level,
+                                Consumer<? super GameEvent> subscriber) {
+    }
+
+    private volatile Subscription[] subscriptions = new Subscription[0];
+    // Ordinal of the lowest level any subscriber wants; above every level when none
+    private volatile int lowestLevel = GameEvent.Level.values().length;
+
+    private final MpscRingBuffer<GameEvent> queue;
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // Only the dispatcher writes it
+    private volatile long delivered;
+    private Thread dispatcher;
+
+    public GameEventBus() {
+        this(CAPACITY);
+    }
+
+    /**
+     * @requires capacity is a power of two
+     */
+    GameEventBus(int capacity) {
+        queue = new MpscRingBuffer<>(capacity);
+    }
+
+    /**
+     * The bus the game publishes on.
+     */
+    public static GameEventBus get() {
+        return SHARED;
+    }
+
+    /**
+     * @effects subscriber gets every event of type (or a subtype) at level or
+     *          above, on the dispatcher thread.
+     */
+    public synchronized <T extends GameEvent> void subscribe(Class<T> type, GameEvent.Level level,
+                                                            Consumer<? super T> subscriber) {
+        @SuppressWarnings("unchecked")
+        Consumer<? super GameEvent> any = event -> subscriber.accept((T) event);
+        Subscription[] grown = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        grown[grown.length - 1] = new Subscription(type, level, any);
+        subscriptions = grown;
+        lowestLevel = Math.min(lowestLevel, level.ordinal());
+        if (dispatcher == null) {
+            dispatcher = new Thread(this::dispatchLoop, "event-bus");
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+    }
+
+    /**
+     * Removes every subscriber. Events still queued are delivered to nobody.
+     */
+    public synchronized void clear() {
+        subscriptions = new Subscription[0];
+        lowestLevel = GameEvent.Level.values().length;
+    }
+
+    public boolean isEnabled(GameEvent.Level level) {
+        return level.ordinal() >= lowestLevel;
+    }
+
+    public void publish(GameEvent event) {
+        if (!isEnabled(event.level())) {
+            return;
+        }
+        if (queue.offer(event)) {
+            queued.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until every event this thread published before the call, and every
+     * event other threads had finished publishing, has been delivered.
+     *
+     * @return false if that did not happen within timeoutMillis.
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = queued.get();
+        Thread current = dispatcher;
+        if (current == null) {
+            return true;
+        }
+        LockSupport.unpark(current);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (delivered < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, FLUSH_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * How many events were dropped because the queue was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            GameEvent event = queue.poll();
+            if (event == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            deliver(event);
+            delivered = delivered + 1;
+        }
+    }
+
+    private void deliver(GameEvent event) {
+        int level = event.level().ordinal();
+        for (Subscription s : subscriptions) {
+            if (level >= s.level().ordinal() && s.type().isInstance(event)) {
+                try {
+                    s.subscriber().accept(event);
+                } catch (RuntimeException e) {
+                    // One bad subscriber must not stop delivery to the rest
+                    System.err.println("Event subscriber failed on " + event.describe() + ": " + e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package tr.edu.ku.comp302.domain.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded queue for many producer threads and one consumer thread, with no
+ * locks.
+ *
+ * Each slot has a sequence number telling whose turn it is: a producer claims
+ * the next position by compare-and-set and then publishes its item by setting
+ * the slot's sequence, and the consumer takes the item once the sequence says
+ * it is there. When the queue is full offer() fails instead of waiting, so a
+ * producer never blocks.
+ */
+public class MpscRingBuffer<T> {
+
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    // Only the consumer reads or writes it
+    private long head;
+
+    /**
+     * @requires capacity is a power of two
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        items = new Object[capacity];
+        sequences = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the queue was full and item was not added.
+     */
+    public boolean offer(T item) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long diff = sequences.get(slot) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[slot] = item;
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // Another producer took this position; try the next one
+        }
+    }
+
+    /**
+     * Only the consumer thread may call it.
+     *
+     * @return the oldest item, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return null;
+        }
+        T item = (T) items[slot];
+        items[slot] = null;
+        sequences.set(slot, head + items.length);
+        head++;
+        return item;
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+}
@@ -12,6 +12,5 @@ public class CloakOfProtectionEnchantment extends Enchantment {
     public void onCollect(Player player) {
         // Store in inventory for later usage
         player.getInventory().addItem(this);
-        System.out.println("[Cloak] Cloak of Protection added to inventory!");
     }
 }
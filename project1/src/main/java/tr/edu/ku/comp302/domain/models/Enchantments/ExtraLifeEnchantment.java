@@ -12,6 +12,5 @@ public class ExtraLifeEnchantment extends Enchantment {
     public void onCollect(Player player) {
         // Immediately add 1 life
         player.addLife();
-        System.out.println("[ExtraLife] Player gained +1 life! Lives now: " + player.getLives());
     }
 }
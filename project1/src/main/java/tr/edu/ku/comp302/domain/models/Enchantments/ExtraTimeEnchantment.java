@@ -16,6 +16,5 @@ public class ExtraTimeEnchantment extends Enchantment {
         // For demonstration, we’ll just store the “time bonus needed” in the player,
         // or call a method like player.requestExtraTime(5).
         player.requestExtraTime(5);
-        System.out.println("[ExtraTime] Player gained +5 seconds!");
     }
 }
\ No newline at end of file
@@ -12,6 +12,5 @@ public class LuringGemEnchantment extends Enchantment {
     public void onCollect(Player player) {
         // Store in inventory for later usage
         player.getInventory().addItem(this);
-        System.out.println("[LuringGem] Luring Gem added to inventory!");
     }
 }
@@ -13,6 +13,5 @@ public class RevealEnchantment extends Enchantment {
         // This is stored for later usage
         // So we add an item to the player's inventory
         player.getInventory().addItem(this);
-        System.out.println("[Reveal] Reveal enchantment added to inventory!");
     }
 }
\ No newline at end of file
@@ -12,6 +12,5 @@ public class Rune extends Enchantment {
     public void onCollect(Player player) {
         // Immediately add 1 life
         player.getInventory().addItem(this);;
-        System.out.println("Runes is added to player's inventory.");
     }
 }
\ No newline at end of file
@@ -1,12 +1,20 @@
 package tr.edu.ku.comp302.domain.models;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 public abstract class Entity implements Serializable {
 
+    // The value computed before prevX/prevY were added, which saves still use
+    private static final long serialVersionUID = 7787256207788691169L;
+
     /** Entity's X and Y positions on the screen. */
     protected int x, y;
 
+    /** Position at the start of the current simulation tick, used for render interpolation; not saved. */
+    protected transient int prevX, prevY;
+
     /** Entity's movement speed. */
     protected int speed;
 
@@ -20,6 +28,8 @@ public abstract class Entity implements Serializable {
     public Entity(int x, int y, int speed) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.speed = speed;
     }
 
@@ -32,4 +42,25 @@ public abstract class Entity implements Serializable {
 
     public int getSpeed() { return speed; }
     public void setSpeed(int speed) { this.speed = speed; }
-} 
\ No newline at end of file
+
+    /**
+     * Remembers the current position as the start of the next tick.
+     * Called once per simulation tick, before the entity moves.
+     */
+    public void storePreviousPosition() {
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    /** Position at the previous tick, for render interpolation. */
+    public int getPrevX() { return prevX; }
+
+    public int getPrevY() { return prevY; }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // A loaded entity starts still, not interpolating from (0,0)
+        prevX = x;
+        prevY = y;
+    }
+}
@@ -0,0 +1,87 @@
+package tr.edu.ku.comp302.domain.models;
+
+import tr.edu.ku.comp302.config.GameConfig;
+
+/**
+ * Simulated time, counted in game ticks.
+ *
+ * The clock only moves when advance() is called by whoever drives the simulation,
+ * so game time is independent of the wall clock: a paused game stops it and a
+ * headless run can advance it as fast as the CPU allows.
+ */
+public class GameClock {
+
+    private final int tickRate;
+    private long ticks = 0;
+
+    public GameClock() {
+        this(GameConfig.TICK_RATE);
+    }
+
+    /**
+     * @requires tickRate > 0
+     */
+    public GameClock(int tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("tickRate must be positive: " + tickRate);
+        }
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * Moves the clock forward by one tick.
+     */
+    public void advance() {
+        ticks++;
+    }
+
+    /**
+     * Restores the clock to a saved position, e.g. when loading a game.
+     */
+    public void setTicks(long ticks) {
+        this.ticks = ticks;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Game time elapsed since the clock was created, in milliseconds.
+     */
+    public long millis() {
+        return ticks * 1000 / tickRate;
+    }
+
+    /**
+     * How many ticks of BASE_TICK_RATE one tick of this clock lasts; values
+     * tuned per base tick are multiplied by it.
+     */
+    public float getTickScale() {
+        return (float) GameConfig.BASE_TICK_RATE / tickRate;
+    }
+
+    /**
+     * Whole pixels moved on the given tick by something that moves perBaseTick
+     * pixels per tick at BASE_TICK_RATE. The pixels are spread evenly over the
+     * ticks, so every game second adds up to perBaseTick * BASE_TICK_RATE
+     * whatever the tick rate.
+     *
+     * @requires tickRate > 0
+     */
+    public static int pixelsOnTick(int perBaseTick, long tick, int tickRate) {
+        long perSecond = (long) perBaseTick * GameConfig.BASE_TICK_RATE;
+        return (int) (Math.floorDiv((tick + 1) * perSecond, tickRate) - Math.floorDiv(tick * perSecond, tickRate));
+    }
+
+    /**
+     * True right after the tick that completes a whole game second.
+     */
+    public boolean isSecondBoundary() {
+        return ticks > 0 && ticks % tickRate == 0;
+    }
+}
@@ -17,6 +17,10 @@ public class GameState implements Serializable {
     // Which hall we are currently in
     private HallType currentHall;
 
+    // Hall size in tiles; 0 in saves made before halls could be resized
+    private int hallCols;
+    private int hallRows;
+
     // Player data (including position, lives, velocity, cloak times, inventory)
     private Player player;
 
@@ -33,13 +37,14 @@ public class GameState implements Serializable {
     private int timeRemaining;
     private int timePassed;
     private int initialTime;
+    private long gameTicks; // GameClock ticks, the time base of the player's buff end times
 
     // -- NEW FIELDS FOR LURING GEM --
     private boolean hasLuringGem;       // monsterController.hasLuringGem()
     private Point luringGemLocation;    // monsterController.getLuringGemLocation()
     private int gemSpawnTime;           // monsterController.getGemSpawnTime()
 
-    private TileData[][] tileDataGrid; // same size as your TilesController
+    private TileGrid tileGrid; // same size as your TilesController
 
     public GameState() {
     }
@@ -52,6 +57,20 @@ public class GameState implements Serializable {
         this.currentHall = currentHall;
     }
 
+    public int getHallCols() {
+        return hallCols;
+    }
+    public void setHallCols(int hallCols) {
+        this.hallCols = hallCols;
+    }
+
+    public int getHallRows() {
+        return hallRows;
+    }
+    public void setHallRows(int hallRows) {
+        this.hallRows = hallRows;
+    }
+
     public Player getPlayer() {
         return player;
     }
@@ -87,6 +106,13 @@ public class GameState implements Serializable {
         this.timeRemaining = timeRemaining;
     }
 
+    public long getGameTicks() {
+        return gameTicks;
+    }
+    public void setGameTicks(long gameTicks) {
+        this.gameTicks = gameTicks;
+    }
+
     public int getTimePassed() {
         return timePassed;
     }
@@ -121,10 +147,10 @@ public class GameState implements Serializable {
     public void setGemSpawnTime(int gemSpawnTime) {
         this.gemSpawnTime = gemSpawnTime;
     }
-    public TileData[][] getTileDataGrid() {
-        return tileDataGrid;
+    public TileGrid getTileGrid() {
+        return tileGrid;
     }
-    public void setTileDataGrid(TileData[][] tileDataGrid) {
-        this.tileDataGrid = tileDataGrid;
+    public void setTileGrid(TileGrid tileGrid) {
+        this.tileGrid = tileGrid;
     }
 }
\ No newline at end of file
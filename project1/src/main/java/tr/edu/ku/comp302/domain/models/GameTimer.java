@@ -1,81 +1,106 @@
 package tr.edu.ku.comp302.domain.models;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import tr.edu.ku.comp302.config.GameConfig;
+
 import java.io.Serializable;
 import java.util.function.Consumer;
 
+/**
+ * The hall countdown, driven by simulation ticks.
+ *
+ * There is no timer thread: whoever runs the simulation calls advance() once per
+ * tick, so the countdown pauses, fast-forwards and runs headless exactly like the
+ * rest of the game logic, on the same thread. Time is kept in ticks; whole seconds
+ * are reported through onTick.
+ */
 public class GameTimer implements Serializable {
 
-    public volatile int timeRemaining; // Remaining time
-    private Timer timer;       // Swing Timer
-    private final Consumer<Integer> onTick; // Callback for each tick
+    public volatile int timeRemaining; // Remaining time in whole seconds, rounded up
+    private final int tickRate;
+    private long remainingTicks;
+    private volatile boolean running = false; // paused from the EDT, read by the game thread
+    private final Consumer<Integer> onTick; // Called once per elapsed game second
     private final Runnable onTimeUp;        // Callback when time is up
 
     public GameTimer(Consumer<Integer> onTick, Runnable onTimeUp) {
+        this(onTick, onTimeUp, GameConfig.TICK_RATE);
+    }
+
+    public GameTimer(Consumer<Integer> onTick, Runnable onTimeUp, int tickRate) {
         this.onTick = onTick;
         this.onTimeUp = onTimeUp;
+        this.tickRate = tickRate;
     }
 
     public void start(int initialTime) {
         // If timer is already running, don't start again
-        if (timer != null && timer.isRunning()) {
+        if (running) {
             return;
         }
 
         // Initialize the remaining time
+        remainingTicks = (long) initialTime * tickRate;
         timeRemaining = initialTime;
+        running = remainingTicks > 0;
+    }
 
-        // Immediately notify UI of the starting time
-        onTick.accept(timeRemaining);
-
-        timer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                timeRemaining--;
-
-                // If time is up, stop and call onTimeUp
-                if (timeRemaining <= 0) {
-                    stop();
-                    onTick.accept(0); // ensure we show 0 on UI before onTimeUp
-                    onTimeUp.run();
-                } else {
-                    onTick.accept(timeRemaining);
-                }
-            }
-        });
-
-        // If you want the countdown to start without delay, setInitialDelay to 0
-        timer.setInitialDelay(0);
-        timer.start();
+    /**
+     * Moves the countdown forward by one simulation tick.
+     * Does nothing while paused or stopped.
+     */
+    public void advance() {
+        if (!running) {
+            return;
+        }
+        remainingTicks--;
+        timeRemaining = secondsRemaining();
+
+        // Only whole game seconds are reported
+        if (remainingTicks % tickRate != 0) {
+            return;
+        }
+
+        // If time is up, stop and call onTimeUp
+        if (remainingTicks <= 0) {
+            stop();
+            onTick.accept(0); // ensure we show 0 on UI before onTimeUp
+            onTimeUp.run();
+        } else {
+            onTick.accept(timeRemaining);
+        }
     }
 
     public void stop() {
-        if (timer != null) {
-            timer.stop();
-        }
+        running = false;
     }
 
     public void addTime(int extraTime) {
-        timeRemaining += extraTime;
-        // Update UI immediately to reflect new time
-        onTick.accept(timeRemaining);
+        remainingTicks += (long) extraTime * tickRate;
+        timeRemaining = secondsRemaining();
     }
 
     public int getTimeRemaining() {
         return timeRemaining;
     }
 
+    /**
+     * Remaining time in ticks, for sub-second precision.
+     */
+    public long getRemainingTicks() {
+        return remainingTicks;
+    }
+
     public void pause() {
-        if (timer != null && timer.isRunning()) {
-            timer.stop();
-        }
+        running = false;
     }
 
     public void resume() {
-        if (timer != null && !timer.isRunning()) {
-            timer.start();
+        if (remainingTicks > 0) {
+            running = true;
         }
     }
-}
\ No newline at end of file
+
+    private int secondsRemaining() {
+        return (int) ((Math.max(remainingTicks, 0) + tickRate - 1) / tickRate);
+    }
+}
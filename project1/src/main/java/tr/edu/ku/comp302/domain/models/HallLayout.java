@@ -0,0 +1,78 @@
+package tr.edu.ku.comp302.domain.models;
+
+import java.io.Serializable;
+
+/**
+ * The generated tiles of a hall: floor everywhere, with the cage walls and the
+ * hall's flag around the hall area.
+ *
+ * A TileGrid asks its layout for the type of every cell it has never stored, so
+ * chunks far from the hero can be dropped and rebuilt instead of kept in memory.
+ * All types are palette indices of that TileGrid.
+ */
+public class HallLayout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int startingX, startingY;
+    private final int hallCols, hallRows;
+
+    private final int floor;
+    private final int wallOuterWest, wallOuterEast, wallOuterNorth;
+    private final int wallOuterNW, wallOuterNE, wallOuterSW, wallOuterSE;
+    private final int wallInnerS;
+    private final int wallCenter;
+    private final int flag;
+
+    /**
+     * Registers the hall's tile types in the grid's palette.
+     */
+    public HallLayout(TileGrid grid, int startingX, int startingY, int hallCols, int hallRows, String flagKey) {
+        this.startingX = startingX;
+        this.startingY = startingY;
+        this.hallCols = hallCols;
+        this.hallRows = hallRows;
+
+        this.floor          = grid.typeIndex("floor_plain", false);
+        this.wallOuterWest  = grid.typeIndex("wall_outer_w", true);
+        this.wallOuterEast  = grid.typeIndex("wall_outer_e", true);
+        this.wallOuterNorth = grid.typeIndex("wall_outer_n", true);
+        this.wallOuterNW    = grid.typeIndex("wall_outer_nw", true);
+        this.wallOuterNE    = grid.typeIndex("wall_outer_ne", true);
+        this.wallOuterSW    = grid.typeIndex("wall_outer_sw", true);
+        this.wallOuterSE    = grid.typeIndex("wall_outer_se", true);
+        this.wallInnerS     = grid.typeIndex("wall_outer_n", false); // Not collidable
+        this.wallCenter     = grid.typeIndex("wall_center", true);
+        this.flag           = grid.typeIndex(flagKey, true);
+    }
+
+    /**
+     * The palette index of the generated tile at (x, y).
+     */
+    public int typeAt(int x, int y) {
+        int left = startingX;
+        int right = startingX + hallCols - 1;
+        int top = startingY;
+        int bottom = startingY + hallRows - 1;
+        if (x < left || x > right || y < top || y > bottom) {
+            return floor;
+        }
+
+        // Most specific piece first
+        if (x == (hallCols * 3) / 4 && y == bottom) return flag;
+        if (x == right) {
+            if (y == top) return wallOuterNE;
+            if (y == bottom) return wallOuterSE;
+            return wallOuterEast;
+        }
+        if (x == left) {
+            if (y == top) return wallOuterNW;
+            if (y == bottom) return wallOuterSW;
+            return wallOuterWest;
+        }
+        if (y == bottom - 1) return wallInnerS;
+        if (y == bottom) return wallCenter;
+        if (y == top + 1) return wallCenter;
+        if (y == top) return wallOuterNorth;
+        return floor;
+    }
+}
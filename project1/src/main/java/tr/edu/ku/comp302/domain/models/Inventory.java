@@ -1,52 +1,180 @@
 package tr.edu.ku.comp302.domain.models;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import tr.edu.ku.comp302.domain.models.enchantments.*;
 
 /**
  * A simple inventory that can store Enchantments
  * (only those not consumed instantly, typically).
+ *
+ * Items are kept in one stack per type, so asking for, taking or counting a
+ * type is O(1). A listener is told of every change, with the type and its new
+ * count, so callers need not poll. Items are listed type by type, in the
+ * order of EnchantmentType.
  */
 public class Inventory implements Serializable {
 
-    private final List<Enchantment> items;
+    // The value computed for the list-based form, which saves still use
+    private static final long serialVersionUID = 9104368477194409051L;
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("items", List.class)
+    };
+
+    public interface ChangeListener {
+        void inventoryChanged(EnchantmentType type, int count);
+    }
+
+    private transient Map<EnchantmentType, ArrayDeque<Enchantment>> stacks;
+    private transient int size;
+    private transient ChangeListener listener;
 
     public Inventory() {
-        this.items = new ArrayList<>();
+        this.stacks = new EnumMap<>(EnchantmentType.class);
     }
 
     public void addItem(Enchantment e) {
-        items.add(e);
+        ArrayDeque<Enchantment> stack = stacks.computeIfAbsent(e.getType(), t -> new ArrayDeque<>());
+        stack.push(e);
+        size++;
+        fireChanged(e.getType(), stack.size());
     }
 
     public boolean removeItem(Enchantment e) {
-        return items.remove(e);
+        if (e == null) {
+            return false;
+        }
+        ArrayDeque<Enchantment> stack = stacks.get(e.getType());
+        if (stack == null || !stack.remove(e)) {
+            return false;
+        }
+        size--;
+        fireChanged(e.getType(), stack.size());
+        return true;
     }
 
     /**
-     * Returns the first enchantment of the given type from the inventory, or null if not found.
+     * Removes one enchantment of the given type.
+     *
+     * @return the enchantment removed, or null if there was none.
      */
-    public Enchantment getEnchantmentByType(EnchantmentType type) {
-        for (Enchantment e : items) {
-            if (e.getType() == type) {
-                return e;
-            }
+    public Enchantment take(EnchantmentType type) {
+        ArrayDeque<Enchantment> stack = stacks.get(type);
+        if (stack == null || stack.isEmpty()) {
+            return null;
         }
-        return null;
+        Enchantment e = stack.pop();
+        size--;
+        fireChanged(type, stack.size());
+        return e;
+    }
+
+    /**
+     * Returns the last added enchantment of the given type from the inventory, or null if not found.
+     */
+    public Enchantment getEnchantmentByType(EnchantmentType type) {
+        ArrayDeque<Enchantment> stack = stacks.get(type);
+        return stack == null ? null : stack.peek();
+    }
+
+    public int count(EnchantmentType type) {
+        ArrayDeque<Enchantment> stack = stacks.get(type);
+        return stack == null ? 0 : stack.size();
     }
 
     public boolean hasRune() {
-        return getEnchantmentByType(EnchantmentType.RUNE) != null;
+        return hasEnchantment(EnchantmentType.RUNE);
     }
 
     public boolean hasEnchantment(EnchantmentType type) {
-        return getEnchantmentByType(type) != null;
+        return count(type) > 0;
+    }
+
+    public int size() {
+        return size;
     }
 
+    /**
+     * @return a copy of the items, type by type.
+     */
     public List<Enchantment> getAllItems() {
+        List<Enchantment> items = new ArrayList<>(size);
+        for (ArrayDeque<Enchantment> stack : stacks.values()) {
+            items.addAll(stack);
+        }
         return items;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the type of each item, type by type.
+     */
+    public List<EnchantmentType> getItemTypes() {
+        List<EnchantmentType> types = new ArrayList<>(size);
+        for (Map.Entry<EnchantmentType, ArrayDeque<Enchantment>> e : stacks.entrySet()) {
+            for (int i = 0; i < e.getValue().size(); i++) {
+                types.add(e.getKey());
+            }
+        }
+        return types;
+    }
+
+    public void clear() {
+        for (Map.Entry<EnchantmentType, ArrayDeque<Enchantment>> e : stacks.entrySet()) {
+            if (!e.getValue().isEmpty()) {
+                e.getValue().clear();
+                fireChanged(e.getKey(), 0);
+            }
+        }
+        size = 0;
+    }
+
+    public void addAll(Collection<Enchantment> items) {
+        for (Enchantment e : items) {
+            addItem(e);
+        }
+    }
+
+    /**
+     * Tells listener of every change from now on; null stops telling.
+     */
+    public void setChangeListener(ChangeListener listener) {
+        this.listener = listener;
+    }
+
+    private void fireChanged(EnchantmentType type, int count) {
+        if (listener != null) {
+            listener.inventoryChanged(type, count);
+        }
+    }
+
+    // ====================== Serialization ======================
+
+    /**
+     * Writes the items as the single list older versions kept.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("items", getAllItems());
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        stacks = new EnumMap<>(EnchantmentType.class);
+        List<Enchantment> items = (List<Enchantment>) fields.get("items", null);
+        if (items != null) {
+            addAll(items);
+        }
+    }
+}
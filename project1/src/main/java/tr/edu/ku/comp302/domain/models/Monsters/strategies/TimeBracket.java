@@ -0,0 +1,45 @@
+package tr.edu.ku.comp302.domain.models.monsters.strategies;
+
+/**
+ * The three parts of a hall's timer a wizard behaves differently in, by how
+ * much of the initial time remains: LOW under 30%, HIGH over 70%, MID between.
+ */
+public enum TimeBracket {
+    LOW(WizardLowTimeStrategy.INSTANCE, "LowTime"),
+    MID(WizardMidTimeStrategy.INSTANCE, "MidTime"),
+    HIGH(WizardHighTimeStrategy.INSTANCE, "HighTime");
+
+    private final WizardStrategy strategy;
+    private final String label;
+
+    TimeBracket(WizardStrategy strategy, String label) {
+        this.strategy = strategy;
+        this.label = label;
+    }
+
+    /**
+     * @requires initialTime > 0
+     * @return the bracket timeRemaining falls in, without rounding.
+     */
+    public static TimeBracket of(int timeRemaining, int initialTime) {
+        long percent = timeRemaining * 100L;
+        if (percent < 30L * initialTime) {
+            return LOW;
+        }
+        if (percent > 70L * initialTime) {
+            return HIGH;
+        }
+        return MID;
+    }
+
+    /**
+     * @return the shared strategy of wizards in this bracket.
+     */
+    public WizardStrategy getStrategy() {
+        return strategy;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -16,6 +16,12 @@ import java.io.Serializable;
 public class WizardHighTimeStrategy implements WizardStrategy {
     private static final long serialVersionUID = 1L;
 
+    // Keeps no state of its own, so every wizard shares this one
+    public static final WizardHighTimeStrategy INSTANCE = new WizardHighTimeStrategy();
+
+    private WizardHighTimeStrategy() {
+    }
+
     @Override
     public void updateBehavior(
             WizardMonster wizard,
@@ -30,10 +36,14 @@ public class WizardHighTimeStrategy implements WizardStrategy {
         if ((timePassed - wizard.getLastRuneTeleportTime()) >= 3) {
             buildObjectController.transferRune();
             wizard.setLastRuneTeleportTime(timePassed);
-            System.out.println("Wizard (HighTime) teleported the rune!");
         }
         // We do NOT remove the wizard automatically here;
         // it stays active unless the time percentage changes <70%,
         // in which case MonsterController changes the strategy.
     }
-}
\ No newline at end of file
+
+    // Loading a saved game must not make a second instance
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
@@ -13,6 +13,12 @@ import tr.edu.ku.comp302.domain.models.Player;
 public class WizardLowTimeStrategy implements WizardStrategy {
     private static final long serialVersionUID = 1L;
 
+    // Keeps no state of its own, so every wizard shares this one
+    public static final WizardLowTimeStrategy INSTANCE = new WizardLowTimeStrategy();
+
+    private WizardLowTimeStrategy() {
+    }
+
     @Override
     public void updateBehavior(
             WizardMonster wizard,
@@ -35,4 +41,9 @@ public class WizardLowTimeStrategy implements WizardStrategy {
             }
         }
     }
-}
\ No newline at end of file
+
+    // Loading a saved game must not make a second instance
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
@@ -15,6 +15,12 @@ import tr.edu.ku.comp302.domain.models.Player;
 public class WizardMidTimeStrategy implements WizardStrategy {
     private static final long serialVersionUID = 1L;
 
+    // Keeps no state of its own, so every wizard shares this one
+    public static final WizardMidTimeStrategy INSTANCE = new WizardMidTimeStrategy();
+
+    private WizardMidTimeStrategy() {
+    }
+
     @Override
     public void updateBehavior(
             WizardMonster wizard,
@@ -31,4 +37,9 @@ public class WizardMidTimeStrategy implements WizardStrategy {
             wizard.setShouldDisappear(true);
         }
     }
-}
\ No newline at end of file
+
+    // Loading a saved game must not make a second instance
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
@@ -2,10 +2,13 @@ package tr.edu.ku.comp302.domain.models;
 
 import tr.edu.ku.comp302.config.GameConfig;
 import tr.edu.ku.comp302.domain.controllers.MonsterController;
+import tr.edu.ku.comp302.domain.events.GameEvent;
+import tr.edu.ku.comp302.domain.events.GameEventBus;
 import tr.edu.ku.comp302.domain.models.enchantments.Enchantment;
 import tr.edu.ku.comp302.domain.models.enchantments.EnchantmentType;
 
 import java.io.Serializable;
+import java.util.function.LongSupplier;
 
 /**
  * The Player class represents the player's state in the game.
@@ -34,6 +37,10 @@ public class Player extends Entity implements Serializable {
     private boolean drawDamageBox = false;
     private long damageBoxEndTime;
 
+    // Source of "now" in milliseconds for the timed buffs above.
+    // Not saved: whoever runs the game sets it again after loading.
+    private transient LongSupplier clock;
+
     public Player(int x, int y, int speed) {
         super(x, y, speed);
         this.lives = GameConfig.PLAYER_LIVES;
@@ -63,18 +70,30 @@ public class Player extends Entity implements Serializable {
      * Apply friction (or “drag”) to gradually slow the player when no keys are pressed.
      */
     public void applyFriction() {
+        applyFriction(1f);
+    }
+
+    /**
+     * Apply friction for a tick lasting tickScale ticks of BASE_TICK_RATE, so
+     * the player slows down just as fast at any tick rate.
+     */
+    public void applyFriction(float tickScale) {
+        float factor = 0.96f - friction;
+        if (tickScale != 1f) {
+            factor = (float) Math.pow(factor, tickScale);
+        }
         // If velocity is small, set to 0 to avoid floating point accumulation
         if (Math.abs(velocityX) < 0.03f) {
             velocityX = 0;
         } else {
             // reduce velocity by friction factor
-            velocityX *= (0.96f - friction);
+            velocityX *= factor;
         }
 
         if (Math.abs(velocityY) < 0.03f) {
             velocityY = 0;
         } else {
-            velocityY *= (0.96f - friction);
+            velocityY *= factor;
         }
     }
 
@@ -135,7 +154,7 @@ public class Player extends Entity implements Serializable {
             this.lives = 0;
         }
         this.drawDamageBox = true;
-        this.damageBoxEndTime = System.currentTimeMillis() + 500; // 0.5 seconds
+        this.damageBoxEndTime = currentTimeMillis() + 500; // 0.5 seconds
     }
 
     public void addLife() {
@@ -161,9 +180,26 @@ public class Player extends Entity implements Serializable {
         return temp;
     }
 
+    // ==================== TIME SOURCE ====================
+
+    /**
+     * Sets where buff timers read the current time from, e.g. a virtual GameClock.
+     * Without one, the wall clock is used.
+     */
+    public void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * The current time, in milliseconds, on this player's clock.
+     */
+    public long currentTimeMillis() {
+        return (clock != null) ? clock.getAsLong() : System.currentTimeMillis();
+    }
+
     // ==================== CLOAK LOGIC ====================
     public boolean isCloakActive() {
-        if (cloakActive && System.currentTimeMillis() > cloakEndTime) {
+        if (cloakActive && currentTimeMillis() > cloakEndTime) {
             cloakActive = false;
         }
         return cloakActive;
@@ -178,16 +214,16 @@ public class Player extends Entity implements Serializable {
         if (cloak != null) {
             inventory.removeItem(cloak);
             cloakActive = true;
-            cloakEndTime = System.currentTimeMillis() + 20_000; // 20 seconds
-            System.out.println("Cloak of Protection is now active for 20s!");
+            cloakEndTime = currentTimeMillis() + 20_000; // 20 seconds
+            log("Cloak of Protection is now active for 20s!");
         } else {
-            System.out.println("No Cloak of Protection in inventory!");
+            log("No Cloak of Protection in inventory!");
         }
     }
 
     // ==================== REVEAL LOGIC ====================
     public boolean isRevealActive() {
-        if (revealActive && System.currentTimeMillis() > revealEndTime) {
+        if (revealActive && currentTimeMillis() > revealEndTime) {
             revealActive = false;
         }
         return revealActive;
@@ -202,10 +238,10 @@ public class Player extends Entity implements Serializable {
         if (reveal != null) {
             inventory.removeItem(reveal);
             revealActive = true;
-            revealEndTime = System.currentTimeMillis() + 10_000; // 10 seconds
-            System.out.println("Reveal is active for 10s! A 4x4 area around the rune is highlighted.");
+            revealEndTime = currentTimeMillis() + 10_000; // 10 seconds
+            log("Reveal is active for 10s! A 4x4 area around the rune is highlighted.");
         } else {
-            System.out.println("No Reveal enchantment in inventory!");
+            log("No Reveal enchantment in inventory!");
         }
     }
 
@@ -224,7 +260,7 @@ public class Player extends Entity implements Serializable {
     public void useLuringGem(char direction, MonsterController monsterController) {
         Enchantment gem = inventory.getEnchantmentByType(EnchantmentType.LURING_GEM);
         if (gem == null) {
-            System.out.println("No Luring Gem in inventory!");
+            log("No Luring Gem in inventory!");
             return;
         }
         
@@ -240,28 +276,28 @@ public class Player extends Entity implements Serializable {
                 gemY -= offset;
                 // Remove from inventory
                 inventory.removeItem(gem);
-                System.out.println("Luring Gem thrown to direction: " + direction);
+                log("Luring Gem thrown to direction: " + direction);
             }
             case 'S' -> {
                 gemY += offset;
                 // Remove from inventory
                 inventory.removeItem(gem);
-                System.out.println("Luring Gem thrown to direction: " + direction);
+                log("Luring Gem thrown to direction: " + direction);
             }
             case 'A' -> {
                 gemX -= offset;
                 // Remove from inventory
                 inventory.removeItem(gem);
-                System.out.println("Luring Gem thrown to direction: " + direction);
+                log("Luring Gem thrown to direction: " + direction);
             }
             case 'D' -> {
                 gemX += offset;
                 // Remove from inventory
                 inventory.removeItem(gem);
-                System.out.println("Luring Gem thrown to direction: " + direction);
+                log("Luring Gem thrown to direction: " + direction);
             }
             default -> {
-                System.out.println("Invalid direction for luring gem: " + direction);
+                log("Invalid direction for luring gem: " + direction);
                 return;
             }
         }
@@ -271,7 +307,7 @@ public class Player extends Entity implements Serializable {
     }
 
     public boolean isDrawDamageBox() {
-        if (drawDamageBox && System.currentTimeMillis() > damageBoxEndTime) {
+        if (drawDamageBox && currentTimeMillis() > damageBoxEndTime) {
             drawDamageBox = false;
         }
         return drawDamageBox;
@@ -299,4 +335,8 @@ public class Player extends Entity implements Serializable {
         this.revealEndTime = t;
     }
     
-}
\ No newline at end of file
+
+    private static void log(String text) {
+        GameEventBus.get().publish(new GameEvent.Message(GameEvent.Level.INFO, text));
+    }
+}
@@ -0,0 +1,100 @@
+package tr.edu.ku.comp302.domain.models;
+
+import tr.edu.ku.comp302.domain.models.enchantments.EnchantmentType;
+
+import java.util.List;
+
+/**
+ * Everything the renderer needs from one simulation tick, copied out of the live
+ * game objects.
+ *
+ * The game thread builds a new snapshot after every tick and publishes it with a
+ * single reference swap; drawing code only ever reads a published snapshot. Since
+ * a snapshot never changes after it is built, the renderer cannot see a half-updated
+ * tick, and the next tick can be simulated while this one is still being drawn.
+ *
+ * @param tick         GameClock tick this snapshot was taken after.
+ * @param viewport     the part of the world on screen.
+ * @param player       the hero.
+ * @param monsters     all monsters, in draw order.
+ * @param enchantments all enchantments lying in the hall.
+ * @param luringGem    where a thrown Luring Gem lies, or null.
+ * @param revealArea   the highlighted area around the rune while Reveal is active, or null.
+ * @param clickEffect  the flash over a clicked object, or null.
+ * @param hud          values shown in the HUD.
+ */
+public record RenderSnapshot(long tick,
+                             Viewport viewport,
+                             PlayerSprite player,
+                             List<Sprite> monsters,
+                             List<Sprite> enchantments,
+                             Area luringGem,
+                             Area revealArea,
+                             Area clickEffect,
+                             Hud hud) {
+
+    public RenderSnapshot {
+        monsters = List.copyOf(monsters);
+        enchantments = List.copyOf(enchantments);
+    }
+
+    /**
+     * An atlas sprite at its previous and current tick positions.
+     *
+     * @param kind what the sprite stands for, e.g. a monster type ("FIGHTER").
+     */
+    public record Sprite(String sprite, String kind, int prevX, int prevY, int x, int y) {
+
+        public int renderX(float alpha) {
+            return Math.round(prevX + (x - prevX) * alpha);
+        }
+
+        public int renderY(float alpha) {
+            return Math.round(prevY + (y - prevY) * alpha);
+        }
+    }
+
+    /**
+     * The camera's top-left corner in world pixels at the previous and current
+     * tick, and the size of the screen area it covers.
+     */
+    public record Viewport(int prevX, int prevY, int x, int y, int width, int height) {
+
+        public int renderX(float alpha) {
+            return Math.round(prevX + (x - prevX) * alpha);
+        }
+
+        public int renderY(float alpha) {
+            return Math.round(prevY + (y - prevY) * alpha);
+        }
+    }
+
+    /**
+     * The hero's sprite and the state of its cloak effect.
+     */
+    public record PlayerSprite(Sprite sprite, boolean cloakActive, float cloakAlpha) { }
+
+    /**
+     * A rectangle in screen pixels.
+     */
+    public record Area(int x, int y, int width, int height) { }
+
+    /**
+     * @param cloakRemainingMillis  game time left on the cloak, 0 if inactive.
+     * @param revealRemainingMillis game time left on Reveal, 0 if inactive.
+     * @param inventory             item types in the hero's inventory, in order.
+     */
+    public record Hud(int timeRemaining,
+                      int lives,
+                      boolean damageBox,
+                      boolean cloakActive,
+                      long cloakRemainingMillis,
+                      boolean revealActive,
+                      long revealRemainingMillis,
+                      List<EnchantmentType> inventory) {
+
+        public Hud {
+            inventory = List.copyOf(inventory);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package tr.edu.ku.comp302.domain.models;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * One SIZE x SIZE block of a TileGrid: a palette index per cell, plus a bit mask
+ * per row of the cells that block movement.
+ *
+ * The stored form (encode/decode) is run-length encoded palette indices, one
+ * (run length - 1, type) byte pair per run, so a chunk that is mostly floor takes
+ * a few bytes. It is used both for chunks spilled out of memory and in save files.
+ *
+ * A chunk with a few changes on a busy layout runs badly, so it can also be
+ * spilled as just its changes (encodeChanges/applyChanges): three bytes per
+ * cell that differs from the generated chunk.
+ */
+final class TileChunk {
+
+    static final int SIZE = 32; // one int of collision bits per row
+
+    final byte[] cells = new byte[SIZE * SIZE];
+    final int[] blocked = new int[SIZE];
+
+    // Changed since it was generated; unchanged chunks are dropped, not stored
+    boolean modified;
+
+    int get(int localCol, int localRow) {
+        return cells[localRow * SIZE + localCol] & 0xFF;
+    }
+
+    void set(int localCol, int localRow, int type, boolean collidable) {
+        cells[localRow * SIZE + localCol] = (byte) type;
+        int bit = 1 << localCol;
+        if (collidable) {
+            blocked[localRow] |= bit;
+        } else {
+            blocked[localRow] &= ~bit;
+        }
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        int i = 0;
+        while (i < cells.length) {
+            byte type = cells[i];
+            int run = 1;
+            while (i + run < cells.length && run < 256 && cells[i + run] == type) {
+                run++;
+            }
+            out.write(run - 1);
+            out.write(type);
+            i += run;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param collidable collidability of each palette index.
+     */
+    static TileChunk decode(byte[] data, boolean[] collidable) {
+        TileChunk chunk = new TileChunk();
+        int cell = 0;
+        for (int i = 0; i < data.length; i += 2) {
+            int run = (data[i] & 0xFF) + 1;
+            int type = data[i + 1] & 0xFF;
+            for (int k = 0; k < run; k++, cell++) {
+                chunk.set(cell % SIZE, cell / SIZE, type, collidable[type]);
+            }
+        }
+        chunk.modified = true;
+        return chunk;
+    }
+
+    /**
+     * The cells that differ from base, as (index high byte, index low byte, type) triples.
+     */
+    byte[] encodeChanges(TileChunk base) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != base.cells[i]) {
+                out.write(i >>> 8);
+                out.write(i);
+                out.write(cells[i]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Puts changes from encodeChanges back onto the chunk they were taken against.
+     *
+     * @param collidable collidability of each palette index.
+     * @return base, now changed.
+     */
+    static TileChunk applyChanges(byte[] data, TileChunk base, boolean[] collidable) {
+        for (int i = 0; i < data.length; i += 3) {
+            int cell = (data[i] & 0xFF) << 8 | (data[i + 1] & 0xFF);
+            int type = data[i + 2] & 0xFF;
+            base.set(cell % SIZE, cell / SIZE, type, collidable[type]);
+        }
+        base.modified = true;
+        return base;
+    }
+}
@@ -0,0 +1,449 @@
+package tr.edu.ku.comp302.domain.models;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A serializable grid of tile types, palette-encoded and stored in chunks.
+ *
+ * Every distinct tile type (key + collidability) is stored once in the palette;
+ * each cell only holds the palette index of its type in one byte. Cells live in
+ * TileChunk blocks of 32x32 that are created on first use from the HallLayout,
+ * and at most a fixed number of them is kept in memory: the least recently used
+ * chunk is dropped when another one is needed, or, if it was changed, spilled in
+ * whichever is smaller of its run-length form and the list of its cells that
+ * differ from what it generates. A chunk changed back to what it generates is
+ * dropped instead. So besides the resident chunks, memory holds about three
+ * bytes per changed cell, which are the only record of those changes, and one
+ * collision bit per cell of the grid.
+ *
+ * Collision bits are kept for the whole grid in rows of 64-bit words. A chunk's
+ * bits are copied in when it is first loaded, and set() keeps them up to date
+ * from then on, even after the chunk is evicted. So collisionWord(), the
+ * hottest query in the game, takes no lock and leaves the chunk cache alone
+ * once the chunks it covers have been loaded. The words are written with
+ * release and read with acquire semantics, so a reader never sees half a word.
+ *
+ * The game thread changes tiles while the renderer may read them, so every
+ * other access is synchronized. A collision word read on another thread while
+ * the game thread changes it may come out from just before the change.
+ */
+public class TileGrid implements Serializable {
+    private static final long serialVersionUID = 2L;
+
+    // A byte per cell, read as unsigned
+    public static final int MAX_TYPES = 256;
+
+    public static final int CHUNK_SIZE = TileChunk.SIZE;
+    private static final int CHUNKS_PER_WORD = 64 / CHUNK_SIZE;
+    public static final int DEFAULT_MAX_RESIDENT_CHUNKS = 64;
+
+    private final int cols;
+    private final int rows;
+    private final int chunkCols;
+    @SuppressWarnings("serial") // always an ArrayList
+    private final List<TileData> palette;
+
+    // What never-changed cells contain: the layout if there is one, else fillType
+    private HallLayout layout;
+    private int fillType;
+
+    // Changed chunks that are not in memory, in TileChunk's stored form or
+    // as their changes from the generated chunk; a key is in at most one of them
+    private transient Map<Integer, byte[]> spilled;
+    private transient Map<Integer, byte[]> spilledChanges;
+    private transient LinkedHashMap<Integer, TileChunk> resident;
+    private transient int maxResidentChunks;
+    private transient boolean[] collidableByType;
+
+    // The last chunk used; most lookups hit the same chunk as the one before
+    private transient int lastKey = -1;
+    private transient TileChunk lastChunk;
+
+    // Replaced, not cleared, when every cell changes, so lock-free readers
+    // never see a half-cleared set of bits
+    private transient volatile CollisionBits collision;
+
+    private static final class CollisionBits {
+        final AtomicLongArray words;
+        // Non-zero once the chunk's bits are in words; set after they are
+        final AtomicIntegerArray ready;
+
+        CollisionBits(int wordCount, int chunkCount) {
+            words = new AtomicLongArray(wordCount);
+            ready = new AtomicIntegerArray(chunkCount);
+        }
+    }
+
+    public TileGrid(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        this.chunkCols = (cols + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.palette = new ArrayList<>();
+        initTransientState();
+    }
+
+    private TileGrid(TileGrid other) {
+        this.cols = other.cols;
+        this.rows = other.rows;
+        this.chunkCols = other.chunkCols;
+        this.palette = new ArrayList<>(other.palette);
+        this.layout = other.layout;
+        this.fillType = other.fillType;
+        initTransientState();
+        this.maxResidentChunks = other.maxResidentChunks;
+        // Stored forms are never changed in place, so they can be shared
+        this.spilled.putAll(other.spilled);
+        this.spilledChanges.putAll(other.spilledChanges);
+        for (Map.Entry<Integer, TileChunk> e : other.resident.entrySet()) {
+            if (e.getValue().modified) {
+                this.spilled.put(e.getKey(), e.getValue().encode());
+            }
+        }
+    }
+
+    private void initTransientState() {
+        spilled = new HashMap<>();
+        spilledChanges = new HashMap<>();
+        maxResidentChunks = DEFAULT_MAX_RESIDENT_CHUNKS;
+        resident = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TileChunk> eldest) {
+                if (size() <= maxResidentChunks) {
+                    return false;
+                }
+                evict(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+        collidableByType = new boolean[0];
+        lastKey = -1;
+        lastChunk = null;
+        collision = newCollisionBits();
+    }
+
+    private CollisionBits newCollisionBits() {
+        int chunkRows = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return new CollisionBits(rows * wordsPerRow(), chunkRows * chunkCols);
+    }
+
+    private int wordsPerRow() {
+        return (cols + 63) >>> 6;
+    }
+
+    /**
+     * Returns the palette index of the given tile type, adding it if it is new.
+     *
+     * @throws IllegalStateException if the palette already holds MAX_TYPES types.
+     */
+    public synchronized int typeIndex(String tileTypeKey, boolean collidable) {
+        for (int i = 0; i < palette.size(); i++) {
+            TileData type = palette.get(i);
+            if (type.isCollidable() == collidable && type.getTileTypeKey().equals(tileTypeKey)) {
+                return i;
+            }
+        }
+        if (palette.size() == MAX_TYPES) {
+            throw new IllegalStateException("More than " + MAX_TYPES + " tile types in one grid");
+        }
+        palette.add(new TileData(tileTypeKey, collidable));
+        return palette.size() - 1;
+    }
+
+    public synchronized int get(int col, int row) {
+        return chunkAt(col, row).get(col % CHUNK_SIZE, row % CHUNK_SIZE);
+    }
+
+    public synchronized void set(int col, int row, int typeIndex) {
+        TileChunk chunk = chunkAt(col, row);
+        boolean collidable = isCollidableType(typeIndex);
+        chunk.set(col % CHUNK_SIZE, row % CHUNK_SIZE, typeIndex, collidable);
+        chunk.modified = true;
+
+        // chunkAt() has copied the chunk's bits in, so only this one changes
+        AtomicLongArray words = collision.words;
+        int index = row * wordsPerRow() + (col >>> 6);
+        long bit = 1L << (col & 63);
+        long word = words.getPlain(index); // only written under this lock
+        words.setRelease(index, collidable ? word | bit : word & ~bit);
+    }
+
+    /**
+     * Makes every cell the given type, dropping all changes and the layout.
+     */
+    public synchronized void fill(int typeIndex) {
+        layout = null;
+        fillType = typeIndex;
+        clearChunks();
+    }
+
+    /**
+     * Makes every cell what the layout generates, dropping all changes.
+     */
+    public synchronized void setLayout(HallLayout layout) {
+        this.layout = layout;
+        clearChunks();
+    }
+
+    /**
+     * Collision bits of 64 cells of a row, starting at column wordIndex * 64;
+     * bit i is set if that cell is collidable.
+     *
+     * Only locks the first time a chunk it covers is needed.
+     */
+    public long collisionWord(int row, int wordIndex) {
+        CollisionBits bits = collision;
+        int firstKey = (row / CHUNK_SIZE) * chunkCols + wordIndex * CHUNKS_PER_WORD;
+        int chunks = Math.min(CHUNKS_PER_WORD, chunkCols - wordIndex * CHUNKS_PER_WORD);
+        for (int key = firstKey; key < firstKey + chunks; key++) {
+            if (bits.ready.get(key) == 0) {
+                bits = loadCollision(row, wordIndex);
+                break;
+            }
+        }
+        return bits.words.getAcquire(row * wordsPerRow() + wordIndex);
+    }
+
+    private synchronized CollisionBits loadCollision(int row, int wordIndex) {
+        int col = wordIndex * 64;
+        for (int c = col; c < Math.min(col + 64, cols); c += CHUNK_SIZE) {
+            chunkAt(c, row); // copies the bits in when it loads the chunk
+        }
+        return collision;
+    }
+
+    /**
+     * Brings the chunks covering the given cells into memory, so they are ready
+     * before anyone needs them and are the last to be evicted.
+     */
+    public synchronized void touch(int firstCol, int firstRow, int lastCol, int lastRow) {
+        int fromCol = Math.max(firstCol, 0), toCol = Math.min(lastCol, cols - 1);
+        int fromRow = Math.max(firstRow, 0), toRow = Math.min(lastRow, rows - 1);
+        for (int row = fromRow - fromRow % CHUNK_SIZE; row <= toRow; row += CHUNK_SIZE) {
+            for (int col = fromCol - fromCol % CHUNK_SIZE; col <= toCol; col += CHUNK_SIZE) {
+                chunkAt(col, row);
+            }
+        }
+    }
+
+    /**
+     * The type of the tile at (col, row).
+     */
+    public synchronized TileData getType(int col, int row) {
+        return palette.get(get(col, row));
+    }
+
+    public synchronized TileData getPaletteEntry(int typeIndex) {
+        return palette.get(typeIndex);
+    }
+
+    public synchronized int getPaletteSize() {
+        return palette.size();
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public synchronized void setMaxResidentChunks(int maxResidentChunks) {
+        this.maxResidentChunks = Math.max(1, maxResidentChunks);
+    }
+
+    public synchronized int getResidentChunkCount() {
+        return resident.size();
+    }
+
+    public synchronized int getSpilledChunkCount() {
+        return spilled.size() + spilledChanges.size();
+    }
+
+    /**
+     * How many bytes the spilled chunks take, in whatever form each is kept.
+     */
+    public synchronized int getSpilledBytes() {
+        int bytes = 0;
+        for (byte[] data : spilled.values()) {
+            bytes += data.length;
+        }
+        for (byte[] data : spilledChanges.values()) {
+            bytes += data.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * A deep copy. Only changed chunks are copied; the rest is regenerated.
+     */
+    public synchronized TileGrid copy() {
+        return new TileGrid(this);
+    }
+
+    // ====================== Chunks ======================
+
+    private TileChunk chunkAt(int col, int row) {
+        int key = (row / CHUNK_SIZE) * chunkCols + (col / CHUNK_SIZE);
+        if (key == lastKey) {
+            return lastChunk;
+        }
+        TileChunk chunk = resident.get(key);
+        if (chunk == null) {
+            chunk = load(key);
+            resident.put(key, chunk); // may evict the least recently used chunk
+            if (collision.ready.get(key) == 0) {
+                copyCollision(key, chunk);
+            }
+        }
+        lastKey = key;
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private TileChunk load(int key) {
+        byte[] stored = spilled.remove(key);
+        if (stored != null) {
+            return TileChunk.decode(stored, collidableTypes());
+        }
+        byte[] changes = spilledChanges.remove(key);
+        if (changes != null) {
+            return TileChunk.applyChanges(changes, generate(key), collidableTypes());
+        }
+        // Never changed: generate it
+        return generate(key);
+    }
+
+    private TileChunk generate(int key) {
+        TileChunk chunk = new TileChunk();
+        int baseCol = (key % chunkCols) * CHUNK_SIZE;
+        int baseRow = (key / chunkCols) * CHUNK_SIZE;
+        for (int r = 0; r < CHUNK_SIZE; r++) {
+            for (int c = 0; c < CHUNK_SIZE; c++) {
+                int type = (layout != null) ? layout.typeAt(baseCol + c, baseRow + r) : fillType;
+                chunk.set(c, r, type, isCollidableType(type));
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Copies a chunk's collision bits into the grid-wide words.
+     */
+    private void copyCollision(int key, TileChunk chunk) {
+        CollisionBits bits = collision;
+        int baseCol = (key % chunkCols) * CHUNK_SIZE;
+        int baseRow = (key / chunkCols) * CHUNK_SIZE;
+        int shift = baseCol & 63;
+        long mask = 0xFFFFFFFFL << shift;
+        for (int r = 0; r < CHUNK_SIZE && baseRow + r < rows; r++) {
+            int index = (baseRow + r) * wordsPerRow() + (baseCol >>> 6);
+            long word = bits.words.getPlain(index);
+            bits.words.setRelease(index, (word & ~mask) | ((chunk.blocked[r] & 0xFFFFFFFFL) << shift));
+        }
+        bits.ready.set(key, 1);
+    }
+
+    private void evict(int key, TileChunk chunk) {
+        if (chunk.modified) {
+            spill(key, chunk);
+        }
+        if (key == lastKey) {
+            lastKey = -1;
+            lastChunk = null;
+        }
+    }
+
+    /**
+     * Keeps a changed chunk in the smaller of its two forms, or not at all if
+     * it was changed back to what it generates.
+     */
+    private void spill(int key, TileChunk chunk) {
+        TileChunk generated = generate(key);
+        if (Arrays.equals(chunk.cells, generated.cells)) {
+            return;
+        }
+        byte[] runs = chunk.encode();
+        byte[] changes = chunk.encodeChanges(generated);
+        if (changes.length < runs.length) {
+            spilledChanges.put(key, changes);
+        } else {
+            spilled.put(key, runs);
+        }
+    }
+
+    private void clearChunks() {
+        resident.clear();
+        spilled.clear();
+        spilledChanges.clear();
+        lastKey = -1;
+        lastChunk = null;
+        collision = newCollisionBits();
+    }
+
+    private boolean isCollidableType(int typeIndex) {
+        if (typeIndex >= palette.size()) {
+            return false; // empty grid
+        }
+        return collidableTypes()[typeIndex];
+    }
+
+    private boolean[] collidableTypes() {
+        if (collidableByType.length != palette.size()) {
+            collidableByType = new boolean[palette.size()];
+            for (int i = 0; i < collidableByType.length; i++) {
+                collidableByType[i] = palette.get(i).isCollidable();
+            }
+        }
+        return collidableByType;
+    }
+
+    // ====================== Serialization ======================
+
+    /**
+     * Writes the palette, the layout and each changed chunk in its stored form.
+     */
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        Map<Integer, byte[]> changed = new HashMap<>(spilled);
+        // Save files hold the stored form only
+        for (Map.Entry<Integer, byte[]> e : spilledChanges.entrySet()) {
+            TileChunk chunk = TileChunk.applyChanges(e.getValue(), generate(e.getKey()), collidableTypes());
+            changed.put(e.getKey(), chunk.encode());
+        }
+        for (Map.Entry<Integer, TileChunk> e : resident.entrySet()) {
+            if (e.getValue().modified) {
+                changed.put(e.getKey(), e.getValue().encode());
+            }
+        }
+        out.writeInt(changed.size());
+        for (Map.Entry<Integer, byte[]> e : changed.entrySet()) {
+            out.writeInt(e.getKey());
+            out.writeInt(e.getValue().length);
+            out.write(e.getValue());
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initTransientState();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int key = in.readInt();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            spilled.put(key, data);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package tr.edu.ku.comp302.ui;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+
+/**
+ * A heavyweight drawing surface for active rendering.
+ *
+ * The game thread draws straight into a page-flipped BufferStrategy and shows it,
+ * so frames are not coalesced or delayed by whatever else the EDT is doing.
+ * If the strategy's back buffers are not accelerated on this pipeline, frames are
+ * composed in an accelerated VolatileImage first and copied over in one blit.
+ */
+public class ActiveRenderSurface extends Canvas {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Draws one complete frame onto the given graphics.
+     */
+    public interface Painter {
+        void paint(Graphics2D g2, int width, int height);
+    }
+
+    private static final int NUM_BUFFERS = 2;
+
+    private boolean failed = false;
+    private boolean useVolatileBackBuffer = false;
+    private transient VolatileImage backBuffer;
+
+    public ActiveRenderSurface(Color background) {
+        setBackground(background);
+        // Frames come from the game loop, not from AWT paint requests
+        setIgnoreRepaint(true);
+        // Keyboard focus stays on the enclosing panel
+        setFocusable(false);
+    }
+
+    /**
+     * Renders and shows one frame.
+     *
+     * @return false if the surface cannot render right now (not on screen yet,
+     *         or buffer strategy creation failed); the caller should fall back
+     *         to passive painting.
+     */
+    public boolean render(Painter painter) {
+        int width = getWidth();
+        int height = getHeight();
+        if (failed || !isShowing() || width <= 0 || height <= 0) {
+            return false;
+        }
+        BufferStrategy strategy = ensureStrategy();
+        if (strategy == null) {
+            return false;
+        }
+
+        // Standard contents-lost loop: the buffers are volatile and may be
+        // reclaimed by the OS at any time (display mode change, screen lock, ...)
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    if (useVolatileBackBuffer) {
+                        paintThroughBackBuffer(g2, painter, width, height);
+                    } else {
+                        painter.paint(g2, width, height);
+                    }
+                } finally {
+                    g2.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // Flush the native pipeline, otherwise X11 may batch several frames together
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+
+    /**
+     * True once buffer strategy creation has failed for good.
+     */
+    public boolean hasFailed() {
+        return failed;
+    }
+
+    private BufferStrategy ensureStrategy() {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy != null) {
+            return strategy;
+        }
+        try {
+            BufferCapabilities flipping = new BufferCapabilities(
+                    new ImageCapabilities(true),
+                    new ImageCapabilities(true),
+                    BufferCapabilities.FlipContents.UNDEFINED);
+            try {
+                createBufferStrategy(NUM_BUFFERS, flipping);
+            } catch (AWTException e) {
+                // No page flipping on this pipeline, let AWT pick the best blit strategy
+                createBufferStrategy(NUM_BUFFERS);
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            System.err.println("Active rendering unavailable, using passive painting: " + e.getMessage());
+            failed = true;
+            return null;
+        }
+        strategy = getBufferStrategy();
+        if (strategy == null) {
+            failed = true;
+            return null;
+        }
+        useVolatileBackBuffer = !strategy.getCapabilities().getBackBufferCapabilities().isAccelerated();
+        return strategy;
+    }
+
+    private void paintThroughBackBuffer(Graphics2D target, Painter painter, int width, int height) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        do {
+            if (backBuffer == null
+                    || backBuffer.getWidth() != width
+                    || backBuffer.getHeight() != height
+                    || backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (backBuffer != null) {
+                    backBuffer.flush();
+                }
+                backBuffer = gc.createCompatibleVolatileImage(width, height);
+            }
+            Graphics2D g2 = backBuffer.createGraphics();
+            try {
+                painter.paint(g2, width, height);
+            } finally {
+                g2.dispose();
+            }
+            target.drawImage(backBuffer, 0, 0, null);
+        } while (backBuffer.contentsLost());
+    }
+
+    @Override
+    public void paint(Graphics g) {
+        // Intentionally empty: all drawing happens in render()
+    }
+
+    @Override
+    public void update(Graphics g) {
+        // Skip the default clear-to-background, which would flicker
+    }
+
+    @Override
+    public void removeNotify() {
+        if (backBuffer != null) {
+            backBuffer.flush();
+            backBuffer = null;
+        }
+        super.removeNotify();
+    }
+}
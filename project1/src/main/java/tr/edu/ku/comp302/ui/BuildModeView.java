@@ -8,7 +8,6 @@ import tr.edu.ku.comp302.domain.models.BuildObject;
 import tr.edu.ku.comp302.domain.models.HallType;
 import tr.edu.ku.comp302.config.GameConfig;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -85,21 +84,13 @@ public class BuildModeView extends JPanel {
     }*/
 
     private void loadObjectImages() {
-        objectImages = new HashMap<>();
-        try {
-            BufferedImage boxImg = ImageIO.read(getClass().getResourceAsStream("/assets/box.png"));
-            BufferedImage chestImg = ImageIO.read(getClass().getResourceAsStream("/assets/chest_closed.png"));
-            BufferedImage columnImg = ImageIO.read(getClass().getResourceAsStream("/assets/column_wall.png"));
-            BufferedImage skullImg = ImageIO.read(getClass().getResourceAsStream("/assets/skull.png"));
-            BufferedImage boxesStackedImg = ImageIO.read(getClass().getResourceAsStream("/assets/boxes_stacked.png"));
-
-            objectImages.put("box", boxImg);
-            objectImages.put("chest_closed", chestImg);
-            objectImages.put("column_wall", columnImg);
-            objectImages.put("skull", skullImg);
-            objectImages.put("boxes_stacked", boxesStackedImg);
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Resimler ResourceManager'da zaten yüklü, ayrı kopya okumaya gerek yok
+        objectImages = new LinkedHashMap<>();
+        for (String objName : new String[] { "box", "chest_closed", "column_wall", "skull", "boxes_stacked" }) {
+            BufferedImage img = ResourceManager.getImage(objName);
+            if (img != null) {
+                objectImages.put(objName, img);
+            }
         }
     }
 
@@ -248,10 +239,10 @@ public class BuildModeView extends JPanel {
             int py = obj.getY() * tileSize;
             if (img != null) {
                 if(imageName.trim().equals("column_wall") || imageName.trim().equals("boxes_stacked")){
-                    g2.drawImage(img, px, py - tileSize/2, tileSize, tileSize + tileSize/2, null);
+                    ResourceManager.drawSprite(g2, imageName.trim() + ResourceManager.TALL_SUFFIX, px, py - tileSize/2);
                 }
                 else{
-                    g2.drawImage(img, px, py, tileSize, tileSize, null);
+                    ResourceManager.drawSprite(g2, imageName, px, py);
                 }
             } else {
                 g.setColor(Color.RED);
@@ -0,0 +1,229 @@
+package tr.edu.ku.comp302.ui;
+
+import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.models.RenderSnapshot;
+import tr.edu.ku.comp302.domain.models.enchantments.EnchantmentType;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The play mode HUD (time, lives, hall name, inventory and active effects),
+ * kept drawn in an image and only drawn again when something it shows
+ * changes: a number, the inventory, an effect or the blink of an ending
+ * effect's bar. Every other frame it costs one drawImage.
+ *
+ * Labels are laid out into glyph vectors once, and numbers are drawn from
+ * one glyph vector per digit, so redrawing makes no strings.
+ *
+ * Used by whichever thread draws the play mode, one at a time.
+ */
+final class HudLayer {
+
+    private static final Font FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Color BAR_BACKGROUND = new Color(60, 60, 60);
+    private static final Color DARK_RED = new Color(180, 0, 0);
+    private static final Color ORANGE = new Color(255, 165, 0); // Turuncu
+    private static final Color GREEN = new Color(0, 255, 0); // Yeşil
+
+    private static final int TILE = GameConfig.TILE_SIZE;
+    private static final int INVENTORY_X = 1000;
+    private static final int EFFECTS_X = 1200;
+    private static final int HALL_NAME_X = 300;
+    private static final int ITEMS_PER_ROW = 3;
+    private static final int SPACING = TILE + 10; // tile size + extra space
+    private static final int BAR_WIDTH = 100;
+    private static final int BAR_HEIGHT = 5;
+    private static final int CLOAK_SECONDS = 20;
+    private static final int REVEAL_SECONDS = 10;
+    private static final int BLINK_PERIOD_MILLIS = 500;
+
+    private final String hallName;
+    private final Function<EnchantmentType, Image> icons;
+
+    private BufferedImage image;
+
+    // What the image shows; time is -1 until it is first drawn
+    private int shownTime = -1;
+    private int shownLives;
+    private long shownCloakSeconds = -1;
+    private long shownRevealSeconds = -1;
+    private boolean shownBlink;
+    private List<EnchantmentType> shownInventory;
+
+    // Laid out on the first draw, with the image's font metrics
+    private GlyphVector timeLabel, livesLabel, inventoryLabel, effectsLabel, hallLabel;
+    private GlyphVector cloakLabel, revealLabel, secondsSuffix;
+    private final GlyphVector[] digits = new GlyphVector[10];
+    private final float[] digitAdvance = new float[10];
+
+    /**
+     * @param icons the image of each enchantment type.
+     */
+    HudLayer(String hallName, Function<EnchantmentType, Image> icons) {
+        this.hallName = hallName;
+        this.icons = icons;
+    }
+
+    /**
+     * Draws the HUD of hud onto g2, redrawing the cached image first if needed.
+     */
+    void draw(Graphics2D g2, RenderSnapshot.Hud hud, int width) {
+        long now = System.currentTimeMillis();
+        long cloakSeconds = hud.cloakActive() ? hud.cloakRemainingMillis() / 1000 : -1;
+        long revealSeconds = hud.revealActive() ? hud.revealRemainingMillis() / 1000 : -1;
+        // Bars of effects about to end blink; only then does the time of day matter
+        boolean blinking = (cloakSeconds >= 0 && cloakSeconds <= 3) || (revealSeconds >= 0 && revealSeconds <= 3);
+        boolean blink = blinking && now % BLINK_PERIOD_MILLIS < BLINK_PERIOD_MILLIS / 2;
+        int height = heightFor(hud.inventory().size());
+
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = g2.getDeviceConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            shownTime = -1;
+        }
+        if (shownTime != hud.timeRemaining()
+                || shownLives != hud.lives()
+                || shownCloakSeconds != cloakSeconds
+                || shownRevealSeconds != revealSeconds
+                || shownBlink != blink
+                || !hud.inventory().equals(shownInventory)) {
+            render(hud, cloakSeconds, revealSeconds, blink);
+            shownTime = hud.timeRemaining();
+            shownLives = hud.lives();
+            shownCloakSeconds = cloakSeconds;
+            shownRevealSeconds = revealSeconds;
+            shownBlink = blink;
+            shownInventory = hud.inventory();
+        }
+        g2.drawImage(image, 0, 0, null);
+    }
+
+    private static int heightFor(int items) {
+        int rows = (items + ITEMS_PER_ROW - 1) / ITEMS_PER_ROW;
+        // Two effects, one under the other, with their bars
+        int effects = 30 + 2 * (TILE + 5) + BAR_HEIGHT;
+        return Math.max(effects, 40 + rows * SPACING);
+    }
+
+    private void render(RenderSnapshot.Hud hud, long cloakSeconds, long revealSeconds, boolean blink) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            if (timeLabel == null) {
+                layOutGlyphs(g.getFontRenderContext());
+            }
+
+            // Timer in the top-left corner
+            g.setColor(Color.WHITE);
+            drawNumber(g, hud.timeRemaining(), drawGlyphs(g, timeLabel, 10, 20), 20);
+            drawNumber(g, hud.lives(), drawGlyphs(g, livesLabel, 10, 46), 46);
+            g.drawGlyphVector(hallLabel, HALL_NAME_X, 20);
+            g.drawGlyphVector(inventoryLabel, INVENTORY_X, 20);
+
+            // Active effects on the right side
+            g.drawGlyphVector(effectsLabel, EFFECTS_X, 20);
+            if (cloakSeconds >= 0) {
+                drawEffect(g, EnchantmentType.CLOAK_OF_PROTECTION, cloakLabel, 30,
+                        cloakSeconds, CLOAK_SECONDS, 7, blink);
+            }
+            if (revealSeconds >= 0) {
+                int revealY = cloakSeconds >= 0 ? 30 + TILE + 5 : 30;
+                drawEffect(g, EnchantmentType.REVEAL, revealLabel, revealY,
+                        revealSeconds, REVEAL_SECONDS, 5, blink);
+            }
+
+            int i = 0;
+            for (EnchantmentType type : hud.inventory()) {
+                int x = INVENTORY_X + (i % ITEMS_PER_ROW) * SPACING;
+                int y = 40 + (i / ITEMS_PER_ROW) * SPACING; // starting below the "Inventory" text
+                switch (type) {
+                    case REVEAL, CLOAK_OF_PROTECTION, LURING_GEM -> g.drawImage(icons.apply(type), x, y, TILE, TILE, null);
+                    default -> {
+                        // Extra time and extra life are not added to inventory
+                    }
+                }
+                i++;
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * An active effect: its icon, "<label><seconds>s)" and a bar of the time
+     * left, orange at or under orangeSeconds and blinking red at 3 or less.
+     */
+    private void drawEffect(Graphics2D g, EnchantmentType type, GlyphVector label, int y,
+                            long seconds, int totalSeconds, int orangeSeconds, boolean blink) {
+        g.drawImage(icons.apply(type), EFFECTS_X, y, TILE, TILE, null);
+        int textX = EFFECTS_X + TILE + 5;
+        int textY = y + TILE / 2;
+        g.setColor(Color.WHITE);
+        float x = drawGlyphs(g, label, textX, textY);
+        x = drawNumber(g, seconds, x, textY);
+        g.drawGlyphVector(secondsSuffix, x, textY);
+
+        int barY = textY + 8;
+        g.setColor(BAR_BACKGROUND);
+        g.fillRect(textX, barY, BAR_WIDTH, BAR_HEIGHT);
+        float remainingRatio = Math.max(0, Math.min(1, seconds / (float) totalSeconds));
+        if (seconds <= 3) {
+            g.setColor(blink ? Color.RED : DARK_RED);
+        } else if (seconds <= orangeSeconds) {
+            g.setColor(ORANGE);
+        } else {
+            g.setColor(GREEN);
+        }
+        g.fillRect(textX, barY, (int) (BAR_WIDTH * remainingRatio), BAR_HEIGHT);
+    }
+
+    private void layOutGlyphs(FontRenderContext frc) {
+        timeLabel = FONT.createGlyphVector(frc, "Time Remaining: ");
+        livesLabel = FONT.createGlyphVector(frc, "Lives: ");
+        inventoryLabel = FONT.createGlyphVector(frc, "Inventory");
+        effectsLabel = FONT.createGlyphVector(frc, "Active Effects:");
+        hallLabel = FONT.createGlyphVector(frc, hallName);
+        cloakLabel = FONT.createGlyphVector(frc, "Cloak Active (");
+        revealLabel = FONT.createGlyphVector(frc, "Reveal Active (");
+        secondsSuffix = FONT.createGlyphVector(frc, "s)");
+        for (int d = 0; d < 10; d++) {
+            digits[d] = FONT.createGlyphVector(frc, String.valueOf((char) ('0' + d)));
+            digitAdvance[d] = (float) digits[d].getLogicalBounds().getWidth();
+        }
+    }
+
+    /**
+     * @return the x the next glyphs go at.
+     */
+    private static float drawGlyphs(Graphics2D g, GlyphVector glyphs, float x, float y) {
+        g.drawGlyphVector(glyphs, x, y);
+        return x + (float) glyphs.getLogicalBounds().getWidth();
+    }
+
+    /**
+     * Draws a number from the digit glyphs.
+     *
+     * @return the x after its last digit.
+     */
+    private float drawNumber(Graphics2D g, long n, float x, float y) {
+        if (n < 0) {
+            n = 0;
+        }
+        long divisor = 1;
+        while (divisor * 10 <= n) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            int d = (int) (n / divisor % 10);
+            g.drawGlyphVector(digits[d], x, y);
+            x += digitAdvance[d];
+        }
+        return x;
+    }
+}
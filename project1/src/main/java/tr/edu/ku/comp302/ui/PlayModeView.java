@@ -6,8 +6,7 @@ import tr.edu.ku.comp302.domain.models.BuildObject;
 import tr.edu.ku.comp302.domain.models.GameState;
 import tr.edu.ku.comp302.domain.models.HallType;
 import tr.edu.ku.comp302.domain.models.Player;
-import tr.edu.ku.comp302.domain.models.enchantments.Enchantment;
-import tr.edu.ku.comp302.domain.models.enchantments.EnchantmentType;
+import tr.edu.ku.comp302.domain.models.RenderSnapshot;
 
 import javax.swing.*;
 
@@ -16,22 +15,30 @@ import com.google.gson.GsonBuilder;
 
 import java.util.List;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
 
-public class PlayModeView extends JPanel implements Runnable {
+public class PlayModeView extends JPanel implements Runnable, PlayModeListener {
 
     private Thread gameThread;
     private final NavigationController navigationController;
     private PlayModeController playModeController = null;
     private final KeyHandler keyHandler;
     private volatile boolean running = true;
+    private volatile long lastTickTime = System.nanoTime(); // nanoTime of the latest simulated tick
+    private volatile ActiveRenderSurface activeSurface = null; // null => passive painting via paintComponent
     private boolean pauseMenuShown = false;
     private final HallType hallType;
     private final String jsonData;
     private boolean showDamageIndicators = false; // Varsayılan olarak kapalı
 
     private static final String SAVES_DIRECTORY = "saves";
+    private static final Color DAMAGE_OVERLAY = new Color(255, 0, 0, 120);
+
+    // Redrawn only when what it shows changes
+    private final transient HudLayer hudLayer;
 
 
 
@@ -49,6 +56,7 @@ public class PlayModeView extends JPanel implements Runnable {
         this.setBackground(new Color(66, 40, 53));
         this.hallType = hallType;
         this.jsonData = jsonData;
+        this.hudLayer = new HudLayer(hallType.toText(), type -> playModeController.getEnchantmentController().getImage(type));
 
         // Initialize KeyHandler and PlayModeController
         keyHandler = new KeyHandler();
@@ -56,8 +64,7 @@ public class PlayModeView extends JPanel implements Runnable {
         
         this.navigationController = navigationController;
         playModeController = new PlayModeController(keyHandler, mouseHandler, jsonData, hallType, player);
-        playModeController.setNavigationController(this.navigationController);
-        playModeController.setPlayModeView(this);
+        playModeController.setPlayModeListener(this);
 
         // Timer
         playModeController.startTimerForNewGame(
@@ -87,6 +94,8 @@ public class PlayModeView extends JPanel implements Runnable {
         this.setFocusable(true);
         this.requestFocusInWindow();
 
+        installActiveSurface(mouseHandler);
+
         // Regain focus when hierarchy changes
         this.addHierarchyListener(e -> {
             if (isShowing()) {
@@ -103,6 +112,7 @@ public class PlayModeView extends JPanel implements Runnable {
         this.navigationController = navigationController;
         this.hallType = loadedState.getCurrentHall();
         this.jsonData = exportWorldObjectsMapToJson(loadedState.getWorldObjectsMap()); // Because we are not loading from JSON now
+        this.hudLayer = new HudLayer(this.hallType.toText(), type -> playModeController.getEnchantmentController().getImage(type));
 
         // Create Key/Mouse handlers
         keyHandler = new KeyHandler();
@@ -116,8 +126,7 @@ public class PlayModeView extends JPanel implements Runnable {
         // e.g. new Player(0,0,GameConfig.PLAYER_SPEED)
 
         this.playModeController = new PlayModeController(keyHandler, mouseHandler, /*json*/ null, this.hallType, player);
-        this.playModeController.setNavigationController(this.navigationController);
-        this.playModeController.setPlayModeView(this);
+        this.playModeController.setPlayModeListener(this);
 
         // Now actually restore data from loadedState:
         this.playModeController.restoreFromGameState(loadedState);
@@ -139,10 +148,29 @@ public class PlayModeView extends JPanel implements Runnable {
         this.addKeyListener(keyHandler);
         this.addMouseListener(mouseHandler);
 
+        installActiveSurface(mouseHandler);
+
         // Kick off the game loop
         startGameThread();
     }
 
+    /**
+     * In active rendering mode, frames are drawn by the game thread onto a
+     * BufferStrategy-backed canvas covering this panel. paintComponent() stays
+     * as the passive fallback when the canvas can't be used.
+     */
+    private void installActiveSurface(MouseHandler mouseHandler) {
+        if (!GameConfig.ACTIVE_RENDERING || GraphicsEnvironment.isHeadless()) {
+            return;
+        }
+        ActiveRenderSurface surface = new ActiveRenderSurface(getBackground());
+        // The canvas is heavyweight, so it receives the clicks instead of this panel
+        surface.addMouseListener(mouseHandler);
+        setLayout(new BorderLayout());
+        add(surface, BorderLayout.CENTER);
+        activeSurface = surface;
+    }
+
     public String exportWorldObjectsMapToJson(Map<HallType, List<BuildObject>> hallMap) {
         // Convert HallType -> List<BuildObject> 
         // into a Map<String, List<BuildObject>> so that 
@@ -171,43 +199,159 @@ public class PlayModeView extends JPanel implements Runnable {
 
     public void stopRunning() {
         running = false;
+        wakeGameThread();
     }
 
     public void stopGameThread(){
         running = false;
+        wakeGameThread();
         gameThread = null;
     }
 
+    private void wakeGameThread() {
+        Thread t = gameThread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    /**
+     * Fixed-timestep loop: the simulation advances in steps of exactly
+     * 1/TICK_RATE seconds, repaints are requested at most MAX_FPS times per second,
+     * and the thread parks until the next tick or frame is due instead of spinning.
+     */
     @Override
     public void run() {
-        long lastTime = System.nanoTime();
-        double drawInterval = 1000000000.0 / 60.0;
-        double delta = 0;
+        final long tickNanos = 1_000_000_000L / GameConfig.TICK_RATE;
+        final long frameNanos = 1_000_000_000L / GameConfig.MAX_FPS;
+
+        long previous = System.nanoTime();
+        long lag = 0;
+        long nextFrame = previous;
+        lastTickTime = previous;
 
         while (running) {
-            long currentTime = System.nanoTime();
-            delta += (currentTime - lastTime) / drawInterval;
-            lastTime = currentTime;
+            long now = System.nanoTime();
+            lag += now - previous;
+            previous = now;
+
+            int ticks = 0;
+            while (lag >= tickNanos && ticks < GameConfig.MAX_TICKS_PER_FRAME) {
+                tick();
+                lag -= tickNanos;
+                ticks++;
+            }
+            if (lag >= tickNanos) {
+                // We fell too far behind (debugger, GC, sleeping machine); don't try to catch up
+                lag %= tickNanos;
+            }
+            // Wall-clock time the latest simulated tick corresponds to
+            lastTickTime = now - lag;
 
-            if (delta >= 1) {
-                if (playModeController.isPaused()) {
-                    if (!pauseMenuShown) {
-                        pauseMenuShown = true;
-                        showPauseMenu();
-                    }
-                } else {
-                    if(playModeController.getTimeRemaining() != 0){
-                        update();
-                    }
-                }
-                delta--;
-                repaint();
+            if (now - nextFrame >= 0) {
+                presentFrame();
+                nextFrame = Math.max(nextFrame + frameNanos, now);
+            }
+
+            long nextTick = now + (tickNanos - lag);
+            long wakeUp = Math.min(nextTick, nextFrame);
+            long sleep = wakeUp - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+        }
+    }
+
+    /**
+     * Draws a frame from the game thread when active rendering is available,
+     * otherwise asks Swing to repaint.
+     */
+    private void presentFrame() {
+        ActiveRenderSurface surface = activeSurface;
+        if (surface != null) {
+            if (surface.render(this::drawActiveFrame)) {
+                return;
+            }
+            if (surface.hasFailed()) {
+                activeSurface = null;
+                SwingUtilities.invokeLater(() -> {
+                    remove(surface);
+                    revalidate();
+                });
             }
         }
+        repaint();
+    }
+
+    private void drawActiveFrame(Graphics2D g2, int width, int height) {
+        g2.setColor(getBackground());
+        g2.fillRect(0, 0, width, height);
+        drawScene(g2, width, height);
+    }
+
+    private void tick() {
+        if (playModeController.isPaused()) {
+            if (!pauseMenuShown) {
+                pauseMenuShown = true;
+                showPauseMenu();
+            }
+        } else {
+            if(playModeController.getTimeRemaining() != 0){
+                update();
+            }
+        }
+    }
+
+    /**
+     * How far the wall clock is past the latest tick, as a fraction of a tick.
+     * Used to interpolate entity positions when drawing.
+     */
+    private float renderAlpha() {
+        float alpha = (System.nanoTime() - lastTickTime) / (1_000_000_000f / GameConfig.TICK_RATE);
+        return Math.max(0f, Math.min(1f, alpha));
     }
 
     public void update() {
         playModeController.update();
+
+        // Hasar göstergeleri için tuş kontrolü
+        if (keyHandler.hPressed) {
+            keyHandler.hPressed = false; // Tuşu sıfırla
+            toggleDamageIndicators(); // Göstergeleri aç/kapat
+        }
+    }
+
+    @Override
+    public void onGameOver(String message) {
+        navigationController.endGameAndShowMainMenu(message);
+    }
+
+    @Override
+    public void onHallCompleted(HallType completedHall) {
+        SwingUtilities.invokeLater(() -> {
+            // Create a dialog with a message and button
+            int result = JOptionPane.showOptionDialog(
+                    null,
+                    "Hall is completed! Ready for the next challenge?",
+                    "Game Completed",
+                    JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.INFORMATION_MESSAGE,
+                    null,
+                    new String[]{"Next"}, // Button text
+                    "Next"
+            );
+
+            // Handle button click
+            if (result == JOptionPane.OK_OPTION) {
+                HallType nextHall = playModeController.advanceToNextHall();
+                if (nextHall != null) {
+                    navigationController.startNewPlayModeFromJson(playModeController.getJsonData(), nextHall);
+                } else {
+                    // End the game and show the main menu
+                    navigationController.endGameAndShowMainMenu("Congratulations! You have completed the game.");
+                }
+            }
+        });
     }
 
     private void showPauseMenu() {
@@ -305,160 +449,66 @@ public class PlayModeView extends JPanel implements Runnable {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
-
-        playModeController.draw(g2);
-
-        // when lives is down 
-        if (playModeController.getPlayerController().getEntity().isDrawDamageBox()) {
-            g2.setColor(new Color(255, 0, 0, 120)); 
-            g2.fillRect(0, 0, getWidth(), getHeight()); 
+        if (activeSurface != null) {
+            // The game thread draws this panel's content
+            return;
         }
+        drawScene((Graphics2D) g, getWidth(), getHeight());
+    }
 
-        // Timer in the top-left corner
-        g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 16));
-        g2.drawString("Time Remaining: " + playModeController.getTimeRemaining(), 10, 20);
-        g2.drawString("Lives: " + playModeController.getPlayerController().getEntity().getLives(), 10, 46);
-        int i = 0;
-        g2.drawString("Inventory", 1000, 20);
-        int itemsPerRow = 3; // Number of items per row
-        int spacing = GameConfig.TILE_SIZE + 10; // Spacing between items (tile size + extra space)
-
-        // Draw Active Enchantments (moved to right side)
-        int activeEffectsX = 1200; // Yeni x koordinatı
-        g2.drawString("Active Effects:", activeEffectsX, 20);
-        if (playModeController.getPlayerController().getEntity().isCloakActive()) {
-            g2.drawImage(playModeController.getEnchantmentController().getImage(EnchantmentType.CLOAK_OF_PROTECTION), 
-                        activeEffectsX, 30, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-            long remainingCloakTime = (playModeController.getPlayerController().getEntity().getCloakEndTime() - System.currentTimeMillis()) / 1000;
-            g2.drawString("Cloak Active (" + remainingCloakTime + "s)", activeEffectsX + GameConfig.TILE_SIZE + 5, 30 + GameConfig.TILE_SIZE/2);
-            
-            // Draw time bar for Cloak
-            int barWidth = 100;
-            int barHeight = 5;
-            int barX = activeEffectsX + GameConfig.TILE_SIZE + 5;
-            int barY = 30 + GameConfig.TILE_SIZE/2 + 8;
-            
-            // Background (gray bar)
-            g2.setColor(new Color(60, 60, 60));
-            g2.fillRect(barX, barY, barWidth, barHeight);
-            
-            // Calculate remaining ratio (20 seconds total for Cloak)
-            float remainingRatio = (float)(remainingCloakTime) / 20.0f;
-            remainingRatio = Math.max(0, Math.min(1, remainingRatio)); // Clamp between 0 and 1
-            
-            // Choose color based on remaining time
-            Color barColor;
-            if (remainingCloakTime <= 3) {
-                // Yanıp sönme efekti için zamanı kontrol et
-                if (System.currentTimeMillis() % 500 < 250) { // Her 0.5 saniyede bir yanıp sön
-                    barColor = Color.RED;
-                } else {
-                    barColor = new Color(180, 0, 0);
-                }
-            } else if (remainingCloakTime <= 7) {
-                barColor = new Color(255, 165, 0); // Turuncu
-            } else {
-                barColor = new Color(0, 255, 0); // Yeşil
-            }
-            
-            g2.setColor(barColor);
-            g2.fillRect(barX, barY, (int)(barWidth * remainingRatio), barHeight);
-        }
-        
-        if (playModeController.getPlayerController().getEntity().isRevealActive()) {
-            int revealY = playModeController.getPlayerController().getEntity().isCloakActive() ? 
-                         30 + GameConfig.TILE_SIZE + 5 : 30;
-            g2.drawImage(playModeController.getEnchantmentController().getImage(EnchantmentType.REVEAL), 
-                        activeEffectsX, revealY, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-            long remainingRevealTime = (playModeController.getPlayerController().getEntity().getRevealEndTime() - System.currentTimeMillis()) / 1000;
-            g2.drawString("Reveal Active (" + remainingRevealTime + "s)", activeEffectsX + GameConfig.TILE_SIZE + 5, revealY + GameConfig.TILE_SIZE/2);
-            
-            // Draw time bar for Reveal
-            int barWidth = 100;
-            int barHeight = 5;
-            int barX = activeEffectsX + GameConfig.TILE_SIZE + 5;
-            int barY = revealY + GameConfig.TILE_SIZE/2 + 8;
-            
-            // Background (gray bar)
-            g2.setColor(new Color(60, 60, 60));
-            g2.fillRect(barX, barY, barWidth, barHeight);
-            
-            // Calculate remaining ratio (10 seconds total for Reveal)
-            float remainingRatio = (float)(remainingRevealTime) / 10.0f;
-            remainingRatio = Math.max(0, Math.min(1, remainingRatio)); // Clamp between 0 and 1
-            
-            // Choose color based on remaining time
-            Color barColor;
-            if (remainingRevealTime <= 3) {
-                // Yanıp sönme efekti için zamanı kontrol et
-                if (System.currentTimeMillis() % 500 < 250) { // Her 0.5 saniyede bir yanıp sön
-                    barColor = Color.RED;
-                } else {
-                    barColor = new Color(180, 0, 0);
-                }
-            } else if (remainingRevealTime <= 5) {
-                barColor = new Color(255, 165, 0); // Turuncu
-            } else {
-                barColor = new Color(0, 255, 0); // Yeşil
-            }
-            
-            g2.setColor(barColor);
-            g2.fillRect(barX, barY, (int)(barWidth * remainingRatio), barHeight);
+    /**
+     * Draws the world and the HUD. Shared by the passive (paintComponent)
+     * and active (game thread) rendering paths.
+     */
+    private void drawScene(Graphics2D g2, int width, int height) {
+        // Everything below comes from one published tick, never from live game objects
+        RenderSnapshot snap = playModeController.getSnapshot();
+        if (snap == null) {
+            return;
         }
+        RenderSnapshot.Hud hud = snap.hud();
 
-        i = 0; // Reset i to 0
-        for (Enchantment e : playModeController.getPlayerController().getEntity().getInventory().getAllItems()) {
-            int col = i % itemsPerRow; // Determine the column (0, 1, or 2)
-            int row = i / itemsPerRow; // Determine the row (increments every 3 items)
+        float alpha = renderAlpha();
+        playModeController.draw(g2, alpha);
 
-            int x = 1000 + col * spacing; // Calculate x position
-            int y = 40 + row * spacing;   // Calculate y position (starting below the "Inventory" text)
-
-            switch (e.getType()) {
-                case EXTRA_TIME -> {
-                    //Extra time is not added to inventory
-                }
-                case EXTRA_LIFE -> {
-                    //Extra life is not added to inventory
-                }
-                case REVEAL -> {
-                    g2.drawImage(playModeController.getEnchantmentController().getImage(EnchantmentType.REVEAL), x, y,
-                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                }
-                case CLOAK_OF_PROTECTION -> {
-                    g2.drawImage(playModeController.getEnchantmentController().getImage(EnchantmentType.CLOAK_OF_PROTECTION), x, y,
-                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                }
-                case LURING_GEM -> {
-                    g2.drawImage(playModeController.getEnchantmentController().getImage(EnchantmentType.LURING_GEM), x, y,
-                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                }
-            }
-            i++;
+        // when lives is down 
+        if (hud.damageBox()) {
+            g2.setColor(DAMAGE_OVERLAY);
+            g2.fillRect(0, 0, width, height); 
         }
-        g2.setColor(Color.WHITE);
-        g2.drawString(hallType.toText(), 300, 20);
+
+        hudLayer.draw(g2, hud, width);
 
         // Draw damage indicators
-        drawDamageIndicators(g2);
+        drawDamageIndicators(g2, snap, alpha);
     }
 
-    private void drawDamageIndicators(Graphics2D g2) {
+    private void drawDamageIndicators(Graphics2D g2, RenderSnapshot snap, float alpha) {
         if (!showDamageIndicators) return; // Eğer kapalıysa hiç çizme
         
         // Orijinal çizim kalitesini sakla
         Object originalHint = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
         Composite originalComposite = g2.getComposite();
+        AffineTransform originalTransform = g2.getTransform();
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        for (var monster : playModeController.getMonsterController().getMonsters()) {
-            if (monster.getType().equals("ARCHER")) {
-                int monsterX = monster.getX();
-                int monsterY = monster.getY();
+        // Indicators are drawn in world coordinates, like the monsters
+        RenderSnapshot.Viewport view = snap.viewport();
+        Rectangle visible = new Rectangle(view.renderX(alpha), view.renderY(alpha), view.width(), view.height());
+        g2.translate(-visible.x, -visible.y);
+        // Large enough for the widest indicator, the fighter's chase range
+        int reach = Math.max(3, GameConfig.FIGHTER_CHASE_DISTANCE) * GameConfig.TILE_SIZE;
+
+        for (RenderSnapshot.Sprite monster : snap.monsters()) {
+            if (!visible.intersects(monster.x() - reach, monster.y() - reach,
+                    2 * reach + GameConfig.TILE_SIZE, 2 * reach + GameConfig.TILE_SIZE)) {
+                continue;
+            }
+            if (monster.kind().equals("ARCHER")) {
+                int monsterX = monster.x();
+                int monsterY = monster.y();
                 
-                if (!playModeController.getPlayerController().getEntity().isCloakActive()) {
+                if (!snap.hud().cloakActive()) {
                     int range = 3 * GameConfig.TILE_SIZE;
                     int centerX = monsterX + GameConfig.TILE_SIZE/2;
                     int centerY = monsterY + GameConfig.TILE_SIZE/2;
@@ -472,9 +522,9 @@ public class PlayModeView extends JPanel implements Runnable {
                     g2.setColor(new Color(135, 206, 235, 15));
                     g2.fillOval(centerX - innerRange, centerY - innerRange, innerRange * 2, innerRange * 2);
                 }
-            } else if (monster.getType().equals("FIGHTER")) {
-                int monsterX = monster.getX();
-                int monsterY = monster.getY();
+            } else if (monster.kind().equals("FIGHTER")) {
+                int monsterX = monster.x();
+                int monsterY = monster.y();
                 
                 int size = GameConfig.TILE_SIZE;
                 int[][] directions = {{0,-1}, {0,1}, {-1,0}, {1,0}}; // üst, alt, sol, sağ
@@ -502,6 +552,7 @@ public class PlayModeView extends JPanel implements Runnable {
         }
         
         // Orijinal çizim ayarlarını geri yükle
+        g2.setTransform(originalTransform);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, originalHint);
         g2.setComposite(originalComposite);
     }
@@ -0,0 +1,59 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tr.edu.ku.comp302.domain.models.RenderSnapshot;
+
+import java.awt.Point;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CameraTest {
+
+    private Camera camera;
+
+    @BeforeEach
+    void setUp() {
+        // 100x50 screen over a 1000x500 world
+        camera = new Camera(100, 50, 1000, 500);
+    }
+
+    @Test
+    void testFollowCentersAndClampsToWorld() {
+        camera.snapTo(500, 250);
+        assertEquals(450, camera.getX());
+        assertEquals(225, camera.getY());
+
+        camera.follow(10, 10);
+        assertEquals(0, camera.getX());
+        assertEquals(0, camera.getY());
+
+        camera.follow(990, 490);
+        assertEquals(900, camera.getX());
+        assertEquals(450, camera.getY());
+    }
+
+    @Test
+    void testWorldSmallerThanScreenStaysAtOrigin() {
+        camera.setWorldSize(60, 30);
+        camera.follow(50, 25);
+
+        assertEquals(0, camera.getX());
+        assertEquals(0, camera.getY());
+    }
+
+    @Test
+    void testScreenToWorldAndInterpolation() {
+        camera.snapTo(500, 250);
+        camera.follow(520, 250);
+
+        assertEquals(new Point(475, 235), camera.screenToWorld(new Point(5, 10)));
+        assertNull(camera.screenToWorld(null));
+
+        RenderSnapshot.Viewport view = camera.snapshot();
+        assertEquals(450, view.renderX(0f));
+        assertEquals(460, view.renderX(0.5f));
+        assertEquals(470, view.renderX(1f));
+        assertEquals(100, view.width());
+    }
+}
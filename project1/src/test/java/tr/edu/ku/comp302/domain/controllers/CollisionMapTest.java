@@ -0,0 +1,66 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollisionMapTest {
+
+    private static final int CELL = 10;
+
+    private CollisionMap map;
+
+    @BeforeEach
+    void setUp() {
+        // Wider than one word per row, so queries span several words
+        map = new CollisionMap(100, 5, CELL);
+    }
+
+    @Test
+    void testSetAndClearCells() {
+        map.set(70, 2, true);
+        assertTrue(map.isBlocked(70, 2));
+        assertFalse(map.isBlocked(69, 2));
+
+        map.set(70, 2, false);
+        assertFalse(map.isBlocked(70, 2));
+
+        // Out of bounds is always free and ignored
+        map.set(-1, 0, true);
+        assertFalse(map.isBlocked(-1, 0));
+        assertFalse(map.isBlocked(100, 0));
+    }
+
+    @Test
+    void testAreaQueryCoversEveryTouchedCell() {
+        map.set(64, 3, true);
+
+        // Box from column 60 to 70 in row 3 crosses the word boundary at 64
+        assertTrue(map.isAreaBlocked(600, 30, 110, 10));
+        // Ending one pixel before column 64
+        assertFalse(map.isAreaBlocked(600, 30, 40, 10));
+        // Same columns, other rows
+        assertFalse(map.isAreaBlocked(600, 0, 110, 30));
+        // Partly off the grid
+        assertTrue(map.isAreaBlocked(645, -100, 1, 200));
+        assertFalse(map.isAreaBlocked(-50, -50, 40, 40));
+    }
+
+    @Test
+    void testSegmentQuery() {
+        map.set(5, 2, true);
+
+        // Horizontal through the blocked cell, and just above it
+        assertTrue(map.isSegmentBlocked(0, 25, 99, 25));
+        assertFalse(map.isSegmentBlocked(0, 15, 99, 15));
+
+        // Diagonal through (5, 2) and one that stays clear of it
+        assertTrue(map.isSegmentBlocked(0, 0, 99, 49));
+        assertFalse(map.isSegmentBlocked(0, 49, 30, 0));
+
+        // Vertical, both directions
+        assertTrue(map.isSegmentBlocked(55, 49, 55, 0));
+        assertFalse(map.isSegmentBlocked(45, 0, 45, 49));
+    }
+}
@@ -0,0 +1,47 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CollisionSnapshotTest {
+
+    private static final int CELL = 10;
+
+    @Test
+    void testReadsTheCopyNotTheTiles() {
+        TilesController tiles = mock(TilesController.class);
+        when(tiles.getWorldWidth()).thenReturn(200 * CELL);
+        when(tiles.getWorldHeight()).thenReturn(20 * CELL);
+        // Column 70 of row 5 is a wall
+        when(tiles.collisionWord(5, 1)).thenReturn(1L << 6);
+
+        CollisionSnapshot snapshot = new CollisionSnapshot(CELL);
+        snapshot.take(tiles, 60, 3, 80, 8);
+        assertTrue(snapshot.isAreaBlocked(70 * CELL, 5 * CELL, CELL, CELL));
+        assertFalse(snapshot.isAreaBlocked(71 * CELL, 5 * CELL, CELL, CELL));
+
+        // Later changes to the tiles are not seen until the next take
+        when(tiles.collisionWord(5, 1)).thenReturn(0L);
+        assertTrue(snapshot.isAreaBlocked(70 * CELL, 5 * CELL, CELL, CELL));
+        snapshot.take(tiles, 60, 3, 80, 8);
+        assertFalse(snapshot.isAreaBlocked(70 * CELL, 5 * CELL, CELL, CELL));
+    }
+
+    @Test
+    void testCopiesOnlyTheWordsOfTheBox() {
+        TilesController tiles = mock(TilesController.class);
+        when(tiles.getWorldWidth()).thenReturn(200 * CELL);
+        when(tiles.getWorldHeight()).thenReturn(20 * CELL);
+        when(tiles.collisionWord(anyInt(), anyInt())).thenReturn(-1L);
+
+        CollisionSnapshot snapshot = new CollisionSnapshot(CELL);
+        snapshot.take(tiles, 70, 5, 75, 6);
+        // Two rows of word 1; the rest reads as free
+        verify(tiles, times(2)).collisionWord(anyInt(), anyInt());
+        assertTrue(snapshot.isAreaBlocked(64 * CELL, 6 * CELL, CELL, CELL));
+        assertFalse(snapshot.isAreaBlocked(63 * CELL, 6 * CELL, CELL, CELL));
+        assertFalse(snapshot.isAreaBlocked(70 * CELL, 7 * CELL, CELL, CELL));
+    }
+}
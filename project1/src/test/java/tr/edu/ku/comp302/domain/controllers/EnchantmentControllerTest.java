@@ -38,6 +38,9 @@ class EnchantmentControllerTest {
     void setUp() {
         // Mock the TilesController
         mockTilesController = mock(TilesController.class);
+        // Spawning picks cells inside the hall
+        when(mockTilesController.getHallCols()).thenReturn(GameConfig.NUM_HALL_COLS);
+        when(mockTilesController.getHallRows()).thenReturn(GameConfig.NUM_HALL_ROWS);
 
         // Initialize EnchantmentController with mocked TilesController
         enchantmentController = new EnchantmentController(mockTilesController);
@@ -108,6 +111,29 @@ class EnchantmentControllerTest {
         assertFalse(activeEnchantments.contains(enchantment), "Expired enchantment should be removed.");
     }
 
+    /**
+     * Test Case 2b: Verify that an enchantment is still there after exactly its lifetime.
+     *
+     * @requires 
+     *   - One enchantment with a known spawn time.
+     * @modifies enchantmentController.enchantments
+     * @effects 
+     *   - It is present at spawn + lifetime and gone one second later.
+     */
+    @Test
+    void testEnchantmentLastsItsWholeLifetime() {
+        int spawnTime = 10;
+        Enchantment enchantment = new ExtraTimeEnchantment(200, 200, spawnTime);
+        enchantmentController.enchantments.add(enchantment);
+
+        enchantmentController.tick(spawnTime + enchantment.getLifetimeSeconds());
+        assertTrue(enchantmentController.getEnchantments().contains(enchantment),
+                "An enchantment exactly its lifetime old is not expired yet.");
+
+        enchantmentController.tick(spawnTime + enchantment.getLifetimeSeconds() + 1);
+        assertFalse(enchantmentController.getEnchantments().contains(enchantment));
+    }
+
     /**
      * Test Case 3: Verify that clicking on an enchantment collects it and adds it to the player's inventory.
      *
@@ -0,0 +1,61 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static tr.edu.ku.comp302.domain.controllers.TestHalls.*;
+
+class FlowFieldTest {
+
+    private TilesController mockTilesController;
+
+    @BeforeEach
+    void setUp() {
+        // A 5x5 hall with a wall down column 2, open only on the bottom row
+        mockTilesController = mockHall(
+                "..#..",
+                "..#..",
+                "..#..",
+                "..#..",
+                ".....");
+    }
+
+    @Test
+    void testStepsLeadAroundWalls() {
+        FlowField field = new FlowField(mockTilesController, Integer.MAX_VALUE);
+        field.retarget(X0 + 4, Y0);
+
+        // From the other side of the wall the path goes down through the gap
+        assertEquals(12, field.distanceAt(X0, Y0));
+        assertEquals(1, field.directionAt(X0 + 1, Y0 + 3), "Down toward the gap");
+        assertEquals(FlowField.NONE, field.directionAt(X0 + 4, Y0));
+        assertEquals(-1, field.distanceAt(X0 + 2, Y0), "Walls are never reached");
+
+        // Following the directions arrives in distanceAt steps
+        int col = X0, row = Y0, steps = 0;
+        while (field.directionAt(col, row) != FlowField.NONE) {
+            int d = field.directionAt(col, row);
+            col += FlowField.dx(d);
+            row += FlowField.dy(d);
+            steps++;
+        }
+        assertEquals(X0 + 4, col);
+        assertEquals(Y0, row);
+        assertEquals(12, steps);
+    }
+
+    @Test
+    void testSearchesOnlyWhenTargetOrTilesChange() {
+        FlowField field = new FlowField(mockTilesController, 2);
+
+        assertTrue(field.retarget(X0, Y0));
+        assertFalse(field.retarget(X0, Y0));
+        assertEquals(-1, field.distanceAt(X0 + 1, Y0 + 2), "Beyond maxSteps is unreachable");
+
+        when(mockTilesController.getTileVersion()).thenReturn(1);
+        assertTrue(field.retarget(X0, Y0));
+        assertTrue(field.retarget(X0 + 1, Y0));
+    }
+}
@@ -0,0 +1,102 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.models.HallType;
+
+import java.awt.Point;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static tr.edu.ku.comp302.domain.controllers.TestHalls.*;
+
+class FreeCellSamplerTest {
+
+    private TilesController mockTilesController;
+    private SpatialIndex index;
+    private FreeCellSampler sampler;
+    private final Random random = new Random(1);
+
+    @BeforeEach
+    void setUp() {
+        mockTilesController = mockHall(
+                "####",
+                "....",
+                "....");
+
+        index = new SpatialIndex(GameConfig.TILE_SIZE);
+        sampler = new FreeCellSampler(mockTilesController, index);
+    }
+
+    @Test
+    void testTracksTilesAndEntities() {
+        assertEquals(8, sampler.getFreeCount());
+        assertFalse(sampler.isFree(X0, Y0));
+
+        index.put("enchantment", (X0 + 1) * GameConfig.TILE_SIZE, (Y0 + 1) * GameConfig.TILE_SIZE);
+        assertFalse(sampler.isFree(X0 + 1, Y0 + 1));
+
+        when(mockTilesController.isCollidableAt(X0 + 2, Y0 + 2)).thenReturn(true);
+        sampler.tileChanged(X0 + 2, Y0 + 2);
+        assertEquals(6, sampler.getFreeCount());
+
+        for (int i = 0; i < 50; i++) {
+            Point p = sampler.sample(random);
+            assertTrue(sampler.isFree(p.x, p.y), "Sampled a cell that is not free: " + p);
+        }
+
+        index.remove("enchantment");
+        assertTrue(sampler.isFree(X0 + 1, Y0 + 1));
+    }
+
+    @Test
+    void testSampleAwayFromKeepsDistance() {
+        for (int i = 0; i < 50; i++) {
+            Point p = sampler.sampleAwayFrom(random, X0, Y0 + 1, 3);
+            assertTrue(Math.max(Math.abs(p.x - X0), Math.abs(p.y - (Y0 + 1))) >= 3, "Too close: " + p);
+        }
+        // Every free cell is within 4 tiles of this one
+        assertNull(sampler.sampleAwayFrom(random, X0, Y0 + 1, 5));
+        assertEquals(8, sampler.getFreeCount(), "Excluding cells must not drop them");
+    }
+
+    @Test
+    void testFullHallHasNoCell() {
+        for (int r = 1; r < 3; r++) {
+            for (int c = 0; c < 4; c++) {
+                index.put(r * 4 + c, (X0 + c) * GameConfig.TILE_SIZE, (Y0 + r) * GameConfig.TILE_SIZE);
+            }
+        }
+        assertEquals(0, sampler.getFreeCount());
+        assertNull(sampler.sample(random));
+    }
+
+    @Test
+    void testBuildObjectsAreNotFreeBeforeAnyClick() {
+        // The tile under the object is left walkable; only the index knows of it
+        BuildObjectController buildObjects = new BuildObjectController(HallType.EARTH, index);
+        buildObjects.loadWorldFromJson("{ \"earth\": [ {\"x\":" + (X0 + 2) + ",\"y\":" + (Y0 + 1)
+                + ",\"objectType\":\"box\",\"hasRune\":false} ] }");
+
+        assertFalse(sampler.isFree(X0 + 2, Y0 + 1));
+        assertEquals(7, sampler.getFreeCount());
+    }
+
+    @Test
+    void testSampleReachableStaysInTheField() {
+        TilesController split = mockHall(
+                ".#..",
+                ".#..");
+        FreeCellSampler cells = new FreeCellSampler(split, new SpatialIndex(GameConfig.TILE_SIZE));
+        FlowField field = new FlowField(split, Integer.MAX_VALUE);
+        field.retarget(X0, Y0);
+
+        for (int i = 0; i < 50; i++) {
+            Point p = cells.sampleReachable(random, field);
+            assertEquals(X0, p.x, "Sampled a cell across the wall: " + p);
+        }
+        assertEquals(6, cells.getFreeCount(), "Reordering must not drop cells");
+    }
+}
@@ -1,98 +1,116 @@
 package tr.edu.ku.comp302.domain.controllers;
 
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import tr.edu.ku.comp302.config.GameConfig;
+
 class GameTimerControllerTest {
 
+    private static final int TICKS_PER_SECOND = GameConfig.TICK_RATE;
+
     private GameTimerController timerController;
-    private CountDownLatch latch;
-    
+    private List<Integer> reportedTimes;
+    private boolean timeUp;
+
     @BeforeEach
     void setUp() {
-        // Create a CountDownLatch for synchronization with the timer's onTick callback
-        latch = new CountDownLatch(1);
-        
-        // Create a GameTimerController with callbacks
+        reportedTimes = new ArrayList<>();
+        timeUp = false;
+
+        // The countdown is driven by advance(), one call per simulation tick
         timerController = new GameTimerController(
-                timeRemaining -> {
-                    // Dummy callback to simulate onTick, which will count down time
-                    System.out.println("Time remaining: " + timeRemaining);
-                    if (timeRemaining == 0) {
-                        latch.countDown(); // Release the latch when time reaches 0
-                    }
-                },
-                () -> System.out.println("Time's up!")
+                timeRemaining -> reportedTimes.add(timeRemaining),
+                () -> timeUp = true
         );
     }
 
+    /** Simulates the given number of game seconds worth of ticks. */
+    private void advanceSeconds(double seconds) {
+        long ticks = Math.round(seconds * TICKS_PER_SECOND);
+        for (long i = 0; i < ticks; i++) {
+            timerController.advance();
+        }
+    }
+
     @Test
-    void testStartTimer() throws InterruptedException {
+    void testStartTimer() {
         timerController.start(5);  // Start the timer with 5 seconds
 
-        // Wait for the timer to reach 0 (up to 6 seconds for safety)
-        boolean finishedInTime = latch.await(6, TimeUnit.SECONDS);
-        
-        assertTrue(finishedInTime, "Timer should stop after 5 seconds.");
+        advanceSeconds(5);
+
+        assertTrue(timeUp, "Timer should stop after 5 seconds.");
+        assertEquals(List.of(4, 3, 2, 1, 0), reportedTimes, "Every elapsed second should be reported once.");
         assertEquals(0, timerController.getTimeRemaining(), "Time remaining should be 0 after time's up.");
     }
 
     @Test
-    void testPauseAndResumeTimer() throws InterruptedException {
+    void testSubSecondTicksDoNotReport() {
+        timerController.start(5);
+
+        advanceSeconds(0.5);
+        assertTrue(reportedTimes.isEmpty(), "Half a second should not report a new second.");
+        assertEquals(5, timerController.getTimeRemaining(), "Partially elapsed seconds round up.");
+
+        advanceSeconds(0.5);
+        assertEquals(List.of(4), reportedTimes);
+    }
+
+    @Test
+    void testPauseAndResumeTimer() {
         timerController.start(5);  // Start the timer with 5 seconds
 
-        // Wait for 2 seconds
-        Thread.sleep(2000);
+        advanceSeconds(2);
         timerController.pause();  // Pause the timer
 
         int timeBeforeResume = timerController.getTimeRemaining();
-        assertTrue(timeBeforeResume <= 3, "Timer should have paused with time remaining.");
+        assertEquals(3, timeBeforeResume, "Timer should have paused with time remaining.");
 
-        // Wait for 2 seconds, ensuring the timer is paused
-        Thread.sleep(2000);
+        // Ticks while paused must not count down
+        advanceSeconds(2);
 
         // Time should not have changed
         assertEquals(timeBeforeResume, timerController.getTimeRemaining(), "Time should remain the same after pausing.");
 
-        // Resume the timer and wait for it to finish
+        // Resume the timer and let it finish
         timerController.resume();
-        boolean finishedInTime = latch.await(6, TimeUnit.SECONDS);
+        advanceSeconds(3);
 
-        assertTrue(finishedInTime, "Timer should finish after resuming.");
+        assertTrue(timeUp, "Timer should finish after resuming.");
     }
 
     @Test
-    void testStopTimer() throws InterruptedException {
+    void testStopTimer() {
         timerController.start(5);  // Start the timer with 5 seconds
 
-        // Wait for 2 seconds
-        Thread.sleep(2000);
+        advanceSeconds(2);
         timerController.stop();  // Stop the timer
+        advanceSeconds(5);
 
-        // Timer should have stopped, time remaining should still be 3 or more
-        int remainingAfterStop = timerController.getTimeRemaining();
-        assertTrue(remainingAfterStop > 0, "Timer should have stopped but not reset the time.");
+        // Timer should have stopped, time remaining should still be 3
+        assertEquals(3, timerController.getTimeRemaining(), "Timer should have stopped but not reset the time.");
+        assertFalse(timeUp, "A stopped timer should not run out.");
     }
 
     @Test
-    void testAddTime() throws InterruptedException {
+    void testAddTime() {
         timerController.start(3);  // Start the timer with 3 seconds
 
-        // Wait for 1 second
-        Thread.sleep(1000);
+        advanceSeconds(1);
 
         timerController.addTime(2);  // Add 2 seconds to the timer
 
         assertEquals(4, timerController.getTimeRemaining(), "Time remaining should be 4 seconds after adding time.");
-        
-        // Wait for the timer to finish
-        boolean finishedInTime = latch.await(6, TimeUnit.SECONDS);
-        
-        assertTrue(finishedInTime, "Timer should finish after adding time.");
+
+        advanceSeconds(3);
+        assertFalse(timeUp, "Added time should delay the end.");
+        advanceSeconds(1);
+        assertTrue(timeUp, "Timer should finish after adding time.");
     }
 }
@@ -0,0 +1,43 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LineOfSightTest {
+
+    private TilesController mockTilesController;
+    private LineOfSight lineOfSight;
+
+    @BeforeEach
+    void setUp() {
+        // One wall cell right of (5, 5)
+        mockTilesController = mock(TilesController.class);
+        when(mockTilesController.isCollidableAt(6, 5)).thenReturn(true);
+        lineOfSight = new LineOfSight(mockTilesController);
+    }
+
+    @Test
+    void testWallsBlockTheLineButNotItsEnds() {
+        assertTrue(lineOfSight.isSegmentBlocked(5, 5, 8, 5));
+        assertFalse(lineOfSight.isSegmentBlocked(5, 5, 6, 5), "The wall itself is an end");
+        assertFalse(lineOfSight.isSegmentBlocked(5, 5, 5, 8));
+        assertFalse(lineOfSight.isSegmentBlocked(5, 5, 5, 5));
+        // Lines are the same both ways
+        assertEquals(lineOfSight.isSegmentBlocked(5, 5, 8, 6), lineOfSight.isSegmentBlocked(8, 6, 5, 5));
+    }
+
+    @Test
+    void testMaskHoldsCellsInRangeAndInSight() {
+        long mask = lineOfSight.visibleMask(5, 5);
+
+        assertTrue(LineOfSight.isVisible(mask, 0, 3));
+        assertTrue(LineOfSight.isVisible(mask, -2, -2));
+        assertTrue(LineOfSight.isVisible(mask, 1, 0), "The wall cell is seen");
+        assertFalse(LineOfSight.isVisible(mask, 3, 0), "Behind the wall");
+        assertFalse(LineOfSight.isVisible(mask, 3, 3), "Out of range in the window's corner");
+        assertFalse(LineOfSight.isVisible(mask, 0, 4), "Outside the window");
+    }
+}
@@ -7,9 +7,12 @@ import tr.edu.ku.comp302.config.GameConfig;
 import tr.edu.ku.comp302.domain.models.Player;
 import tr.edu.ku.comp302.domain.models.Tile;
 import tr.edu.ku.comp302.domain.models.monsters.FighterMonster;
-import tr.edu.ku.comp302.domain.models.monsters.Monster;
+import tr.edu.ku.comp302.domain.models.monsters.WizardMonster;
+import tr.edu.ku.comp302.domain.models.monsters.strategies.WizardHighTimeStrategy;
+import tr.edu.ku.comp302.domain.models.monsters.strategies.WizardMidTimeStrategy;
 
-import java.util.List;
+import java.awt.Point;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -48,6 +51,9 @@ class MonsterControllerTest {
         mockTilesController = Mockito.mock(TilesController.class);
         mockBuildController = Mockito.mock(BuildObjectController.class);
         mockEnchantController = Mockito.mock(EnchantmentController.class);
+        // Spawning picks cells inside the hall
+        Mockito.when(mockTilesController.getHallCols()).thenReturn(GameConfig.NUM_HALL_COLS);
+        Mockito.when(mockTilesController.getHallRows()).thenReturn(GameConfig.NUM_HALL_ROWS);
 
         // Create the MonsterController with mocks
         monsterController = new MonsterController(mockTilesController, mockBuildController, 30);
@@ -90,7 +96,7 @@ class MonsterControllerTest {
         monsterController.tick(GameConfig.MONSTER_SPAWN_INTERVAL, 10, mockPlayer);
 
         // Now we expect exactly 1 monster to appear
-        List<Monster> monsters = monsterController.getMonsters();
+        MonsterStore monsters = monsterController.getMonsters();
         assertEquals(1, monsters.size(),
                      "Exactly one monster should have spawned after hitting the spawn interval.");
     }
@@ -155,4 +161,311 @@ class MonsterControllerTest {
         assertTrue(monsterController.getMonsters().isEmpty(),
                    "Monster list should be empty after calling clearMonsters().");
     }
+
+    /**
+     * Test Case 4:
+     * Verifies that deciding the fighters' moves on several threads gives exactly
+     * the same hall as deciding them on one.
+     *
+     * @requires 
+     *   - Both controllers start with the same seed and the same fighters.
+     * @modifies 
+     *   - the fighters' positions and each player's lives.
+     * @effects 
+     *   - Positions and lives are equal after every frame.
+     */
+    @Test
+    void testParallelFighterUpdateMatchesSequential() {
+        MonsterController sequential = new MonsterController(mockTilesController, mockBuildController, 1000);
+        MonsterController parallel = new MonsterController(mockTilesController, mockBuildController, 1000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        parallel.setParallelism(pool, 0);
+        sequential.setSeed(42);
+        parallel.setSeed(42);
+
+        int tile = GameConfig.TILE_SIZE;
+        for (int i = 0; i < 600; i++) {
+            int x = (GameConfig.KAFES_STARTING_X + i % GameConfig.NUM_HALL_COLS) * tile + i % tile;
+            int y = (GameConfig.KAFES_STARTING_Y + i / GameConfig.NUM_HALL_COLS % GameConfig.NUM_HALL_ROWS) * tile;
+            sequential.getMonsters().add(new FighterMonster(x, y, 3));
+            parallel.getMonsters().add(new FighterMonster(x, y, 3));
+        }
+        Player hero = new Player(5 * tile, 5 * tile, 3);
+        Player parallelHero = new Player(5 * tile, 5 * tile, 3);
+        hero.setLives(1000);
+        parallelHero.setLives(1000);
+
+        try {
+            for (int frame = 0; frame < 200; frame++) {
+                sequential.tick(frame / 60, 60, hero);
+                parallel.tick(frame / 60, 60, parallelHero);
+                sequential.updateAll(hero);
+                parallel.updateAll(parallelHero);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        MonsterStore expected = sequential.getMonsters();
+        MonsterStore actual = parallel.getMonsters();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getX(), actual.get(i).getX(), "Fighter " + i + " x");
+            assertEquals(expected.get(i).getY(), actual.get(i).getY(), "Fighter " + i + " y");
+        }
+        assertEquals(hero.getLives(), parallelHero.getLives());
+    }
+
+    /**
+     * Test Case 5:
+     * Verifies that a fighter off screen thinks only every few frames,
+     * and then catches up on the frames it skipped.
+     *
+     * @requires 
+     *   - The fighter walks toward a luring gem, outside a small camera's view.
+     * @modifies 
+     *   - the fighter's position.
+     * @effects 
+     *   - It moves on fewer frames than were run, but each move covers every
+     *     frame since the last one.
+     */
+    @Test
+    void testFarFighterCatchesUpOnSkippedFrames() {
+        int tile = GameConfig.TILE_SIZE;
+        FighterMonster fighter = new FighterMonster(14 * tile, 14 * tile, 1);
+        monsterController.getMonsters().add(fighter);
+        monsterController.setLuringGemLocation(new Point(14 * tile, 2 * tile));
+        Player hero = new Player(tile, tile, 3);
+        Camera camera = new Camera(5 * tile, 5 * tile, 64 * tile, 64 * tile);
+        camera.snapTo(hero.getX(), hero.getY());
+        monsterController.setCamera(camera);
+
+        int moves = 0;
+        int lastMoveFrame = 0;
+        int lastY = fighter.getY();
+        for (int frame = 1; frame <= 40; frame++) {
+            monsterController.updateAll(hero);
+            if (fighter.getY() != lastY) {
+                assertEquals(frame - lastMoveFrame, lastY - fighter.getY(),
+                        "A move must make up for every frame since the last one");
+                moves++;
+                lastMoveFrame = frame;
+                lastY = fighter.getY();
+            }
+        }
+        assertTrue(moves < 20, "A far fighter should not think every frame, moved " + moves + " times");
+        assertTrue(40 - lastMoveFrame < GameConfig.MONSTER_AI_FAR_BUCKETS);
+    }
+
+    /**
+     * Test Case 6:
+     * Verifies that wizards change strategy only when the remaining time crosses
+     * a bracket, all at once, to strategies they share.
+     *
+     * @requires 
+     *   - Two wizards in a hall with 30 seconds of initial time.
+     * @modifies 
+     *   - the wizards' strategies.
+     * @effects 
+     *   - Both use the shared HighTime strategy until 70% is crossed, then the
+     *     shared MidTime one.
+     */
+    @Test
+    void testWizardsSwitchStrategyOnBracketCrossing() {
+        WizardMonster first = new WizardMonster(48, 48, 0, 0);
+        WizardMonster second = new WizardMonster(96, 48, 0, 0);
+        monsterController.getMonsters().add(first);
+        monsterController.getMonsters().add(second);
+
+        monsterController.tick(1, 29, mockPlayer);
+        monsterController.updateAll(mockPlayer);
+        assertSame(WizardHighTimeStrategy.INSTANCE, first.getStrategy());
+        assertSame(first.getStrategy(), second.getStrategy());
+
+        // 21 of 30 seconds is exactly 70%, which is already MidTime
+        monsterController.tick(9, 21, mockPlayer);
+        assertSame(WizardMidTimeStrategy.INSTANCE, first.getStrategy());
+        assertSame(WizardMidTimeStrategy.INSTANCE, second.getStrategy());
+        assertEquals(9, first.getStrategyStartTime());
+    }
+
+    /**
+     * Test Case 7:
+     * Verifies that fighters cover the same ground per game second at any tick rate.
+     *
+     * @requires 
+     *   - One fighter walking toward a luring gem farther than it can go in a second.
+     * @modifies 
+     *   - the fighter's position.
+     * @effects 
+     *   - After one game second of frames it has gone as far at 120 Hz as at 60 Hz.
+     */
+    @Test
+    void testFighterDistancePerGameSecondDoesNotDependOnTickRate() {
+        int tile = GameConfig.TILE_SIZE;
+        int[] walked = new int[2];
+        int[] tickRates = {60, 120};
+        for (int i = 0; i < tickRates.length; i++) {
+            MonsterController controller = new MonsterController(mockTilesController, mockBuildController, 30);
+            controller.setTickRate(tickRates[i]);
+            FighterMonster fighter = new FighterMonster(14 * tile, 14 * tile, 1);
+            controller.getMonsters().add(fighter);
+            controller.setLuringGemLocation(new Point(14 * tile, 2 * tile));
+            Player hero = new Player(tile, tile, 3);
+            for (int frame = 0; frame < tickRates[i]; frame++) {
+                controller.updateAll(hero);
+            }
+            walked[i] = 14 * tile - fighter.getY();
+        }
+        assertEquals(60, walked[0], "One pixel per tick at 60 Hz");
+        assertEquals(walked[0], walked[1]);
+    }
+
+    /**
+     * Test Case 8:
+     * Verifies that fighters are stopped by walls they read from the copy taken
+     * for the tick, and never ask the tiles while deciding.
+     *
+     * @requires 
+     *   - One fighter walking toward a luring gem behind a fully blocked row.
+     * @modifies 
+     *   - the fighter's position.
+     * @effects 
+     *   - It stops right below the wall, and isAreaBlocked is never called.
+     */
+    @Test
+    void testFightersReadWallsFromTheTickCopy() {
+        int tile = GameConfig.TILE_SIZE;
+        when(mockTilesController.getWorldWidth()).thenReturn(64 * tile);
+        when(mockTilesController.getWorldHeight()).thenReturn(64 * tile);
+        when(mockTilesController.collisionWord(eq(10), anyInt())).thenReturn(-1L);
+        FighterMonster fighter = new FighterMonster(14 * tile, 14 * tile, 1);
+        monsterController.getMonsters().add(fighter);
+        monsterController.setLuringGemLocation(new Point(14 * tile, 2 * tile));
+        Player hero = new Player(tile, tile, 3);
+
+        for (int frame = 0; frame < 4 * tile; frame++) {
+            monsterController.updateAll(hero);
+        }
+        assertEquals(11 * tile, fighter.getY(), "The fighter must stop below the wall on row 10");
+        verify(mockTilesController, never()).isAreaBlocked(anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    /**
+     * Test Case 9:
+     * Verifies that a fighter on screen thinks every frame, however far it is
+     * from the player.
+     *
+     * @requires 
+     *   - The fighter walks toward a luring gem, 13 tiles from the player, in
+     *     the view of a camera the size of the screen.
+     * @modifies 
+     *   - the fighter's position.
+     * @effects 
+     *   - It moves on every frame.
+     */
+    @Test
+    void testOnScreenFighterThinksEveryFrame() {
+        int tile = GameConfig.TILE_SIZE;
+        FighterMonster fighter = new FighterMonster(14 * tile, 14 * tile, 1);
+        monsterController.getMonsters().add(fighter);
+        monsterController.setLuringGemLocation(new Point(14 * tile, 2 * tile));
+        Player hero = new Player(tile, tile, 3);
+        Camera camera = new Camera(20 * tile, 20 * tile, 64 * tile, 64 * tile);
+        camera.snapTo(hero.getX(), hero.getY());
+        monsterController.setCamera(camera);
+
+        for (int frame = 1; frame <= 40; frame++) {
+            monsterController.updateAll(hero);
+            assertEquals(14 * tile - frame, fighter.getY(), "The fighter must move on frame " + frame);
+        }
+    }
+
+    /**
+     * Test Case 10:
+     * Verifies that a gem restored from a save keeps its saved spawn time.
+     *
+     * @requires 
+     *   - A gem thrown at second 5, restored at second 8.
+     * @modifies 
+     *   - the gem location.
+     * @effects 
+     *   - The gem is there until GEM_LIFETIME_SECONDS after second 5, and gone then.
+     */
+    @Test
+    void testRestoredGemKeepsItsSpawnTime() {
+        int expiresAt = 5 + GameConfig.GEM_LIFETIME_SECONDS;
+        monsterController.tick(8, 30, mockPlayer);
+        monsterController.restoreLuringGem(new Point(96, 96), 5);
+        assertEquals(5, monsterController.getGemSpawnTime());
+
+        monsterController.tick(expiresAt - 1, 30, mockPlayer);
+        assertTrue(monsterController.hasLuringGem());
+        monsterController.tick(expiresAt, 30, mockPlayer);
+        assertFalse(monsterController.hasLuringGem(), "The gem must not get a new lifetime when loaded");
+    }
+
+    /**
+     * Test Case 11:
+     * Verifies that a teleport never takes the hero out of the pocket it is in.
+     *
+     * @requires 
+     *   - The hero stands in a two-cell pocket of a hall that is mostly on the
+     *     other side of a wall.
+     * @modifies 
+     *   - the hero's position.
+     * @effects 
+     *   - Every teleport lands in the pocket, however few guesses hit it.
+     */
+    @Test
+    void testTeleportStaysWhereTheHeroCanWalk() {
+        TilesController tiles = TestHalls.mockHall(
+                "..#..........",
+                "###..........");
+        MonsterController controller = new MonsterController(tiles, mockBuildController, 30);
+        controller.setSeed(3);
+        int tile = GameConfig.TILE_SIZE;
+        Player hero = new Player(TestHalls.X0 * tile, TestHalls.Y0 * tile, 3);
+
+        for (int i = 0; i < 30; i++) {
+            controller.teleportPlayerToRandomEmptyLocation(hero);
+            assertEquals(TestHalls.Y0 * tile, hero.getY());
+            assertTrue(hero.getX() <= (TestHalls.X0 + 1) * tile, "Teleported out of the pocket to x=" + hero.getX());
+        }
+    }
+
+    /**
+     * Test Case 12:
+     * Verifies that the fighter fields mirrored in the store stay equal to the
+     * FighterMonster objects, which are what gets saved and drawn.
+     *
+     * @requires 
+     *   - Fighters chase a hero standing next to some of them.
+     * @modifies 
+     *   - the fighters' positions, attack and move cycle times.
+     * @effects 
+     *   - After every frame each mirrored field equals the fighter's own.
+     */
+    @Test
+    void testFighterMirrorStaysInStepWithTheFighters() {
+        int tile = GameConfig.TILE_SIZE;
+        MonsterStore store = monsterController.getMonsters();
+        for (int i = 0; i < 20; i++) {
+            store.add(new FighterMonster((2 + i % 8) * tile, (2 + i / 8) * tile, 1));
+        }
+        Player hero = new Player(4 * tile, 3 * tile, 3);
+        hero.setLives(1000);
+
+        for (int frame = 0; frame < 180; frame++) {
+            monsterController.tick(frame / 60, 60, hero);
+            monsterController.updateAll(hero);
+            for (int i = 0; i < store.getFighterCount(); i++) {
+                FighterMonster fighter = (FighterMonster) store.get(i);
+                assertEquals(fighter.getX(), store.fighterX[i], "Fighter " + i + " x");
+                assertEquals(fighter.getY(), store.fighterY[i], "Fighter " + i + " y");
+                assertEquals(fighter.getLastAttackTime(), store.fighterLastAttack[i], "Fighter " + i + " last attack");
+                assertEquals(fighter.getLastMoveCycleStart(), store.fighterLastMoveCycle[i], "Fighter " + i + " move cycle");
+            }
+        }
+    }
 }
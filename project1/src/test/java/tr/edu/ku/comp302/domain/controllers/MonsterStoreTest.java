@@ -0,0 +1,101 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.models.monsters.ArcherMonster;
+import tr.edu.ku.comp302.domain.models.monsters.FighterMonster;
+import tr.edu.ku.comp302.domain.models.monsters.Monster;
+import tr.edu.ku.comp302.domain.models.monsters.WizardMonster;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonsterStoreTest {
+
+    private SpatialIndex index;
+    private MonsterStore store;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpatialIndex(GameConfig.TILE_SIZE);
+        store = new MonsterStore(index);
+    }
+
+    @Test
+    void testGroupsByTypeAndKeepsArcherArrays() {
+        WizardMonster wizard = new WizardMonster(0, 0, 0, 0);
+        ArcherMonster archer = new ArcherMonster(96, 48, 0);
+        archer.setLastShotTime(7);
+        FighterMonster fighter = new FighterMonster(48, 48, 1);
+        store.add(wizard);
+        store.add(archer);
+        store.add(fighter);
+
+        assertEquals(List.of(fighter, archer, wizard), store.toList());
+        assertEquals(1, store.getArcherCount());
+        assertEquals(96, store.archerX[0]);
+        assertEquals(7, store.archerLastShot[0]);
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testGrowsAndRemovesThroughListView() {
+        for (int i = 0; i < 40; i++) {
+            store.add(new FighterMonster(i, 0, 1));
+            store.add(new ArcherMonster(i, 0, 0));
+        }
+        assertEquals(80, store.size());
+
+        // Removing through the iterator must visit every monster once
+        int[] seen = {0};
+        store.removeIf(m -> {
+            seen[0]++;
+            return m.getX() % 2 == 0;
+        });
+        assertEquals(80, seen[0]);
+        assertEquals(40, store.size());
+        for (Monster m : store) {
+            assertEquals(1, m.getX() % 2);
+        }
+        for (int i = 0; i < store.getArcherCount(); i++) {
+            assertEquals(store.get(store.getFighterCount() + i).getX(), store.archerX[i],
+                    "Archer arrays must move with the archers");
+        }
+        assertEquals(40, index.size());
+
+        store.clear();
+        assertTrue(store.isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testFighterArraysMoveWithTheFighters() {
+        FighterMonster first = new FighterMonster(48, 96, 1);
+        FighterMonster second = new FighterMonster(144, 192, 1);
+        second.setLastAttackTime(5);
+        second.setLastMoveCycleStart(9);
+        store.add(first);
+        store.add(second);
+
+        store.removeIf(m -> m == first);
+        assertEquals(1, store.getFighterCount());
+        assertEquals(144, store.fighterX[0]);
+        assertEquals(192, store.fighterY[0]);
+        assertEquals(5, store.fighterLastAttack[0]);
+        assertEquals(9, store.fighterLastMoveCycle[0]);
+    }
+
+    @Test
+    void testAddsAtTheEndOfTheType() {
+        ArcherMonster archer = new ArcherMonster(0, 0, 0);
+        FighterMonster fighter = new FighterMonster(48, 48, 1);
+        store.addAll(List.of(archer, fighter));
+
+        // Added after the archer, read before it
+        assertEquals(List.of(fighter, archer), store.toList());
+        assertSame(fighter, store.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(2));
+    }
+}
@@ -0,0 +1,59 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static tr.edu.ku.comp302.domain.controllers.TestHalls.*;
+
+class PathFinderTest {
+
+    private TilesController mockTilesController;
+    private PathFinder pathFinder;
+
+    @BeforeEach
+    void setUp() {
+        // A corridor on row 2 that points at the target but ends in a wall;
+        // the way round is up column 0, along the top and down column 6
+        mockTilesController = mockHall(
+                ".......",
+                ".#####.",
+                ".....#.",
+                "######.");
+        pathFinder = new PathFinder(mockTilesController);
+    }
+
+    @Test
+    void testShortestPathBacksOutOfDeadEnd() {
+        List<Point> path = pathFinder.findPath(X0 + 4, Y0 + 2, X0 + 6, Y0 + 2);
+
+        assertEquals(15, path.size());
+        assertEquals(new Point(X0 + 4, Y0 + 2), path.get(0));
+        assertEquals(new Point(X0 + 6, Y0 + 2), path.get(14));
+        assertTrue(path.contains(new Point(X0, Y0)), "Must back out to the corridor's mouth");
+        assertTrue(path.contains(new Point(X0 + 6, Y0)), "Must come round the top");
+        for (int i = 1; i < path.size(); i++) {
+            Point a = path.get(i - 1), b = path.get(i);
+            assertEquals(1, Math.abs(a.x - b.x) + Math.abs(a.y - b.y), "Steps must be one tile apart");
+        }
+        assertFalse(pathFinder.isReachable(X0 + 4, Y0 + 2, X0 + 5, Y0 + 2), "Walls cannot be reached");
+    }
+
+    @Test
+    void testCacheIsDroppedWhenTilesChange() {
+        pathFinder.findPath(X0 + 4, Y0 + 2, X0 + 6, Y0 + 2);
+        pathFinder.findPath(X0 + 4, Y0 + 2, X0 + 6, Y0 + 2);
+        assertEquals(1, pathFinder.getSearchCount());
+
+        // Close the way round
+        when(mockTilesController.isCollidableAt(X0 + 3, Y0)).thenReturn(true);
+        when(mockTilesController.getTileVersion()).thenReturn(1);
+
+        assertEquals(-1, pathFinder.pathLength(X0 + 4, Y0 + 2, X0 + 6, Y0 + 2));
+        assertEquals(2, pathFinder.getSearchCount());
+    }
+}
@@ -0,0 +1,37 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.ku.comp302.domain.models.Player;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PlayerControllerTest {
+
+    /**
+     * Walks right for whole game seconds on an open floor.
+     *
+     * @return how far the player went, in pixels.
+     */
+    private static int walkRight(int tickRate, int seconds) {
+        TilesController openFloor = mock(TilesController.class);
+        KeyHandler keys = new KeyHandler();
+        keys.right = true;
+        Player player = new Player(0, 0, 3);
+        PlayerController controller = new PlayerController(player, openFloor, keys, tickRate);
+        for (int tick = 0; tick < seconds * tickRate; tick++) {
+            controller.update();
+        }
+        return player.getX();
+    }
+
+    @Test
+    void testDistancePerGameSecondDoesNotDependOnTickRate() {
+        int at60 = walkRight(60, 2);
+        int at120 = walkRight(120, 2);
+
+        assertTrue(at60 > 0);
+        // Speeding up is integrated in smaller steps at 120 Hz; only that may differ
+        assertEquals(at60, at120, at60 / 50, "Walked " + at60 + " px at 60 Hz but " + at120 + " px at 120 Hz");
+    }
+}
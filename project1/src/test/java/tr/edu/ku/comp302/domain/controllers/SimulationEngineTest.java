@@ -0,0 +1,61 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tr.edu.ku.comp302.config.GameConfig;
+import tr.edu.ku.comp302.domain.models.HallType;
+import tr.edu.ku.comp302.domain.models.Player;
+import tr.edu.ku.comp302.domain.models.enchantments.CloakOfProtectionEnchantment;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SimulationEngine
+ *
+ * Specifications for SimulationEngine:
+ * requires: nothing from Swing; runs under java.awt.headless=true
+ * modifies: the simulated hall, its GameClock
+ * effects: each step() is one tick; every TICK_RATE ticks the countdown drops by one
+ *          game second; the run ends when the hall is completed, lives or time run out
+ */
+class SimulationEngineTest {
+
+    private SimulationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SimulationEngine(null, HallType.EARTH);
+    }
+
+    @Test
+    void testCountdownFollowsVirtualClock() {
+        for (int i = 0; i < GameConfig.TICK_RATE; i++) {
+            assertTrue(engine.step(), "Run should still be going");
+        }
+        assertEquals(59, engine.getPlayModeController().getTimeRemaining(),
+                "One game second should pass every TICK_RATE ticks");
+        assertEquals(GameConfig.TICK_RATE, engine.getClock().getTicks());
+    }
+
+    @Test
+    void testRunEndsWhenTimeIsUp() {
+        // The idle hero has far more lives than 60 seconds of monsters can take
+        SimulationEngine.Result result = engine.run(Long.MAX_VALUE);
+
+        assertEquals(SimulationEngine.Outcome.TIME_UP, result.outcome());
+        assertEquals(60L * GameConfig.TICK_RATE, result.ticks(), "A 60 second hall should take 60 * TICK_RATE ticks");
+        assertEquals(0, result.timeRemaining());
+        assertFalse(engine.step(), "Stepping a finished run should do nothing");
+    }
+
+    @Test
+    void testBuffsUseVirtualTime() {
+        Player player = engine.getPlayModeController().getPlayerController().getEntity();
+        player.getInventory().addItem(new CloakOfProtectionEnchantment(0, 0, 0));
+        player.useCloakOfProtection();
+        assertTrue(player.isCloakActive());
+
+        // 20 game seconds pass in well under a wall-clock second
+        engine.run(21L * GameConfig.TICK_RATE);
+        assertFalse(player.isCloakActive(), "Cloak should expire after 20 game seconds");
+    }
+}
@@ -0,0 +1,94 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tr.edu.ku.comp302.domain.models.monsters.FighterMonster;
+import tr.edu.ku.comp302.domain.models.monsters.Monster;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTest {
+
+    private SpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpatialIndex(10);
+    }
+
+    @Test
+    void testPointCellAndRadiusQueries() {
+        String a = "a";
+        Integer b = 7;
+        index.put(a, 15, 15);  // box [15, 25) x [15, 25), filed under cell (1, 1)
+        index.put(b, 40, 40);
+
+        assertSame(a, index.findAt(String.class, 24, 24));
+        assertNull(index.findAt(String.class, 25, 15));
+        assertNull(index.findAt(Integer.class, 20, 20), "Queries only see the asked kind");
+
+        assertTrue(index.isOccupied(String.class, 1, 1));
+        assertFalse(index.isOccupied(String.class, 2, 2));
+
+        assertEquals(List.of(a), index.findWithin(Object.class, 10, 10, 10));
+        assertEquals(2, index.findWithin(Object.class, 0, 0, 100).size());
+    }
+
+    @Test
+    void testMoveAndRemove() {
+        Object o = new Object();
+        index.put(o, 0, 0);
+        index.put(o, 95, 0);
+
+        assertFalse(index.isOccupied(Object.class, 0, 0));
+        assertSame(o, index.firstInCell(Object.class, 9, 0));
+        assertEquals(1, index.size());
+
+        assertTrue(index.remove(o));
+        assertNull(index.findAt(Object.class, 96, 1));
+        assertFalse(index.remove(o));
+    }
+
+    @Test
+    void testIndexedListKeepsIndexInSync() {
+        List<Monster> monsters = new IndexedList<>(index, Monster::getX, Monster::getY);
+        FighterMonster first = new FighterMonster(0, 0, 1);
+        FighterMonster second = new FighterMonster(30, 30, 1);
+        monsters.add(first);
+        monsters.add(second);
+        assertSame(second, index.findAt(Monster.class, 35, 35));
+
+        monsters.removeIf(m -> m == second);
+        assertNull(index.findAt(Monster.class, 35, 35));
+        assertTrue(index.contains(first));
+
+        monsters.clear();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testIndexedListRemovesByElement() {
+        List<Monster> monsters = new IndexedList<>(index, Monster::getX, Monster::getY);
+        FighterMonster first = new FighterMonster(0, 0, 1);
+        FighterMonster second = new FighterMonster(30, 30, 1);
+        FighterMonster third = new FighterMonster(60, 60, 1);
+        monsters.add(first);
+        monsters.add(second);
+        monsters.add(third);
+
+        // The last one fills the gap and is still found where it now is
+        assertTrue(monsters.remove(first));
+        assertEquals(List.of(third, second), List.copyOf(monsters));
+        assertEquals(0, monsters.indexOf(third));
+        assertFalse(monsters.contains(first));
+        assertFalse(monsters.remove(first));
+
+        monsters.add(0, first);
+        assertEquals(2, monsters.indexOf(second));
+        assertTrue(monsters.remove(second));
+        assertEquals(List.of(first, third), List.copyOf(monsters));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,37 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import tr.edu.ku.comp302.config.GameConfig;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Small halls for the tests of the classes that walk them, drawn as text:
+ * one string per row, '#' for a wall and anything else for floor. The first
+ * character of the first row is the hall's top-left cell, at
+ * (KAFES_STARTING_X, KAFES_STARTING_Y) in world cells.
+ */
+final class TestHalls {
+
+    static final int X0 = GameConfig.KAFES_STARTING_X;
+    static final int Y0 = GameConfig.KAFES_STARTING_Y;
+
+    private TestHalls() {
+    }
+
+    /**
+     * @return a mocked TilesController for the hall; stub more on it to change tiles.
+     */
+    static TilesController mockHall(String... rows) {
+        TilesController tiles = mock(TilesController.class);
+        when(tiles.getHallCols()).thenReturn(rows[0].length());
+        when(tiles.getHallRows()).thenReturn(rows.length);
+        for (int r = 0; r < rows.length; r++) {
+            for (int c = 0; c < rows[r].length(); c++) {
+                if (rows[r].charAt(c) == '#') {
+                    when(tiles.isCollidableAt(X0 + c, Y0 + r)).thenReturn(true);
+                }
+            }
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,87 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TextureAtlas
+ *
+ * Specifications for TextureAtlas.pack:
+ * requires: sprites is not null, sheetSize > 0
+ * effects: every sprite gets a region of its own size, inside one sheet,
+ *          not overlapping any other region, holding the sprite's pixels;
+ *          throws IllegalArgumentException if a sprite is larger than a sheet
+ */
+class TextureAtlasTest {
+
+    private static BufferedImage solid(int width, int height, Color color) {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                img.setRGB(x, y, color.getRGB());
+            }
+        }
+        return img;
+    }
+
+    @Test
+    void testRegionsMatchSpritesAndDoNotOverlap() {
+        Map<String, BufferedImage> sprites = new LinkedHashMap<>();
+        sprites.put("red", solid(48, 48, Color.RED));
+        sprites.put("green", solid(48, 72, Color.GREEN));
+        sprites.put("blue", solid(20, 10, Color.BLUE));
+
+        TextureAtlas atlas = TextureAtlas.pack(sprites, 256);
+        assertEquals(1, atlas.getSheetCount(), "Small sprites should share one sheet");
+
+        for (Map.Entry<String, BufferedImage> entry : sprites.entrySet()) {
+            TextureAtlas.Region r = atlas.getRegion(entry.getKey());
+            assertNotNull(r, "Every sprite should have a region");
+            assertEquals(entry.getValue().getWidth(), r.width());
+            assertEquals(entry.getValue().getHeight(), r.height());
+
+            BufferedImage sheet = atlas.getSheet(r.sheet());
+            assertTrue(r.x() + r.width() <= sheet.getWidth() && r.y() + r.height() <= sheet.getHeight(),
+                    "Region should lie inside its sheet");
+            assertEquals(entry.getValue().getRGB(0, 0), sheet.getRGB(r.x(), r.y()),
+                    "Sheet should hold the sprite's pixels");
+            assertEquals(entry.getValue().getRGB(r.width() - 1, r.height() - 1),
+                    sheet.getRGB(r.x() + r.width() - 1, r.y() + r.height() - 1));
+        }
+
+        List<String> names = List.copyOf(sprites.keySet());
+        for (int i = 0; i < names.size(); i++) {
+            for (int j = i + 1; j < names.size(); j++) {
+                TextureAtlas.Region a = atlas.getRegion(names.get(i));
+                TextureAtlas.Region b = atlas.getRegion(names.get(j));
+                boolean overlap = a.sheet() == b.sheet()
+                        && a.x() < b.x() + b.width() && b.x() < a.x() + a.width()
+                        && a.y() < b.y() + b.height() && b.y() < a.y() + a.height();
+                assertFalse(overlap, names.get(i) + " and " + names.get(j) + " should not overlap");
+            }
+        }
+    }
+
+    @Test
+    void testOverflowStartsNewSheet() {
+        Map<String, BufferedImage> sprites = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            sprites.put("s" + i, solid(40, 40, Color.WHITE));
+        }
+        // 42px with padding: two per row, two rows per 100px sheet
+        TextureAtlas atlas = TextureAtlas.pack(sprites, 100);
+        assertEquals(2, atlas.getSheetCount(), "Sprites that do not fit should go to another sheet");
+        assertNull(atlas.getRegion("missing"), "Unknown names should have no region");
+    }
+
+    @Test
+    void testSpriteLargerThanSheetThrows() {
+        Map<String, BufferedImage> sprites = Map.of("huge", solid(300, 10, Color.BLACK));
+        assertThrows(IllegalArgumentException.class, () -> TextureAtlas.pack(sprites, 256));
+    }
+}
@@ -9,6 +9,10 @@ import tr.edu.ku.comp302.domain.models.Tile;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -181,4 +185,29 @@ class TilesControllerTest {
             }
         }
     }
+
+    /**
+     * Tests that a TilesController read back from a save can still have its
+     * tiles changed and be drawn, which needs the transient dirty-cell lock.
+     */
+    @Test
+    void testTilesChangeAfterDeserialization() throws Exception {
+        tilesController.loadTiles(HallType.DEFAULT);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(tilesController);
+        }
+        TilesController loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (TilesController) in.readObject();
+        }
+        loaded.reinitTileGridFromData();
+
+        loaded.setTransparentTileAt(5, 5);
+        assertTrue(loaded.getTileAt(5, 5).isCollidable);
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        assertDoesNotThrow(() -> loaded.draw(g2));
+        g2.dispose();
+    }
 }
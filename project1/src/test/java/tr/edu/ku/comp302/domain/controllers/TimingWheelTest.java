@@ -0,0 +1,59 @@
+package tr.edu.ku.comp302.domain.controllers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void testRunsTasksWhenDueInOrder() {
+        TimingWheel wheel = new TimingWheel(8, 0);
+        List<String> ran = new ArrayList<>();
+        wheel.schedule(3, () -> ran.add("b"));
+        wheel.schedule(2, () -> ran.add("a"));
+        wheel.schedule(3, () -> ran.add("c"));
+        // Same slot as 3, but a whole turn of the ring later
+        wheel.schedule(11, () -> ran.add("late"));
+
+        wheel.advanceTo(1);
+        assertTrue(ran.isEmpty());
+        wheel.advanceTo(5);
+        assertEquals(List.of("a", "b", "c"), ran);
+        assertEquals(1, wheel.getPendingCount());
+
+        wheel.advanceTo(11);
+        assertEquals(List.of("a", "b", "c", "late"), ran);
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void testCancelAndReschedule() {
+        TimingWheel wheel = new TimingWheel(8, 0);
+        List<Integer> ran = new ArrayList<>();
+        TimingWheel.Timer cancelled = wheel.schedule(2, () -> ran.add(-1));
+        // A task that reschedules itself, like a cooldown
+        Runnable[] repeat = new Runnable[1];
+        repeat[0] = () -> {
+            ran.add(wheel.getTime());
+            wheel.schedule(wheel.getTime() + 2, repeat[0]);
+        };
+        wheel.schedule(2, repeat[0]);
+
+        cancelled.cancel();
+        assertFalse(cancelled.isPending());
+        for (int t = 1; t <= 6; t++) {
+            wheel.advanceTo(t);
+        }
+        assertEquals(List.of(2, 4, 6), ran);
+
+        // Past due, so it runs on the next advance; a jump over many turns still runs it
+        TimingWheel.Timer overdue = wheel.schedule(3, () -> ran.add(100));
+        wheel.advanceTo(50);
+        assertFalse(overdue.isPending());
+        assertTrue(ran.contains(100));
+    }
+}
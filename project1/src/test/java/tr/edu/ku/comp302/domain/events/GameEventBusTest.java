@@ -0,0 +1,122 @@
+package tr.edu.ku.comp302.domain.events;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.ku.comp302.domain.models.HallType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventBusTest {
+
+    @Test
+    void testDeliversByTypeAndLevel() {
+        GameEventBus bus = new GameEventBus();
+        assertFalse(bus.isEnabled(GameEvent.Level.WARN), "Nothing is enabled without subscribers");
+
+        List<GameEvent.PlayerDamaged> hits = new ArrayList<>();
+        List<GameEvent> all = new ArrayList<>();
+        bus.subscribe(GameEvent.PlayerDamaged.class, GameEvent.Level.INFO, hits::add);
+        bus.subscribe(GameEvent.class, GameEvent.Level.INFO, all::add);
+
+        bus.publish(new GameEvent.PlayerDamaged("Archer Monster", 2));
+        bus.publish(new GameEvent.HallCompleted(HallType.EARTH));
+        bus.publish(new GameEvent.Message(GameEvent.Level.DEBUG, "not wanted"));
+        assertTrue(bus.flush(5000));
+
+        assertEquals(List.of(new GameEvent.PlayerDamaged("Archer Monster", 2)), hits);
+        assertEquals(2, all.size());
+        assertFalse(bus.isEnabled(GameEvent.Level.DEBUG));
+        assertTrue(bus.isEnabled(GameEvent.Level.INFO));
+    }
+
+    @Test
+    void testPublishOnlyQueuesAndDropsWhenFull() throws InterruptedException {
+        GameEventBus bus = new GameEventBus(4);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> deliveredOn = new ArrayList<>();
+        bus.subscribe(GameEvent.class, GameEvent.Level.INFO, event -> {
+            deliveredOn.add(Thread.currentThread());
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        bus.publish(new GameEvent.EnchantmentCollected("Reveal"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        // The subscriber is stuck on the first event, so publishing must not wait for it
+        for (int i = 0; i < 5; i++) {
+            bus.publish(new GameEvent.EnchantmentCollected("Cloak"));
+        }
+        assertEquals(1, bus.getDroppedCount(), "Four fit in the queue, the fifth is dropped");
+        assertFalse(bus.flush(50), "The queued events cannot be delivered yet");
+
+        release.countDown();
+        assertTrue(bus.flush(5000));
+        assertEquals(5, deliveredOn.size());
+        assertFalse(deliveredOn.contains(Thread.currentThread()), "Subscribers run on the dispatcher");
+    }
+
+    @Test
+    void testRingBufferTakesFromManyThreads() throws InterruptedException {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        int producers = 4, perProducer = 200;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(buffer.offer(base + i));
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Integer item;
+        while ((item = buffer.poll()) != null) {
+            assertTrue(seen.add(item), "Each item comes out once");
+        }
+        assertEquals(producers * perProducer, seen.size());
+
+        MpscRingBuffer<Integer> small = new MpscRingBuffer<>(2);
+        assertTrue(small.offer(1));
+        assertTrue(small.offer(2));
+        assertFalse(small.offer(3), "A full buffer refuses instead of waiting");
+        assertEquals(1, small.poll());
+        assertTrue(small.offer(3));
+    }
+
+    @Test
+    void testFileSinkWritesEveryEventOnClose() throws IOException {
+        Path file = Files.createTempFile("events", ".log");
+        try {
+            FileLogSink sink = new FileLogSink(file);
+            sink.accept(new GameEvent.MonsterSpawned("ArcherMonster", 3, 4));
+            sink.accept(new GameEvent.EnchantmentCollected("Reveal"));
+            sink.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).endsWith("INFO Spawned ArcherMonster at col=3, row=4"), lines.get(0));
+            assertTrue(lines.get(1).endsWith("INFO Reveal collected"), lines.get(1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package tr.edu.ku.comp302.domain.models;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import tr.edu.ku.comp302.domain.models.enchantments.EnchantmentType;
+import tr.edu.ku.comp302.domain.models.enchantments.LuringGemEnchantment;
+import tr.edu.ku.comp302.domain.models.enchantments.RevealEnchantment;
+import tr.edu.ku.comp302.domain.models.enchantments.Rune;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+class InventoryTest {
+
+    /**
+     * Counts, takes and lists by type, and tells the listener of each change.
+     */
+    @Test
+    void testCountsByTypeAndNotifies() {
+        Inventory inventory = new Inventory();
+        List<String> changes = new ArrayList<>();
+        inventory.setChangeListener((type, count) -> changes.add(type + "=" + count));
+
+        inventory.addItem(new RevealEnchantment(0, 0, 0));
+        inventory.addItem(new LuringGemEnchantment(0, 0, 0));
+        inventory.addItem(new RevealEnchantment(0, 0, 0));
+
+        assertEquals(2, inventory.count(EnchantmentType.REVEAL));
+        assertEquals(3, inventory.size());
+        assertFalse(inventory.hasRune());
+        assertEquals(List.of(EnchantmentType.REVEAL, EnchantmentType.REVEAL, EnchantmentType.LURING_GEM),
+                inventory.getItemTypes());
+
+        assertNotNull(inventory.take(EnchantmentType.REVEAL));
+        assertNull(inventory.take(EnchantmentType.RUNE));
+        inventory.addItem(new Rune(0, 0, 0));
+        inventory.clear();
+
+        assertEquals(List.of("Reveal=1", "Luring Gem=1", "Reveal=2", "Reveal=1", "Rune=1",
+                "Reveal=0", "Luring Gem=0", "Rune=0"), changes);
+        assertEquals(0, inventory.size());
+    }
+
+    /**
+     * Saves still hold the items as one list, and load back into the stacks.
+     */
+    @Test
+    void testSurvivesSerialization() throws Exception {
+        Inventory inventory = new Inventory();
+        inventory.addItem(new Rune(0, 0, 0));
+        inventory.addItem(new LuringGemEnchantment(0, 0, 0));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(inventory);
+        }
+        Inventory loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (Inventory) in.readObject();
+        }
+
+        assertTrue(loaded.hasRune());
+        assertEquals(1, loaded.count(EnchantmentType.LURING_GEM));
+        assertEquals(2, loaded.size());
+    }
+}
@@ -10,6 +10,10 @@ import tr.edu.ku.comp302.domain.models.enchantments.EnchantmentType;
 import tr.edu.ku.comp302.domain.models.enchantments.LuringGemEnchantment;
 
 import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 
 class PlayerTest {
 
@@ -87,4 +91,22 @@ class PlayerTest {
         assertNull(monsterController.getLuringGemLocation(),
                 "No gem location should be set with an invalid direction.");
     }
+
+    @Test
+    void testLoadedPlayerStartsAtItsSavedPosition() throws Exception {
+        player.storePreviousPosition();
+        player.setX(96);
+        player.setY(128);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(player);
+        }
+        Player loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (Player) in.readObject();
+        }
+        assertEquals(96, loaded.getPrevX(), "The first frame must not interpolate from an old position");
+        assertEquals(128, loaded.getPrevY());
+    }
 }
@@ -0,0 +1,156 @@
+package tr.edu.ku.comp302.domain.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileGridTest {
+
+    @Test
+    void testEachTypeIsStoredOnce() {
+        TileGrid grid = new TileGrid(4, 3);
+        int floor = grid.typeIndex("floor_plain", false);
+        int wall = grid.typeIndex("wall_center", true);
+
+        assertEquals(floor, grid.typeIndex("floor_plain", false));
+        // Same key with other collidability is a different type
+        assertNotEquals(floor, grid.typeIndex("floor_plain", true));
+
+        grid.fill(floor);
+        grid.set(3, 2, wall);
+
+        assertEquals(wall, grid.get(3, 2));
+        assertSame(grid.getPaletteEntry(wall), grid.getType(3, 2));
+        assertTrue(grid.getType(3, 2).isCollidable());
+        assertEquals("floor_plain", grid.getType(0, 0).getTileTypeKey());
+        assertEquals(3, grid.getPaletteSize());
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        TileGrid grid = new TileGrid(2, 2);
+        int floor = grid.typeIndex("floor_plain", false);
+        int wall = grid.typeIndex("wall_center", true);
+        grid.fill(floor);
+
+        TileGrid copy = grid.copy();
+        grid.set(1, 1, wall);
+        grid.typeIndex("transparent_tile", true);
+
+        assertEquals(floor, copy.get(1, 1));
+        assertEquals(2, copy.getPaletteSize());
+    }
+
+    @Test
+    void testIndicesAboveByteRangeReadUnsigned() {
+        TileGrid grid = new TileGrid(1, 1);
+        int last = 0;
+        for (int i = 0; i < TileGrid.MAX_TYPES; i++) {
+            last = grid.typeIndex("type_" + i, false);
+        }
+        grid.set(0, 0, last);
+
+        assertEquals(TileGrid.MAX_TYPES - 1, grid.get(0, 0));
+        assertThrows(IllegalStateException.class, () -> grid.typeIndex("one_too_many", false));
+    }
+
+    @Test
+    void testEvictedChunksKeepTheirChanges() {
+        int size = TileGrid.CHUNK_SIZE;
+        TileGrid grid = new TileGrid(size * 8, size * 8);
+        int floor = grid.typeIndex("floor_plain", false);
+        int wall = grid.typeIndex("wall_center", true);
+        grid.fill(floor);
+        grid.setMaxResidentChunks(2);
+
+        grid.set(1, 1, wall);
+        // Walk over every chunk; only two may stay in memory
+        for (int row = 0; row < size * 8; row += size) {
+            for (int col = 0; col < size * 8; col += size) {
+                grid.get(col, row);
+            }
+        }
+
+        assertEquals(2, grid.getResidentChunkCount());
+        assertEquals(1, grid.getSpilledChunkCount(), "Only the changed chunk is stored.");
+        assertEquals(wall, grid.get(1, 1));
+        assertEquals(1L << 1, grid.collisionWord(1, 0));
+    }
+
+    @Test
+    void testCollisionWordsNeedNoResidentChunk() {
+        int size = TileGrid.CHUNK_SIZE;
+        TileGrid grid = new TileGrid(size * 4, size);
+        int floor = grid.typeIndex("floor_plain", false);
+        int wall = grid.typeIndex("wall_center", true);
+        grid.fill(floor);
+        grid.setMaxResidentChunks(1);
+
+        grid.set(size + 2, 3, wall);
+        grid.collisionWord(3, 0); // loads the word's other chunk once
+        grid.get(3 * size, 0); // evicts the changed chunk
+        assertEquals(1L << (size + 2), grid.collisionWord(3, 0));
+        assertEquals(1, grid.getSpilledChunkCount(), "Reading bits does not load the chunk back");
+
+        // Changed back, the chunk is dropped rather than spilled
+        grid.set(size + 2, 3, floor);
+        grid.get(3 * size, 0);
+        assertEquals(0L, grid.collisionWord(3, 0));
+        assertEquals(0, grid.getSpilledChunkCount());
+    }
+
+    @Test
+    void testFewChangesOnABusyLayoutSpillAsChanges() throws Exception {
+        int size = TileGrid.CHUNK_SIZE;
+        TileGrid grid = new TileGrid(size * 2, size);
+        grid.setLayout(new HallLayout(grid, 1, 1, 16, 16, "wall_flag_green"));
+        int transparent = grid.typeIndex("transparent_tile", true);
+        grid.setMaxResidentChunks(1);
+
+        grid.set(5, 5, transparent);
+        grid.get(size, 0); // evicts the changed chunk
+        assertEquals(3, grid.getSpilledBytes(), "One changed cell takes one triple");
+        assertEquals(1L << 5, grid.collisionWord(5, 0) & (1L << 5));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(grid);
+        }
+        assertEquals(transparent, grid.get(5, 5));
+        assertEquals("wall_outer_nw", grid.getType(1, 1).getTileTypeKey());
+        TileGrid loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (TileGrid) in.readObject();
+        }
+        assertEquals(transparent, loaded.get(5, 5));
+        assertEquals("wall_outer_nw", loaded.getType(1, 1).getTileTypeKey());
+    }
+
+    @Test
+    void testLayoutAndChangesSurviveSerialization() throws Exception {
+        TileGrid grid = new TileGrid(40, 40);
+        grid.setLayout(new HallLayout(grid, 1, 1, 16, 16, "wall_flag_green"));
+        int transparent = grid.typeIndex("transparent_tile", true);
+        grid.set(5, 5, transparent);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(grid);
+        }
+        TileGrid loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (TileGrid) in.readObject();
+        }
+
+        assertEquals(transparent, loaded.get(5, 5));
+        assertEquals("wall_outer_nw", loaded.getType(1, 1).getTileTypeKey());
+        assertEquals("wall_flag_green", loaded.getType(12, 16).getTileTypeKey());
+        assertEquals("floor_plain", loaded.getType(30, 30).getTileTypeKey());
+        assertTrue(loaded.getType(1, 1).isCollidable());
+    }
+}